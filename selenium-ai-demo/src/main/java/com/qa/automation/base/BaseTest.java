@@ -2,8 +2,12 @@ package com.qa.automation.base;
 
 import com.qa.automation.factory.BrowserFactory;
 import com.qa.automation.factory.BrowserType;
+import com.qa.automation.factory.DriverPool;
 import com.qa.automation.utils.ConfigReader;
 import com.qa.automation.utils.LoggerUtil;
+import com.qa.automation.utils.ReportUtil;
+import com.qa.automation.utils.ScreenshotUtil;
+import com.qa.automation.utils.StepScreenshots;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -14,12 +18,27 @@ import java.time.Duration;
  * Base Test class for all Selenium test classes.
  * Provides common functionality for driver initialization, logging, and test setup.
  */
-public class BaseTest {
+public class BaseTest implements DriverAware {
 
-    protected WebDriver driver;
-    protected WebDriverWait wait;
     protected final Logger logger = LoggerUtil.getLogger(this.getClass());
 
+    /**
+     * Get the WebDriver of the test running on the current thread
+     * @return WebDriver instance bound in {@link DriverContext}
+     */
+    @Override
+    public WebDriver getDriver() {
+        return DriverContext.getDriver();
+    }
+
+    /**
+     * Get the explicit wait of the test running on the current thread
+     * @return WebDriverWait instance bound in {@link DriverContext}
+     */
+    protected WebDriverWait getWait() {
+        return DriverContext.getWait();
+    }
+
     /**
      * Initialize WebDriver with browser configuration
      */
@@ -30,23 +49,33 @@ public class BaseTest {
             logger.info("Initializing browser: " + browserName);
             
             BrowserType browserType = BrowserType.fromString(browserName);
-            
-            // Create driver using factory
-            driver = BrowserFactory.createDriver(browserType);
-            logger.info("WebDriver instance created successfully");
+
+            // Lease a session from the pool, or create one when pooling is disabled
+            WebDriver driver;
+            if (ConfigReader.isDriverPoolEnabled()) {
+                driver = DriverPool.forBrowser(browserType).checkout();
+                logger.info("WebDriver session leased from pool");
+            } else {
+                driver = BrowserFactory.createDriver(browserType);
+                logger.info("WebDriver instance created successfully");
+            }
             
             driver.manage().window().maximize();
             logger.info("Browser window maximized");
 
-            // Set implicit wait from config
-            long implicitWait = ConfigReader.getImplicitWait();
-            driver.manage().timeouts().implicitlyWait(Duration.ofSeconds(implicitWait));
-            logger.info("Implicit wait set to: " + implicitWait + " seconds");
+            // Implicit wait stays at zero: page objects poll through their WaitEngine, and mixing
+            // both makes every negative check burn the full implicit timeout
+            driver.manage().timeouts().implicitlyWait(Duration.ZERO);
+            logger.info("Implicit wait disabled, polling every " + ConfigReader.getPollingInterval() + " ms");
 
             // Initialize explicit wait from config
             long explicitWait = ConfigReader.getExplicitWait();
-            wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
+            WebDriverWait wait = new WebDriverWait(driver, Duration.ofSeconds(explicitWait));
             logger.info("Explicit wait set to: " + explicitWait + " seconds");
+
+            // Bind to the current thread so parallel tests never share a session
+            DriverContext.setDriver(driver);
+            DriverContext.setWait(wait);
             
         } catch (Exception e) {
             logger.error("Failed to initialize WebDriver: " + e.getMessage(), e);
@@ -55,16 +84,23 @@ public class BaseTest {
     }
 
     /**
-     * Quit WebDriver and cleanup resources
+     * Return the WebDriver session to the pool, or quit it when it was not pooled
      */
     public void quitDriver() {
+        WebDriver driver = DriverContext.getDriver();
         try {
             if (driver != null) {
-                driver.quit();
-                logger.info("WebDriver quit successfully");
+                if (DriverPool.release(driver)) {
+                    logger.info("WebDriver session returned to pool");
+                } else {
+                    driver.quit();
+                    logger.info("WebDriver quit successfully");
+                }
             }
         } catch (Exception e) {
             logger.error("Error while quitting WebDriver: " + e.getMessage(), e);
+        } finally {
+            DriverContext.clearDriver();
         }
     }
 
@@ -76,6 +112,17 @@ public class BaseTest {
         logger.info("TEST STEP: " + stepDescription);
     }
 
+    /**
+     * Screenshot the page after a step if the screenshot policy asks for it, see {@link StepScreenshots}
+     * @param title Title of the screenshot in the report
+     */
+    protected void captureStep(String title) {
+        StepScreenshots.Shot shot = DriverContext.getStepScreenshots().afterStep(getDriver(), title);
+        if (shot != null) {
+            ReportUtil.attachScreenshot(DriverContext.getTest(), ScreenshotUtil.prepareScreenshotAsync(shot.getPng()), shot.getTitle());
+        }
+    }
+
     /**
      * Log test action with logging level
      * @param actionDescription Description of the action
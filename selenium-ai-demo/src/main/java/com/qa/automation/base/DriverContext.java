@@ -0,0 +1,106 @@
+package com.qa.automation.base;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.qa.automation.utils.StepScreenshots;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * Per-thread bindings for the WebDriver, explicit wait and ExtentTest of the test that is
+ * currently running on this thread. TestNG runs parallel methods on pooled worker threads,
+ * so anything test-scoped lives here instead of in instance fields shared by those threads.
+ * Bindings must be cleared at the end of each test so pooled threads do not leak them.
+ */
+public final class DriverContext {
+
+    private static final ThreadLocal<WebDriver> DRIVER = new ThreadLocal<>();
+    private static final ThreadLocal<WebDriverWait> WAIT = new ThreadLocal<>();
+    private static final ThreadLocal<ExtentTest> TEST = new ThreadLocal<>();
+    private static final ThreadLocal<StepScreenshots> STEP_SCREENSHOTS = ThreadLocal.withInitial(StepScreenshots::fromConfig);
+
+    private DriverContext() {
+    }
+
+    /**
+     * Get the WebDriver bound to the current thread
+     * @return WebDriver instance, or null when no driver is bound
+     */
+    public static WebDriver getDriver() {
+        return DRIVER.get();
+    }
+
+    /**
+     * Bind a WebDriver to the current thread
+     */
+    public static void setDriver(WebDriver driver) {
+        DRIVER.set(driver);
+    }
+
+    /**
+     * Check whether the current thread has a driver bound
+     */
+    public static boolean hasDriver() {
+        return DRIVER.get() != null;
+    }
+
+    /**
+     * Get the explicit wait bound to the current thread
+     * @return WebDriverWait instance, or null when no wait is bound
+     */
+    public static WebDriverWait getWait() {
+        return WAIT.get();
+    }
+
+    /**
+     * Bind an explicit wait to the current thread
+     */
+    public static void setWait(WebDriverWait wait) {
+        WAIT.set(wait);
+    }
+
+    /**
+     * Get the report entry of the test running on the current thread
+     * @return ExtentTest instance, or null when no test is bound
+     */
+    public static ExtentTest getTest() {
+        return TEST.get();
+    }
+
+    /**
+     * Bind a report entry to the current thread
+     */
+    public static void setTest(ExtentTest test) {
+        TEST.set(test);
+    }
+
+    /**
+     * Get the step screenshot state of the test running on the current thread, created on first use
+     */
+    public static StepScreenshots getStepScreenshots() {
+        return STEP_SCREENSHOTS.get();
+    }
+
+    /**
+     * Remove the driver and wait bindings of the current thread
+     */
+    public static void clearDriver() {
+        DRIVER.remove();
+        WAIT.remove();
+    }
+
+    /**
+     * Remove the report entry and step screenshot bindings of the current thread
+     */
+    public static void clearTest() {
+        TEST.remove();
+        STEP_SCREENSHOTS.remove();
+    }
+
+    /**
+     * Remove every binding of the current thread
+     */
+    public static void clear() {
+        clearDriver();
+        clearTest();
+    }
+}
@@ -1,6 +1,9 @@
 package com.qa.automation.factory;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -8,112 +11,145 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Creates WebDriver sessions, either locally or on a Selenium Grid depending on {@code execution.mode}.
+ * Remote sessions share one tuned HTTP client per Grid and are only requested once the Grid
+ * reports a free slot for the browser (see {@link GridSessionScheduler}).
+ */
 public class BrowserFactory {
 
+    private static final Logger logger = LoggerUtil.getLogger(BrowserFactory.class);
+    private static final SharedHttpClientFactory GRID_HTTP_CLIENTS = new SharedHttpClientFactory();
+
     /**
      * Factory method to create WebDriver instance based on browser type
      * @param browserType the type of browser to instantiate
      * @return WebDriver instance
      */
     public static WebDriver createDriver(BrowserType browserType) {
+        Capabilities options = createOptions(browserType);
+        if (ConfigReader.isRemoteExecution()) {
+            return createRemoteDriver(options);
+        }
+        DriverBinaryResolver.resolve(browserType);
         switch (browserType) {
             case CHROME:
-                return createChromeDriver(false);
             case HEADLESS_CHROME:
-                return createChromeDriver(true);
+                return new ChromeDriver((ChromeOptions) options);
             case FIREFOX:
-                return createFirefoxDriver(false);
             case HEADLESS_FIREFOX:
-                return createFirefoxDriver(true);
+                return new FirefoxDriver((FirefoxOptions) options);
             case EDGE:
-                return createEdgeDriver();
+                return new EdgeDriver((EdgeOptions) options);
             case SAFARI:
-                return createSafariDriver();
+                return new SafariDriver((SafariOptions) options);
             default:
                 throw new IllegalArgumentException("Unsupported browser type: " + browserType);
         }
     }
 
     /**
-     * Get Selenium Grid host from environment variable or default to localhost
+     * W3C browser name a session of this type reports, e.g. chrome or MicrosoftEdge
+     * @param browserType the type of browser
+     * @return browser name as used in Grid slot stereotypes
      */
-    private static String getGridHost() {
-        String host = System.getenv("HUB_HOST");
-        // Use 'host.docker.internal' for Docker on Mac/Windows, fallback to localhost
-        return (host != null && !host.isEmpty()) ? host : "host.docker.internal";
+    public static String getBrowserName(BrowserType browserType) {
+        return createOptions(browserType).getBrowserName();
     }
 
-    private static String getGridUrl() {
-        // Selenium Grid 4+ uses root endpoint, not /wd/hub
-        return "http://" + getGridHost() + ":4444/";
+    /**
+     * Browser options shared by local and remote sessions
+     */
+    static Capabilities createOptions(BrowserType browserType) {
+        switch (browserType) {
+            case CHROME:
+                return createChromeOptions(false);
+            case HEADLESS_CHROME:
+                return createChromeOptions(true);
+            case FIREFOX:
+                return createFirefoxOptions(false);
+            case HEADLESS_FIREFOX:
+                return createFirefoxOptions(true);
+            case EDGE:
+                return createEdgeOptions();
+            case SAFARI:
+                // Safari doesn't support many options like headless mode natively
+                return new SafariOptions();
+            default:
+                throw new IllegalArgumentException("Unsupported browser type: " + browserType);
+        }
     }
 
     /**
-     * Create Chrome WebDriver with optional headless mode
+     * Create Chrome options with optional headless mode
      */
-    private static WebDriver createChromeDriver(boolean headless) {
+    private static ChromeOptions createChromeOptions(boolean headless) {
         ChromeOptions options = new ChromeOptions();
+
         if (headless) {
             options.addArguments("--headless");
         }
+
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-gpu");
         options.addArguments("--remote-allow-origins=*");
         options.addArguments("--disable-software-rasterizer");
-        try {
-            return new org.openqa.selenium.remote.RemoteWebDriver(
-                new java.net.URL(getGridUrl()),
-                options
-            );
-        } catch (java.net.MalformedURLException e) {
-            throw new RuntimeException("Invalid Selenium Grid URL", e);
-        }
+
+        return options;
     }
 
     /**
-     * Create Firefox WebDriver with optional headless mode
+     * Create Firefox options with optional headless mode
      */
-    private static WebDriver createFirefoxDriver(boolean headless) {
+    private static FirefoxOptions createFirefoxOptions(boolean headless) {
         FirefoxOptions options = new FirefoxOptions();
+
         if (headless) {
             options.addArguments("--headless");
         }
-        try {
-            return new org.openqa.selenium.remote.RemoteWebDriver(
-                new java.net.URL(getGridUrl()),
-                options
-            );
-        } catch (java.net.MalformedURLException e) {
-            throw new RuntimeException("Invalid Selenium Grid URL", e);
-        }
+
+        return options;
     }
 
     /**
-     * Create Edge WebDriver
+     * Create Edge options
      */
-    private static WebDriver createEdgeDriver() {
+    private static EdgeOptions createEdgeOptions() {
         EdgeOptions options = new EdgeOptions();
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
-        try {
-            return new org.openqa.selenium.remote.RemoteWebDriver(
-                new java.net.URL(getGridUrl()),
-                options
-            );
-        } catch (java.net.MalformedURLException e) {
-            throw new RuntimeException("Invalid Selenium Grid URL", e);
-        }
+
+        return options;
     }
 
     /**
-     * Create Safari WebDriver
-     * Note: Safari doesn't support many options like headless mode natively
+     * Start a session on the configured Grid once it has a free slot for the browser
      */
-    private static WebDriver createSafariDriver() {
-        WebDriverManager.safaridriver().setup();
-        return new SafariDriver();
+    private static WebDriver createRemoteDriver(Capabilities options) {
+        String browserName = options.getBrowserName();
+        GridSessionScheduler scheduler = GridSessionScheduler.getInstance();
+        scheduler.acquire(browserName);
+        try {
+            // Selenium Grid 4+ uses root endpoint, not /wd/hub
+            ClientConfig config = ClientConfig.defaultConfig()
+                    .baseUri(URI.create(ConfigReader.getGridUrl()))
+                    .connectionTimeout(Duration.ofSeconds(ConfigReader.getGridConnectTimeout()))
+                    .readTimeout(Duration.ofSeconds(ConfigReader.getGridReadTimeout()));
+            logger.info("Requesting " + browserName + " session from Selenium Grid at " + ConfigReader.getGridUrl());
+            return new RemoteWebDriver(new HttpCommandExecutor(Collections.emptyMap(), config, GRID_HTTP_CLIENTS), options);
+        } finally {
+            scheduler.release(browserName);
+        }
     }
 }
@@ -0,0 +1,113 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Process-wide cache of driver binary resolution.
+ * WebDriverManager setup (version detection, cache lookups, downloads) runs at most once
+ * per browser family per JVM, so parallel driver creations no longer contend on the
+ * WebDriverManager cache directory. In offline mode the resolver is never called and the
+ * binary path pinned in configuration (driver.&lt;family&gt;.path) is used instead.
+ */
+public final class DriverBinaryResolver {
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverBinaryResolver.class);
+    private static final Map<BrowserType, String> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Make sure the driver binary for the browser type is available, resolving it on first use only
+     * @param browserType the type of browser about to be launched
+     * @return resolved driver binary path, or an empty string when the driver is located by Selenium itself
+     * @throws IllegalStateException in offline mode when no executable driver path is pinned for the browser
+     */
+    public static String resolve(BrowserType browserType) {
+        return RESOLVED.computeIfAbsent(familyOf(browserType), DriverBinaryResolver::resolveOnce);
+    }
+
+    /**
+     * Forget cached resolutions so the next driver creation resolves again (useful after config changes)
+     */
+    public static void clear() {
+        RESOLVED.clear();
+    }
+
+    private static String resolveOnce(BrowserType family) {
+        String familyName = family.getBrowserName();
+        String pinnedPath = ConfigReader.getDriverBinaryPath(familyName);
+        if (pinnedPath != null) {
+            if (!new File(pinnedPath).canExecute()) {
+                throw new IllegalStateException("Pinned " + familyName + " driver is not executable: " + pinnedPath);
+            }
+            System.setProperty(driverSystemProperty(family), pinnedPath);
+            logger.info("Using pinned " + familyName + " driver: " + pinnedPath);
+            return pinnedPath;
+        }
+        if (ConfigReader.isDriverOfflineMode()) {
+            // Without a pinned path Selenium would fall back to Selenium Manager, which downloads
+            throw new IllegalStateException("Offline mode: set driver." + familyName
+                    + ".path to the pre-resolved " + familyName + " driver binary");
+        }
+
+        long start = System.currentTimeMillis();
+        WebDriverManager manager = managerFor(family);
+        manager.setup();
+        String path = manager.getDownloadedDriverPath();
+        logger.info("Resolved " + familyName + " driver via WebDriverManager in "
+                + (System.currentTimeMillis() - start) + " ms: " + path);
+        return path != null ? path : "";
+    }
+
+    /**
+     * Headless variants use the same driver binary as their headed counterpart
+     */
+    private static BrowserType familyOf(BrowserType browserType) {
+        switch (browserType) {
+            case HEADLESS_CHROME:
+                return BrowserType.CHROME;
+            case HEADLESS_FIREFOX:
+                return BrowserType.FIREFOX;
+            default:
+                return browserType;
+        }
+    }
+
+    private static WebDriverManager managerFor(BrowserType family) {
+        switch (family) {
+            case CHROME:
+                return WebDriverManager.chromedriver();
+            case FIREFOX:
+                return WebDriverManager.firefoxdriver();
+            case EDGE:
+                return WebDriverManager.edgedriver();
+            case SAFARI:
+                return WebDriverManager.safaridriver();
+            default:
+                throw new IllegalArgumentException("Unsupported browser type: " + family);
+        }
+    }
+
+    private static String driverSystemProperty(BrowserType family) {
+        switch (family) {
+            case CHROME:
+                return "webdriver.chrome.driver";
+            case FIREFOX:
+                return "webdriver.gecko.driver";
+            case EDGE:
+                return "webdriver.edge.driver";
+            case SAFARI:
+                return "webdriver.safari.driver";
+            default:
+                throw new IllegalArgumentException("Unsupported browser type: " + family);
+        }
+    }
+}
@@ -0,0 +1,362 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool of reusable browser sessions, one pool per browser type.
+ * Launching a browser costs seconds, so tests lease a session with {@link #checkout()}
+ * and hand it back with {@link #checkin(WebDriver)} instead of creating and quitting one.
+ * Returned sessions are reset (extra windows, cookies, web storage, about:blank) and
+ * health-checked before reuse, recycled after a maximum number of leases, and evicted
+ * after sitting idle for too long. A session that should not be reused, such as the one of a test
+ * that is about to be retried, can be thrown away with {@link #discardLastLease()}.
+ */
+public final class DriverPool {
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverPool.class);
+    private static final Map<BrowserType, DriverPool> POOLS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<Lease> LAST_LEASE = new ThreadLocal<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdownAll, "driver-pool-shutdown"));
+    }
+
+    private final BrowserType browserType;
+    private final int maxSize;
+    private final int maxReuse;
+    private final long idleTimeoutNanos;
+    private final long acquireTimeoutNanos;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition sessionAvailable = lock.newCondition();
+    private final Deque<PooledSession> idle = new ArrayDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+    private int liveSessions;
+    private boolean closed;
+
+    private DriverPool(BrowserType browserType, int maxSize, int maxReuse, Duration idleTimeout, Duration acquireTimeout) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1, got: " + maxSize);
+        }
+        this.browserType = browserType;
+        this.maxSize = maxSize;
+        this.maxReuse = Math.max(1, maxReuse);
+        this.idleTimeoutNanos = idleTimeout.toNanos();
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+    }
+
+    /**
+     * Get the shared pool for a browser type, creating it from configuration on first use
+     * @param browserType the type of browser the pool serves
+     * @return DriverPool instance
+     */
+    public static DriverPool forBrowser(BrowserType browserType) {
+        return POOLS.computeIfAbsent(browserType, type -> new DriverPool(type,
+                ConfigReader.getPoolMaxSize(),
+                ConfigReader.getPoolMaxReuse(),
+                Duration.ofSeconds(ConfigReader.getPoolIdleTimeout()),
+                Duration.ofSeconds(ConfigReader.getPoolAcquireTimeout())));
+    }
+
+    /**
+     * Return a leased session to whichever pool handed it out
+     * @param driver WebDriver previously obtained from {@link #checkout()}
+     * @return true if a pool owned the session, false otherwise
+     */
+    public static boolean release(WebDriver driver) {
+        for (DriverPool pool : POOLS.values()) {
+            if (pool.leased.containsKey(driver)) {
+                pool.checkin(driver);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Make sure the session most recently leased on this thread is never handed out again: it is
+     * quit now if it is idle, or when it is returned if it is still leased. Does nothing if the
+     * session has been leased again in the meantime or the thread has no lease.
+     */
+    public static void discardLastLease() {
+        Lease last = LAST_LEASE.get();
+        LAST_LEASE.remove();
+        if (last != null) {
+            last.pool.discard(last.session, last.leaseNumber);
+        }
+    }
+
+    /**
+     * Quit every idle session in every pool. Leased sessions are quit when returned.
+     */
+    public static void shutdownAll() {
+        for (DriverPool pool : POOLS.values()) {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Lease a healthy session, reusing an idle one when possible and launching a new
+     * browser only while the pool is below its size limit.
+     * @return WebDriver instance reserved for the caller
+     */
+    public WebDriver checkout() {
+        long deadline = System.nanoTime() + acquireTimeoutNanos;
+        while (true) {
+            PooledSession candidate = null;
+            boolean createNew = false;
+            List<PooledSession> expired = new ArrayList<>();
+            lock.lock();
+            try {
+                while (candidate == null && !createNew) {
+                    if (closed) {
+                        throw new IllegalStateException("Driver pool for " + browserType + " has been shut down");
+                    }
+                    collectExpired(expired);
+                    candidate = idle.pollFirst();
+                    if (candidate == null && liveSessions < maxSize) {
+                        liveSessions++;
+                        createNew = true;
+                    } else if (candidate == null) {
+                        long remaining = deadline - System.nanoTime();
+                        if (remaining <= 0) {
+                            throw new IllegalStateException("Timed out waiting for a free " + browserType
+                                    + " session (pool size " + maxSize + ")");
+                        }
+                        sessionAvailable.awaitNanos(remaining);
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for a " + browserType + " session", e);
+            } finally {
+                lock.unlock();
+                expired.forEach(this::destroy);
+            }
+
+            if (createNew) {
+                return lease(launch());
+            }
+            if (isHealthy(candidate)) {
+                logger.debug("Reusing pooled " + browserType + " session (use " + (candidate.useCount + 1) + ")");
+                return lease(candidate);
+            }
+            logger.warn("Discarding unhealthy pooled " + browserType + " session");
+            destroy(candidate);
+        }
+    }
+
+    /**
+     * Reset a leased session and make it available to the next test. Sessions that
+     * reached the reuse limit or fail to reset are quit instead.
+     * @param driver WebDriver previously obtained from {@link #checkout()}
+     */
+    public void checkin(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Ignoring checkin of a session this pool does not own");
+            return;
+        }
+        if (session.useCount >= maxReuse) {
+            logger.info("Recycling " + browserType + " session after " + session.useCount + " uses");
+            destroy(session);
+            return;
+        }
+        if (session.discarded || !reset(session)) {
+            destroy(session);
+            return;
+        }
+        session.idleSince = System.nanoTime();
+        boolean pooled = false;
+        lock.lock();
+        try {
+            if (!closed && !session.discarded) {
+                idle.addFirst(session);
+                sessionAvailable.signal();
+                pooled = true;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (!pooled) {
+            destroy(session);
+        }
+    }
+
+    /**
+     * Quit all idle sessions and refuse further checkouts
+     */
+    public void shutdown() {
+        List<PooledSession> toQuit;
+        lock.lock();
+        try {
+            closed = true;
+            toQuit = new ArrayList<>(idle);
+            idle.clear();
+            sessionAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toQuit.forEach(this::destroy);
+    }
+
+    private void discard(PooledSession session, int leaseNumber) {
+        boolean idleSession;
+        lock.lock();
+        try {
+            if (session.useCount != leaseNumber || session.discarded) {
+                return;
+            }
+            session.discarded = true;
+            idleSession = idle.remove(session);
+        } finally {
+            lock.unlock();
+        }
+        if (idleSession) {
+            logger.info("Quitting discarded " + browserType + " session");
+            destroy(session);
+        }
+    }
+
+    private PooledSession launch() {
+        WebDriver driver = null;
+        try {
+            driver = BrowserFactory.createDriver(browserType);
+            PooledSession session = new PooledSession(driver);
+            logger.info("Launched new " + browserType + " session for pool");
+            return session;
+        } catch (RuntimeException e) {
+            if (driver != null) {
+                try {
+                    driver.quit();
+                } catch (RuntimeException quitError) {
+                    logger.warn("Error while quitting half-initialized session: " + quitError.getMessage());
+                }
+            }
+            releaseSlot();
+            throw e;
+        }
+    }
+
+    private WebDriver lease(PooledSession session) {
+        session.useCount++;
+        leased.put(session.driver, session);
+        LAST_LEASE.set(new Lease(this, session, session.useCount));
+        return session.driver;
+    }
+
+    private void collectExpired(List<PooledSession> expired) {
+        long now = System.nanoTime();
+        Iterator<PooledSession> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            PooledSession session = iterator.next();
+            if (now - session.idleSince >= idleTimeoutNanos) {
+                iterator.remove();
+                expired.add(session);
+            }
+        }
+    }
+
+    private boolean isHealthy(PooledSession session) {
+        try {
+            return session.driver.getWindowHandle() != null;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Bring a session back to a clean state: a single window, no cookies or web storage
+     * for the last visited origin, and about:blank loaded. Storage is cleared before
+     * leaving the page because about:blank has no origin of its own.
+     */
+    private boolean reset(PooledSession session) {
+        WebDriver driver = session.driver;
+        try {
+            String primaryWindow = session.primaryWindow;
+            for (String handle : driver.getWindowHandles()) {
+                if (!handle.equals(primaryWindow)) {
+                    driver.switchTo().window(handle);
+                    driver.close();
+                }
+            }
+            driver.switchTo().window(primaryWindow);
+            driver.manage().deleteAllCookies();
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            }
+            driver.get("about:blank");
+            return true;
+        } catch (RuntimeException e) {
+            logger.warn("Failed to reset pooled " + browserType + " session: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void destroy(PooledSession session) {
+        try {
+            session.driver.quit();
+        } catch (RuntimeException e) {
+            logger.warn("Error while quitting pooled " + browserType + " session: " + e.getMessage());
+        } finally {
+            releaseSlot();
+        }
+    }
+
+    private void releaseSlot() {
+        lock.lock();
+        try {
+            liveSessions--;
+            sessionAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A live browser session together with its reuse bookkeeping
+     */
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final String primaryWindow;
+        private volatile int useCount;
+        private volatile boolean discarded;
+        private long idleSince;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+            this.primaryWindow = driver.getWindowHandle();
+        }
+    }
+
+    /**
+     * A session as leased by one thread; the lease number tells it apart from later leases
+     */
+    private static final class Lease {
+        private final DriverPool pool;
+        private final PooledSession session;
+        private final int leaseNumber;
+
+        private Lease(DriverPool pool, PooledSession session, int leaseNumber) {
+            this.pool = pool;
+            this.session = session;
+            this.leaseNumber = leaseNumber;
+        }
+    }
+}
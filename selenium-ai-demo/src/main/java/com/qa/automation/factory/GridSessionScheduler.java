@@ -0,0 +1,176 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side queue for new Grid sessions.
+ * Instead of sending every new-session request straight to the hub, where it would sit in the
+ * hub's queue until it times out, callers wait here until the Grid's {@code /status} reports a free
+ * slot for their browser. Requests that have been let through but whose session does not show up
+ * in the status yet are counted as reservations, so parallel tests never claim the same slot.
+ * Waiting callers are served in arrival order.
+ *
+ * <pre>
+ * scheduler.acquire("chrome");
+ * try {
+ *     driver = new RemoteWebDriver(...);
+ * } finally {
+ *     scheduler.release("chrome");
+ * }
+ * </pre>
+ */
+public final class GridSessionScheduler {
+
+    private static final Logger logger = LoggerUtil.getLogger(GridSessionScheduler.class);
+    private static volatile GridSessionScheduler instance;
+
+    private final URI gridUrl;
+    private final long pollIntervalNanos;
+    private final long queueTimeoutNanos;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+
+    private final ReentrantLock lock = new ReentrantLock(true);
+    private final Condition capacityChanged = lock.newCondition();
+    private final Map<String, Integer> reservations = new HashMap<>();
+    private GridStatus lastStatus;
+    private long lastPollNanos;
+    private boolean statusStale = true;
+
+    /**
+     * @param gridUrl Grid base URL, e.g. http://localhost:4444/
+     * @param pollInterval minimum time between two {@code /status} requests
+     * @param queueTimeout how long a caller waits for a free slot
+     * @param requestTimeout connect and response timeout of a {@code /status} request
+     */
+    public GridSessionScheduler(URI gridUrl, Duration pollInterval, Duration queueTimeout, Duration requestTimeout) {
+        this.gridUrl = gridUrl;
+        this.pollIntervalNanos = pollInterval.toNanos();
+        this.queueTimeoutNanos = queueTimeout.toNanos();
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Shared scheduler for the configured Grid
+     */
+    public static GridSessionScheduler getInstance() {
+        if (instance == null) {
+            synchronized (GridSessionScheduler.class) {
+                if (instance == null) {
+                    instance = new GridSessionScheduler(URI.create(ConfigReader.getGridUrl()),
+                            Duration.ofMillis(ConfigReader.getGridStatusPollMillis()),
+                            Duration.ofSeconds(ConfigReader.getGridQueueTimeout()),
+                            Duration.ofSeconds(ConfigReader.getGridConnectTimeout()));
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Wait until the Grid has a free slot for the browser and reserve it
+     * @param browserName W3C browser name of the session about to be requested
+     * @throws TimeoutException if no slot frees up within the queue timeout
+     */
+    public void acquire(String browserName) {
+        long deadline = System.nanoTime() + queueTimeoutNanos;
+        boolean waited = false;
+        lock.lock();
+        try {
+            while (true) {
+                GridStatus status = currentStatus();
+                int reserved = reservations.getOrDefault(browserName, 0);
+                if (status != null && status.freeSlots(browserName) > reserved) {
+                    reservations.merge(browserName, 1, Integer::sum);
+                    if (waited) {
+                        logger.info("Grid slot for " + browserName + " became free, requesting session");
+                    }
+                    return;
+                }
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new TimeoutException("No free Selenium Grid slot for " + browserName + " within "
+                            + Duration.ofNanos(queueTimeoutNanos).getSeconds() + "s at " + gridUrl
+                            + (status == null ? " (status unavailable)" : ": " + status));
+                }
+                if (!waited) {
+                    logger.info("Selenium Grid has no free " + browserName + " slot, queueing session request");
+                    waited = true;
+                }
+                capacityChanged.awaitNanos(Math.min(remaining, pollIntervalNanos));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a Selenium Grid slot", e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drop the reservation taken by {@link #acquire(String)} once the session request finished,
+     * whether it succeeded or not. The next caller re-reads the status, which then shows the
+     * new session as busy.
+     */
+    public void release(String browserName) {
+        lock.lock();
+        try {
+            reservations.computeIfPresent(browserName, (name, count) -> count > 1 ? count - 1 : null);
+            statusStale = true;
+            capacityChanged.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Last status read from the Grid, or null before the first successful poll
+     */
+    public GridStatus getLastStatus() {
+        lock.lock();
+        try {
+            return lastStatus;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Status no older than the poll interval. Polling happens under the lock, so a status read
+     * before a {@link #release(String)} can never replace the one read after it.
+     */
+    private GridStatus currentStatus() {
+        long now = System.nanoTime();
+        if (!statusStale && lastStatus != null && now - lastPollNanos < pollIntervalNanos) {
+            return lastStatus;
+        }
+        lastPollNanos = now;
+        try {
+            lastStatus = GridStatus.fetch(httpClient, gridUrl, requestTimeout);
+            statusStale = false;
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Could not read Selenium Grid status from " + gridUrl + ": " + e.getMessage());
+            lastStatus = null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading the Selenium Grid status", e);
+        }
+        return lastStatus;
+    }
+}
@@ -0,0 +1,268 @@
+package com.qa.automation.factory;
+
+import org.openqa.selenium.json.Json;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Capacity view of a Selenium Grid 4, parsed from its {@code /status} response.
+ * A slot is free when it has no session, its node is {@code UP}, and the node is still below its
+ * {@code maxSessions} limit (a node may advertise more slots than it runs sessions at once).
+ */
+public final class GridStatus {
+
+    private final boolean ready;
+    private final String message;
+    private final List<Node> nodes;
+
+    private GridStatus(boolean ready, String message, List<Node> nodes) {
+        this.ready = ready;
+        this.message = message;
+        this.nodes = Collections.unmodifiableList(nodes);
+    }
+
+    /**
+     * Read the status of a Grid
+     * @param client HTTP client to send the request with
+     * @param gridUrl Grid base URL, e.g. http://localhost:4444/
+     * @param timeout response timeout
+     * @return parsed status
+     * @throws IOException if the Grid cannot be reached or does not answer 200
+     * @throws IllegalArgumentException if the response is not a Grid 4 status document
+     */
+    public static GridStatus fetch(HttpClient client, URI gridUrl, Duration timeout) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(gridUrl.resolve("status"))
+                .timeout(timeout)
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode());
+        }
+        return parse(response.body());
+    }
+
+    /**
+     * Parse the body of {@code GET /status}
+     * @param json response body
+     * @return parsed status
+     * @throws IllegalArgumentException if the body is not a Grid 4 status document
+     */
+    @SuppressWarnings("unchecked")
+    public static GridStatus parse(String json) {
+        Map<String, Object> root;
+        try {
+            root = new Json().toType(json, Json.MAP_TYPE);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Grid status is not valid JSON: " + e.getMessage(), e);
+        }
+        if (root == null || !(root.get("value") instanceof Map)) {
+            throw new IllegalArgumentException("Grid status has no 'value' object");
+        }
+        Map<String, Object> value = (Map<String, Object>) root.get("value");
+        List<Node> nodes = new ArrayList<>();
+        if (value.get("nodes") instanceof List) {
+            for (Object node : (List<Object>) value.get("nodes")) {
+                if (node instanceof Map) {
+                    nodes.add(Node.parse((Map<String, Object>) node));
+                }
+            }
+        }
+        return new GridStatus(Boolean.TRUE.equals(value.get("ready")), String.valueOf(value.get("message")), nodes);
+    }
+
+    /**
+     * Whether the Grid accepts new sessions at all
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Sessions of the given browser the Grid could start right now
+     * @param browserName W3C browser name, e.g. chrome, firefox, MicrosoftEdge
+     */
+    public int freeSlots(String browserName) {
+        return freeSlots(browserName, null);
+    }
+
+    /**
+     * Sessions of the given browser and platform the Grid could start right now
+     * @param browserName W3C browser name
+     * @param platformName platform such as linux or windows; null or empty matches any platform
+     */
+    public int freeSlots(String browserName, String platformName) {
+        if (!ready) {
+            return 0;
+        }
+        int free = 0;
+        for (Node node : nodes) {
+            free += node.freeSlots(browserName, platformName);
+        }
+        return free;
+    }
+
+    /**
+     * Free slots of every browser and platform the Grid offers, keyed "browser/platform"
+     */
+    public Map<String, Integer> freeSlotsByBrowser() {
+        Map<String, Integer> free = new TreeMap<>();
+        for (Node node : nodes) {
+            for (Slot slot : node.slots) {
+                String key = slot.browserName + "/" + (slot.platformName.isEmpty() ? "any" : slot.platformName);
+                free.computeIfAbsent(key, k -> freeSlots(slot.browserName, slot.platformName));
+            }
+        }
+        return free;
+    }
+
+    /**
+     * Slots of the given browser on nodes that are up, busy or not
+     */
+    public int totalSlots(String browserName) {
+        int total = 0;
+        for (Node node : nodes) {
+            if (node.isUp()) {
+                total += Math.min(node.maxSessions, node.slotsFor(browserName, null, false));
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "GridStatus{ready=" + ready + ", nodes=" + nodes.size() + ", message='" + message + "'}";
+    }
+
+    /**
+     * One Grid node and its slots
+     */
+    public static final class Node {
+        private final String uri;
+        private final String availability;
+        private final int maxSessions;
+        private final List<Slot> slots;
+
+        private Node(String uri, String availability, int maxSessions, List<Slot> slots) {
+            this.uri = uri;
+            this.availability = availability;
+            this.maxSessions = maxSessions;
+            this.slots = slots;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Node parse(Map<String, Object> node) {
+            List<Slot> slots = new ArrayList<>();
+            if (node.get("slots") instanceof List) {
+                for (Object slot : (List<Object>) node.get("slots")) {
+                    if (slot instanceof Map) {
+                        slots.add(Slot.parse((Map<String, Object>) slot));
+                    }
+                }
+            }
+            int maxSessions = node.get("maxSessions") instanceof Number
+                    ? ((Number) node.get("maxSessions")).intValue()
+                    : slots.size();
+            return new Node(String.valueOf(node.get("uri")), String.valueOf(node.get("availability")), maxSessions, slots);
+        }
+
+        public String getUri() {
+            return uri;
+        }
+
+        public boolean isUp() {
+            return "UP".equalsIgnoreCase(availability);
+        }
+
+        public int getMaxSessions() {
+            return maxSessions;
+        }
+
+        /**
+         * Sessions currently running on the node, any browser
+         */
+        public int getActiveSessions() {
+            int active = 0;
+            for (Slot slot : slots) {
+                if (slot.busy) {
+                    active++;
+                }
+            }
+            return active;
+        }
+
+        int freeSlots(String browserName, String platformName) {
+            if (!isUp()) {
+                return 0;
+            }
+            int headroom = maxSessions - getActiveSessions();
+            return Math.max(0, Math.min(headroom, slotsFor(browserName, platformName, true)));
+        }
+
+        private int slotsFor(String browserName, String platformName, boolean freeOnly) {
+            int count = 0;
+            for (Slot slot : slots) {
+                if (slot.matches(browserName, platformName) && !(freeOnly && slot.busy)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    /**
+     * One slot: the browser and platform it offers, and whether a session occupies it
+     */
+    private static final class Slot {
+        private final String browserName;
+        private final String platformName;
+        private final boolean busy;
+
+        private Slot(String browserName, String platformName, boolean busy) {
+            this.browserName = browserName;
+            this.platformName = platformName;
+            this.busy = busy;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Slot parse(Map<String, Object> slot) {
+            Map<String, Object> stereotype = slot.get("stereotype") instanceof Map
+                    ? (Map<String, Object>) slot.get("stereotype")
+                    : Collections.emptyMap();
+            Object browser = stereotype.get("browserName");
+            Object platform = stereotype.get("platformName");
+            return new Slot(browser == null ? "" : browser.toString(),
+                    platform == null ? "" : platform.toString().toLowerCase(Locale.ROOT),
+                    slot.get("session") != null);
+        }
+
+        private boolean matches(String browser, String platform) {
+            if (!browserName.equalsIgnoreCase(browser)) {
+                return false;
+            }
+            // A slot without a platform, or a request for any platform, matches everything
+            return platform == null || platform.isEmpty() || platform.equalsIgnoreCase("any")
+                    || platformName.isEmpty() || platformName.equalsIgnoreCase(platform);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+import org.openqa.selenium.remote.http.WebSocket;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * HTTP client factory that lets every remote session talk to the Grid through one client.
+ * Selenium normally builds a new HTTP client, with its own connection pool and threads, for each
+ * session. This factory creates one client per Grid URL and hands each session a view of it
+ * whose {@code close()} does nothing, so keep-alive connections are reused across sessions.
+ * The shared clients are closed when the JVM exits.
+ */
+final class SharedHttpClientFactory implements HttpClient.Factory {
+
+    private static final Logger logger = LoggerUtil.getLogger(SharedHttpClientFactory.class);
+
+    private final Map<URI, HttpClient> clients = new ConcurrentHashMap<>();
+
+    SharedHttpClientFactory() {
+        Runtime.getRuntime().addShutdownHook(new Thread(this::closeAll, "grid-http-client-shutdown"));
+    }
+
+    @Override
+    public HttpClient createClient(ClientConfig config) {
+        HttpClient shared = clients.computeIfAbsent(config.baseUri(), uri -> {
+            logger.info("Creating shared HTTP client for Selenium Grid at " + uri);
+            return HttpClient.Factory.createDefault().createClient(config);
+        });
+        return new SessionView(shared);
+    }
+
+    private void closeAll() {
+        for (HttpClient client : clients.values()) {
+            try {
+                client.close();
+            } catch (Exception e) {
+                logger.warn("Failed to close shared Grid HTTP client: " + e.getMessage());
+            }
+        }
+        clients.clear();
+    }
+
+    /**
+     * Per-session handle on the shared client; closing it leaves the shared client open
+     */
+    private static final class SessionView implements HttpClient {
+        private final HttpClient shared;
+
+        private SessionView(HttpClient shared) {
+            this.shared = shared;
+        }
+
+        @Override
+        public HttpResponse execute(HttpRequest request) {
+            return shared.execute(request);
+        }
+
+        @Override
+        public WebSocket openSocket(HttpRequest request, WebSocket.Listener listener) {
+            return shared.openSocket(request, listener);
+        }
+
+        @Override
+        public void close() {
+            // The shared client outlives the session
+        }
+    }
+}
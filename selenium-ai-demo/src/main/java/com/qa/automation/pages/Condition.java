@@ -0,0 +1,120 @@
+package com.qa.automation.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * A condition polled by {@link WaitEngine}. A condition is met when it returns a value
+ * other than null or {@code Boolean.FALSE}; that value is handed back to the caller.
+ * Conditions never wait themselves, so evaluating one is always a single round of commands.
+ * @param <T> type of the value produced once the condition is met
+ */
+@FunctionalInterface
+public interface Condition<T> {
+
+    /**
+     * Evaluate the condition once
+     * @param driver WebDriver to evaluate against
+     * @return a value when met, null or false otherwise
+     */
+    T evaluate(WebDriver driver);
+
+    /**
+     * Met when both this and the other condition are met; yields the other condition's value
+     */
+    default <U> Condition<U> and(Condition<U> other) {
+        return driver -> isMet(evaluate(driver)) ? other.evaluate(driver) : null;
+    }
+
+    /**
+     * Met when either condition is met; yields the first value that is met
+     */
+    default Condition<Object> or(Condition<?> other) {
+        return driver -> {
+            Object value = evaluate(driver);
+            return isMet(value) ? value : other.evaluate(driver);
+        };
+    }
+
+    /**
+     * Check whether a value returned by a condition means the condition is met
+     */
+    static boolean isMet(Object value) {
+        return value != null && !Boolean.FALSE.equals(value);
+    }
+
+    /**
+     * Met when the given condition is not met
+     */
+    static Condition<Boolean> not(Condition<?> condition) {
+        return driver -> !isMet(condition.evaluate(driver));
+    }
+
+    /**
+     * First element matching the locator, as soon as it is in the DOM
+     */
+    static Condition<WebElement> presenceOf(By locator) {
+        return driver -> {
+            List<WebElement> elements = driver.findElements(locator);
+            return elements.isEmpty() ? null : elements.get(0);
+        };
+    }
+
+    /**
+     * First displayed element matching the locator
+     */
+    static Condition<WebElement> visibilityOf(By locator) {
+        return driver -> {
+            for (WebElement element : driver.findElements(locator)) {
+                if (element.isDisplayed()) {
+                    return element;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * First displayed and enabled element matching the locator
+     */
+    static Condition<WebElement> clickable(By locator) {
+        return driver -> {
+            for (WebElement element : driver.findElements(locator)) {
+                if (element.isDisplayed() && element.isEnabled()) {
+                    return element;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Met when no displayed element matches the locator
+     */
+    static Condition<Boolean> invisibilityOf(By locator) {
+        return not(visibilityOf(locator));
+    }
+
+    /**
+     * Met when the current URL contains the fragment
+     */
+    static Condition<Boolean> urlContains(String fragment) {
+        return driver -> {
+            String url = driver.getCurrentUrl();
+            return url != null && url.contains(fragment);
+        };
+    }
+
+    /**
+     * Met when the page title contains the text
+     */
+    static Condition<Boolean> titleContains(String text) {
+        return driver -> {
+            String title = driver.getTitle();
+            return title != null && title.contains(text);
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.qa.automation.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Elements already resolved by one page object, so that repeated interactions with the same
+ * locator do not send another find command. The cache belongs to a single page instance, which
+ * in turn belongs to the test thread that created it, so it needs no locking.
+ * Entries are scoped to the URL the page last saw: they are dropped when the page navigates or
+ * notices a different URL, and individually when an element turns out to be stale. After a click
+ * or a submitting key, which may navigate without the page knowing, the URL is checked before an
+ * entry is next reused; lookups that find no entry do not read the URL.
+ */
+public final class ElementCache {
+
+    private final Map<By, WebElement> elements = new HashMap<>();
+    private String scopeUrl;
+    private boolean navigationExpected;
+    private long hits;
+    private long misses;
+    private long staleEvictions;
+
+    /**
+     * Cached element for the locator, or null
+     */
+    WebElement get(By locator) {
+        return elements.get(locator);
+    }
+
+    /**
+     * Record that a cached element was usable
+     */
+    void hit() {
+        hits++;
+    }
+
+    /**
+     * Record that the DOM had to be queried
+     */
+    void miss() {
+        misses++;
+    }
+
+    /**
+     * Remember a freshly resolved element
+     */
+    void put(By locator, WebElement element) {
+        elements.put(locator, element);
+    }
+
+    /**
+     * Drop an element that was detached from the DOM; the next lookup re-resolves it
+     */
+    void evictStale(By locator) {
+        if (elements.remove(locator) != null) {
+            staleEvictions++;
+        }
+    }
+
+    /**
+     * Drop every entry if the URL differs from the one the entries were resolved on. Entries
+     * resolved before the page first saw a URL are kept; a detached one fails as stale on its next use.
+     * @param url URL the page is on now
+     */
+    void scopeTo(String url) {
+        navigationExpected = false;
+        if (url == null) {
+            return;
+        }
+        if (scopeUrl != null && !url.equals(scopeUrl)) {
+            elements.clear();
+        }
+        scopeUrl = url;
+    }
+
+    /**
+     * Note that the browser may have navigated, so the URL is checked before an entry is next reused
+     */
+    void expectNavigation() {
+        navigationExpected = true;
+    }
+
+    /**
+     * Whether the URL has to be checked before an entry can be reused
+     */
+    boolean isNavigationExpected() {
+        return navigationExpected;
+    }
+
+    /**
+     * Drop every entry, e.g. because the page is about to navigate; entries resolved afterwards
+     * belong to the new page
+     */
+    void invalidate() {
+        elements.clear();
+        scopeUrl = null;
+        navigationExpected = false;
+    }
+
+    /**
+     * Number of lookups answered from the cache
+     */
+    public long getHits() {
+        return hits;
+    }
+
+    /**
+     * Number of lookups that had to query the DOM
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Number of cached elements found stale and re-resolved
+     */
+    public long getStaleEvictions() {
+        return staleEvictions;
+    }
+
+    /**
+     * Number of elements currently cached
+     */
+    public int size() {
+        return elements.size();
+    }
+
+    @Override
+    public String toString() {
+        return "hits=" + hits + ", misses=" + misses + ", staleEvictions=" + staleEvictions + ", cached=" + elements.size();
+    }
+}
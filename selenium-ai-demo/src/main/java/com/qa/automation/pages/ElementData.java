@@ -0,0 +1,26 @@
+package com.qa.automation.pages;
+
+import java.util.Map;
+
+/**
+ * Plain snapshot of one element, read in bulk by {@link BasePage#readElements}.
+ * Values are copied out of the browser, so they never go stale and reading them costs no round-trips.
+ * @param index position of the element among the locator's matches
+ * @param tagName lower-case tag name
+ * @param text rendered text, trimmed (empty for hidden elements, like {@code WebElement.getText()})
+ * @param displayed whether the element is rendered and not hidden by CSS
+ * @param attributes requested attributes; missing attributes are absent from the map
+ */
+public record ElementData(int index, String tagName, String text, boolean displayed, Map<String, String> attributes) {
+
+    public ElementData {
+        attributes = Map.copyOf(attributes);
+    }
+
+    /**
+     * Value of a requested attribute, or null if the element does not have it
+     */
+    public String attribute(String name) {
+        return attributes.get(name);
+    }
+}
@@ -2,104 +2,570 @@ package com.qa.automation.utils;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
+/**
+ * Typed access to the framework configuration.
+ * Values are layered, later layers winning: built-in defaults, config.properties,
+ * config-{env}.properties, environment variables (QA_ prefix, upper snake case: QA_POOL_MAX_SIZE
+ * overrides pool.maxSize) and system properties (Jenkins -D overrides). Every key has a built-in
+ * default, so the overrides apply to keys that no file sets.
+ * The layers are merged and validated once into an immutable {@link ConfigSnapshot}; getters read
+ * its fields. With config.reload.enabled, edits to the config files on disk publish a new snapshot.
+ * <p>
+ * The files are read from the directory given by {@code -Dconfig.dir} (or QA_CONFIG_DIR) when set,
+ * otherwise from the classpath. A classpath copy in Maven's target/classes is replaced by its
+ * source in src/main/resources, so edits to the source files are picked up without a rebuild.
+ */
 public class ConfigReader {
 
-    private static Properties properties;
+    private static final String ENV_PREFIX = "QA_";
+    private static final String CONFIG_DIR_PROPERTY = "config.dir";
+
+    private static volatile ConfigSnapshot snapshot;
+    private static final List<Path> sourceFiles = new CopyOnWriteArrayList<>();
+    private static final List<Consumer<ConfigSnapshot>> reloadListeners = new CopyOnWriteArrayList<>();
+    private static ConfigWatcher watcher;
 
     static {
-        properties = loadProperties();
+        snapshot = loadSnapshot();
+        if (snapshot.reloadEnabled()) {
+            startWatcher();
+        }
     }
 
     /**
-     * Load properties based on environment system property or default to dev
-     * Looks for config-{env}.properties file, falls back to config.properties
+     * Merge every configuration layer and validate the result
      */
-    private static Properties loadProperties() {
-        Properties props = new Properties();
+    private static ConfigSnapshot loadSnapshot() {
+        Map<String, String> merged = new LinkedHashMap<>(ConfigSnapshot.DEFAULTS);
+        List<Path> files = new ArrayList<>();
+        boolean baseLoaded = loadLayer("config.properties", merged, files);
         String env = getEnvironmentFromSystem();
         String configFileName = "config-" + env + ".properties";
+        if (loadLayer(configFileName, merged, files)) {
+            System.out.println("Loaded configuration from: " + configFileName);
+        } else {
+            System.out.println("Config file not found: " + configFileName + ". Using config.properties only");
+            if (!baseLoaded) {
+                throw new RuntimeException("config.properties not found in classpath");
+            }
+        }
+        // Defaults hold every known key, so this covers keys that no file sets
+        for (String key : merged.keySet()) {
+            String value = System.getenv(toEnvironmentVariable(key));
+            if (value != null && !value.isEmpty()) {
+                merged.put(key, value);
+            }
+        }
+        for (String key : merged.keySet()) {
+            String value = System.getProperty(key);
+            if (value != null && !value.isEmpty()) {
+                merged.put(key, value);
+            }
+        }
+        sourceFiles.clear();
+        sourceFiles.addAll(files);
+        return ConfigSnapshot.parse(merged);
+    }
 
-        try (InputStream input = ConfigReader.class.getClassLoader().getResourceAsStream(configFileName)) {
-            if (input != null) {
-                props.load(input);
-                System.out.println("Loaded configuration from: " + configFileName);
-            } else {
-                // Fallback to default config.properties
-                System.out.println("Config file not found: " + configFileName + ". Falling back to config.properties");
-                try (InputStream fallbackInput = ConfigReader.class.getClassLoader().getResourceAsStream("config.properties")) {
-                    if (fallbackInput != null) {
-                        props.load(fallbackInput);
-                    } else {
-                        throw new RuntimeException("config.properties not found in classpath");
-                    }
-                }
+    /**
+     * Merge one properties file into the values. The file read is the one that is watched, so a
+     * reload sees exactly the edited file.
+     * @return false if the file does not exist
+     */
+    private static boolean loadLayer(String resource, Map<String, String> merged, List<Path> files) {
+        Properties props = new Properties();
+        Path file = locate(resource);
+        try (InputStream input = file != null ? Files.newInputStream(file)
+                : ConfigReader.class.getClassLoader().getResourceAsStream(resource)) {
+            if (input == null) {
+                return false;
             }
+            props.load(input);
+        } catch (NoSuchFileException e) {
+            return false;
         } catch (IOException e) {
-            throw new RuntimeException("Error loading configuration properties", e);
+            throw new RuntimeException("Error loading configuration properties from " + resource, e);
+        }
+        for (String key : props.stringPropertyNames()) {
+            merged.put(key, props.getProperty(key));
         }
+        if (file != null) {
+            files.add(file);
+        }
+        return true;
+    }
 
-        return props;
+    /**
+     * File a configuration layer is read from: in the configured directory, the source copy of a
+     * file compiled into target/classes, or the classpath file itself
+     * @return file, or null if the layer only exists inside a jar or not at all
+     */
+    private static Path locate(String resource) {
+        String configDir = System.getProperty(CONFIG_DIR_PROPERTY);
+        if (configDir == null || configDir.isEmpty()) {
+            configDir = System.getenv(ENV_PREFIX + "CONFIG_DIR");
+        }
+        if (configDir != null && !configDir.isEmpty()) {
+            return Paths.get(configDir, resource).toAbsolutePath().normalize();
+        }
+        URL location = ConfigReader.class.getClassLoader().getResource(resource);
+        if (location == null || !"file".equals(location.getProtocol())) {
+            return null;
+        }
+        Path compiled;
+        try {
+            compiled = Paths.get(location.toURI());
+        } catch (URISyntaxException e) {
+            return null;
+        }
+        Path classes = compiled.getParent();
+        if (classes != null && classes.endsWith(Paths.get("target", "classes"))) {
+            Path source = classes.getParent().getParent().resolve(Paths.get("src", "main", "resources", resource));
+            if (Files.isRegularFile(source)) {
+                return source;
+            }
+        }
+        return compiled;
     }
 
     /**
-     * Get environment from system property (Jenkins parameter) or default to "dev"
+     * Environment variable that overrides a key: pool.maxSize becomes QA_POOL_MAX_SIZE
+     */
+    static String toEnvironmentVariable(String key) {
+        String snake = key.replaceAll("([a-z0-9])([A-Z])", "$1_$2").replace('.', '_').replace('-', '_');
+        return ENV_PREFIX + snake.toUpperCase(Locale.ROOT);
+    }
+
+    /**
+     * Get environment from system property (Jenkins parameter), QA_ENV, or default to "dev"
      */
     private static String getEnvironmentFromSystem() {
         String env = System.getProperty("env");
+        if (env == null || env.isEmpty()) {
+            env = System.getenv(ENV_PREFIX + "ENV");
+        }
         return (env != null && !env.isEmpty()) ? env : "dev";
     }
 
-    public static String getEnvironment() {
-        // Check system property first (for Jenkins override)
-        String env = System.getProperty("environment");
-        if (env != null && !env.isEmpty()) {
-            return env;
+    /**
+     * Current configuration snapshot
+     */
+    public static ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rebuild the snapshot from all layers and publish it atomically. An invalid configuration
+     * is rejected and the current snapshot stays in place.
+     * @return the published snapshot
+     * @throws IllegalStateException if the new configuration is invalid
+     */
+    public static synchronized ConfigSnapshot reload() {
+        ConfigSnapshot reloaded = loadSnapshot();
+        snapshot = reloaded;
+        for (Consumer<ConfigSnapshot> listener : reloadListeners) {
+            listener.accept(reloaded);
         }
-        return properties.getProperty("environment", "dev");
+        return reloaded;
     }
 
-    public static String getUrl() {
-        // Check system property first (for Jenkins override)
-        String url = System.getProperty("url");
-        if (url != null && !url.isEmpty()) {
-            return url;
+    /**
+     * Get notified after a new snapshot was published by {@link #reload()}
+     */
+    public static void addReloadListener(Consumer<ConfigSnapshot> listener) {
+        reloadListeners.add(listener);
+    }
+
+    /**
+     * Start watching the config files on disk; changes trigger {@link #reload()}
+     */
+    public static synchronized void startWatcher() {
+        if (watcher == null && !sourceFiles.isEmpty()) {
+            watcher = ConfigWatcher.start(sourceFiles, ConfigReader::reload);
         }
-        return properties.getProperty("url", "https://www.google.com");
     }
 
-    public static int getImplicitWait() {
-        // Check system property first (for Jenkins override)
-        String wait = System.getProperty("implicitWait");
-        if (wait != null && !wait.isEmpty()) {
-            return Integer.parseInt(wait);
+    /**
+     * Stop watching the config files
+     */
+    public static synchronized void stopWatcher() {
+        if (watcher != null) {
+            watcher.close();
+            watcher = null;
         }
-        return Integer.parseInt(properties.getProperty("implicitWait", "10"));
+    }
+
+    public static String getEnvironment() {
+        return snapshot.environment();
+    }
+
+    public static String getUrl() {
+        return snapshot.url();
+    }
+
+    public static int getImplicitWait() {
+        return snapshot.implicitWait();
     }
 
     public static int getExplicitWait() {
-        // Check system property first (for Jenkins override)
-        String wait = System.getProperty("explicitWait");
-        if (wait != null && !wait.isEmpty()) {
-            return Integer.parseInt(wait);
-        }
-        return Integer.parseInt(properties.getProperty("explicitWait", "20"));
+        return snapshot.explicitWait();
     }
 
     public static String getBrowser() {
-        // Check system property first (for Jenkins override)
-        String browser = System.getProperty("browser");
-        if (browser != null && !browser.isEmpty()) {
-            return browser;
-        }
-        return properties.getProperty("browser", "chrome");
+        return snapshot.browser();
+    }
+
+    /**
+     * Milliseconds between condition checks in the page wait engine
+     */
+    public static int getPollingInterval() {
+        return snapshot.pollingIntervalMillis();
+    }
+
+    /**
+     * Whether driver sessions are leased from the shared pool instead of created per test
+     */
+    public static boolean isDriverPoolEnabled() {
+        return snapshot.poolEnabled();
+    }
+
+    /**
+     * Maximum number of live browser sessions per browser type
+     */
+    public static int getPoolMaxSize() {
+        return snapshot.poolMaxSize();
+    }
+
+    /**
+     * Number of tests a single session may serve before it is recycled
+     */
+    public static int getPoolMaxReuse() {
+        return snapshot.poolMaxReuse();
+    }
+
+    /**
+     * Seconds an idle session may sit in the pool before it is evicted
+     */
+    public static int getPoolIdleTimeout() {
+        return snapshot.poolIdleTimeoutSeconds();
+    }
+
+    /**
+     * Seconds a test waits for a free session when the pool is exhausted
+     */
+    public static int getPoolAcquireTimeout() {
+        return snapshot.poolAcquireTimeoutSeconds();
+    }
+
+    /**
+     * Whether driver binaries must come from pinned paths instead of WebDriverManager (air-gapped CI)
+     */
+    public static boolean isDriverOfflineMode() {
+        return snapshot.driverOffline();
+    }
+
+    /**
+     * Whether sessions are started on a Selenium Grid instead of the local machine
+     * @return true when execution.mode is remote
+     */
+    public static boolean isRemoteExecution() {
+        return snapshot.remoteExecution();
+    }
+
+    /**
+     * Selenium Grid base URL used in remote mode
+     */
+    public static String getGridUrl() {
+        return snapshot.gridUrl();
+    }
+
+    /**
+     * Minimum time between two Grid status requests, in milliseconds
+     */
+    public static int getGridStatusPollMillis() {
+        return snapshot.gridStatusPollMillis();
+    }
+
+    /**
+     * How long a new session waits client-side for a free Grid slot, in seconds
+     */
+    public static int getGridQueueTimeout() {
+        return snapshot.gridQueueTimeoutSeconds();
+    }
+
+    /**
+     * Connect timeout of requests to the Grid, in seconds
+     */
+    public static int getGridConnectTimeout() {
+        return snapshot.gridConnectTimeoutSeconds();
+    }
+
+    /**
+     * Read timeout of WebDriver commands sent to the Grid, in seconds
+     */
+    public static int getGridReadTimeout() {
+        return snapshot.gridReadTimeoutSeconds();
+    }
+
+    /**
+     * How long suite setup waits for the Grid to offer enough free slots, in seconds
+     */
+    public static int getGridReadyTimeout() {
+        return snapshot.gridReadyTimeoutSeconds();
+    }
+
+    /**
+     * Free slots of the configured browser the Grid must offer before tests start
+     */
+    public static int getGridReadyMinSlots() {
+        return snapshot.gridReadyMinSlots();
+    }
+
+    /**
+     * Platform the Grid slots must run on, or empty for any
+     */
+    public static String getGridPlatform() {
+        return snapshot.gridPlatform();
+    }
+
+    /**
+     * Whether scenarios run on virtual threads (Java 21+) instead of TestNG's platform threads
+     * @return true when execution.threads is virtual
+     */
+    public static boolean isVirtualThreadExecution() {
+        return snapshot.virtualThreadExecution();
+    }
+
+    /**
+     * Scenarios allowed to run at once, or 0 to size it from the driver pool or Grid capacity
+     */
+    public static int getMaxConcurrency() {
+        return snapshot.maxConcurrency();
+    }
+
+    /**
+     * Cucumber scenarios run in parallel (data provider threads); 1 runs them one by one
+     */
+    public static int getCucumberThreads() {
+        return snapshot.cucumberThreads();
+    }
+
+    /**
+     * Pre-resolved driver binary path for a browser family, e.g. driver.chrome.path
+     * @param browserFamily browser family name (chrome, firefox, edge, safari)
+     * @return configured path, or null when none is pinned
+     */
+    public static String getDriverBinaryPath(String browserFamily) {
+        String path = snapshot.get("driver." + browserFamily + ".path");
+        return path == null || path.isBlank() ? null : path.trim();
+    }
+
+    /**
+     * Number of background threads that encode and write screenshots
+     */
+    public static int getScreenshotWorkers() {
+        return snapshot.screenshotWorkers();
+    }
+
+    /**
+     * Screenshots allowed to wait for a worker before the test thread does the work itself
+     */
+    public static int getScreenshotQueueCapacity() {
+        return snapshot.screenshotQueueCapacity();
+    }
+
+    /**
+     * Image format for stored screenshots: png (lossless) or jpg (re-encoded, much smaller)
+     */
+    public static String getScreenshotFormat() {
+        return snapshot.screenshotFormat();
+    }
+
+    /**
+     * Whether report screenshots are stored as files and linked by path (file) or embedded as Base64 (embed)
+     */
+    public static boolean isScreenshotFileMode() {
+        return snapshot.screenshotFileMode();
+    }
+
+    /**
+     * Size cap in bytes for a stored screenshot; larger images are downscaled (0 disables the cap)
+     */
+    public static long getScreenshotMaxBytes() {
+        return snapshot.screenshotMaxBytes();
+    }
+
+    /**
+     * Width in pixels of the thumbnail shown in the report (0 disables thumbnails)
+     */
+    public static int getScreenshotThumbnailWidth() {
+        return snapshot.screenshotThumbnailWidth();
+    }
+
+    /**
+     * When step screenshots are taken: always, never, on-failure, every-n, url-change or dom-change
+     */
+    public static ScreenshotPolicy getScreenshotPolicy() {
+        return snapshot.screenshotPolicy();
+    }
+
+    /**
+     * Interval of the every-n screenshot policy, in steps
+     */
+    public static int getScreenshotEveryNSteps() {
+        return snapshot.screenshotEveryNSteps();
+    }
+
+    /**
+     * Raw step screenshots kept in memory and attached only when the test fails (0 = none)
+     */
+    public static int getScreenshotBufferSize() {
+        return snapshot.screenshotBufferSize();
+    }
+
+    /**
+     * External locator files (properties or JSON) loaded into the locator registry, comma separated.
+     * Each entry is a file system path or a classpath resource.
+     */
+    public static List<String> getLocatorFiles() {
+        return snapshot.locatorFiles();
+    }
+
+    /**
+     * Whether parsed Excel sheets are cached in a binary columnar file between runs
+     */
+    public static boolean isExcelCacheEnabled() {
+        return snapshot.excelCacheEnabled();
+    }
+
+    /**
+     * Directory holding the binary Excel caches
+     */
+    public static String getExcelCacheDir() {
+        return snapshot.excelCacheDir();
+    }
+
+    /**
+     * Rows per sheet that the streaming Excel writer keeps in memory
+     */
+    public static int getExcelWriterRowWindow() {
+        return snapshot.excelWriterRowWindow();
+    }
+
+    /**
+     * Rows after which the streaming Excel writer flushes every buffered row (0 relies on the row window)
+     */
+    public static int getExcelWriterFlushEvery() {
+        return snapshot.excelWriterFlushEvery();
+    }
+
+    /**
+     * Excel file receiving one row per finished test (empty disables the export)
+     */
+    public static String getResultExportPath() {
+        return snapshot.resultExportPath();
+    }
+
+    /**
+     * JSON lines file receiving report events as tests run; the live HTML report is rendered next to it
+     */
+    public static String getReportEventLog() {
+        return snapshot.reportEventLog();
+    }
+
+    /**
+     * Seconds between incremental report flushes (0 = after every test)
+     */
+    public static int getReportFlushInterval() {
+        return snapshot.reportFlushIntervalSeconds();
+    }
+
+    /**
+     * Whether finished tests stay in the Extent model so the Spark report can be written at the end.
+     * Off by default: finished tests are kept only in the report event log.
+     */
+    public static boolean isReportKeepFinishedTests() {
+        return snapshot.reportKeepFinishedTests();
+    }
+
+    /**
+     * Whether parallel test methods are ordered by their recorded durations
+     */
+    public static boolean isPlannerEnabled() {
+        return snapshot.plannerEnabled();
+    }
+
+    /**
+     * File holding test method durations of previous runs
+     */
+    public static String getPlannerHistoryFile() {
+        return snapshot.plannerHistoryFile();
+    }
+
+    /**
+     * Thread count applied to every suite, or 0 to keep the suite's own
+     */
+    public static int getPlannerThreads() {
+        return snapshot.plannerThreads();
+    }
+
+    /**
+     * Whether suites with parallel="classes" are switched to parallel="methods"
+     */
+    public static boolean isPlannerSplitClasses() {
+        return snapshot.plannerSplitClasses();
+    }
+
+    /**
+     * Times one test may be retried after a transient failure (0 disables retries)
+     */
+    public static int getRetryMaxAttempts() {
+        return snapshot.retryMaxAttempts();
+    }
+
+    /**
+     * Retries allowed in the whole run, across all tests
+     */
+    public static int getRetryBudget() {
+        return snapshot.retryBudget();
+    }
+
+    /**
+     * File that keeps the flakiness score of every test between runs
+     */
+    public static String getRetryHistoryFile() {
+        return snapshot.retryHistoryFile();
+    }
+
+    /**
+     * Append-only binary file keeping the results of every run (empty disables it)
+     */
+    public static String getResultsStorePath() {
+        return snapshot.resultsStorePath();
     }
 
     /**
-     * Get all properties (useful for debugging)
+     * Get all merged properties (useful for debugging). Returns a copy: changing it does not
+     * change the configuration.
      */
     public static Properties getAllProperties() {
+        Properties properties = new Properties();
+        properties.putAll(snapshot.values());
         return properties;
     }
 
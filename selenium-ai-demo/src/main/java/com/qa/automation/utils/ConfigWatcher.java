@@ -0,0 +1,111 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches configuration files and runs a reload when one of them changes.
+ * Editors often write a file in several steps, so events are debounced: the reload runs once
+ * the files have been quiet for {@value #DEBOUNCE_MILLIS} ms. A failed reload is logged and the
+ * watcher keeps going, so a half-edited file never stops it.
+ */
+final class ConfigWatcher implements AutoCloseable {
+
+    private static final Logger logger = LoggerUtil.getLogger(ConfigWatcher.class);
+    private static final long DEBOUNCE_MILLIS = 250;
+
+    private final WatchService watchService;
+    private final Set<Path> files = new HashSet<>();
+    private final Runnable reload;
+    private final Thread thread;
+
+    private ConfigWatcher(List<Path> watchedFiles, Runnable reload) throws IOException {
+        this.watchService = FileSystems.getDefault().newWatchService();
+        this.reload = reload;
+        Set<Path> directories = new HashSet<>();
+        for (Path file : watchedFiles) {
+            Path absolute = file.toAbsolutePath().normalize();
+            files.add(absolute);
+            directories.add(absolute.getParent());
+        }
+        for (Path directory : directories) {
+            directory.register(watchService, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_CREATE);
+        }
+        this.thread = new Thread(this::run, "config-watcher");
+        thread.setDaemon(true);
+    }
+
+    /**
+     * Start watching the files on a daemon thread
+     * @return running watcher, or null if the files cannot be watched
+     */
+    static ConfigWatcher start(List<Path> watchedFiles, Runnable reload) {
+        try {
+            ConfigWatcher watcher = new ConfigWatcher(watchedFiles, reload);
+            watcher.thread.start();
+            logger.info("Watching configuration files for changes: " + watchedFiles);
+            return watcher;
+        } catch (IOException e) {
+            logger.warn("Configuration hot reload unavailable: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = watchService.take();
+                boolean changed = drain(key);
+                // Debounce: keep collecting events until the files are quiet
+                WatchKey more;
+                while ((more = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= drain(more);
+                }
+                if (changed) {
+                    try {
+                        reload.run();
+                        logger.info("Configuration reloaded");
+                    } catch (RuntimeException e) {
+                        logger.error("Configuration reload rejected, keeping the previous configuration: " + e.getMessage());
+                    }
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private boolean drain(WatchKey key) {
+        boolean changed = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.context() instanceof Path && files.contains(directory.resolve((Path) event.context()))) {
+                changed = true;
+            }
+        }
+        key.reset();
+        return changed;
+    }
+
+    @Override
+    public void close() {
+        thread.interrupt();
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close configuration watcher: " + e.getMessage());
+        }
+    }
+}
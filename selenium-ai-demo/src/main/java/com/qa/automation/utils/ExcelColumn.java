@@ -0,0 +1,85 @@
+package com.qa.automation.utils;
+
+import java.util.Objects;
+
+/**
+ * Typed column of a sheet written by {@link ExcelStreamWriter}.
+ * The type decides how values are stored, so numbers stay numeric and dates stay dates in Excel.
+ */
+public final class ExcelColumn {
+
+    /**
+     * Cell types a column can hold
+     */
+    public enum Type {
+        TEXT, INTEGER, DECIMAL, BOOLEAN, DATE_TIME
+    }
+
+    private final String name;
+    private final Type type;
+
+    private ExcelColumn(String name, Type type) {
+        this.name = name;
+        this.type = type;
+    }
+
+    /**
+     * Text column; any value is written with {@code String.valueOf}
+     */
+    public static ExcelColumn text(String name) {
+        return new ExcelColumn(name, Type.TEXT);
+    }
+
+    /**
+     * Whole-number column accepting any {@link Number}
+     */
+    public static ExcelColumn integer(String name) {
+        return new ExcelColumn(name, Type.INTEGER);
+    }
+
+    /**
+     * Decimal column accepting any {@link Number}
+     */
+    public static ExcelColumn decimal(String name) {
+        return new ExcelColumn(name, Type.DECIMAL);
+    }
+
+    /**
+     * Boolean column
+     */
+    public static ExcelColumn bool(String name) {
+        return new ExcelColumn(name, Type.BOOLEAN);
+    }
+
+    /**
+     * Date-time column accepting LocalDateTime, LocalDate, Instant (UTC) or java.util.Date
+     */
+    public static ExcelColumn dateTime(String name) {
+        return new ExcelColumn(name, Type.DATE_TIME);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof ExcelColumn)) {
+            return false;
+        }
+        ExcelColumn column = (ExcelColumn) other;
+        return name.equals(column.name) && type == column.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type);
+    }
+}
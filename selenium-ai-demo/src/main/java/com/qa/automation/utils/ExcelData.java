@@ -0,0 +1,45 @@
+package com.qa.automation.utils;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the Excel rows that feed a data-driven test through {@link ExcelDataProvider}.
+ *
+ * <pre>
+ * &#64;ExcelData(file = "src/test/resources/testdata.xlsx", columns = {"user name", "Password"})
+ * &#64;Test(dataProvider = ExcelDataProvider.EXCEL, dataProviderClass = ExcelDataProvider.class)
+ * public void loginTest(String userName, String password) { ... }
+ * </pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ExcelData {
+
+    /**
+     * Path of the .xlsx file
+     */
+    String file();
+
+    /**
+     * Sheet name; the first sheet when empty
+     */
+    String sheet() default "";
+
+    /**
+     * Columns passed as test parameters, in order; all columns when empty
+     */
+    String[] columns() default {};
+
+    /**
+     * Row filters of the form {@code column=value}; a row must match all of them
+     */
+    String[] where() default {};
+
+    /**
+     * Pass each row as a single {@code Map<String, Object>} parameter instead of one parameter per column
+     */
+    boolean asMap() default false;
+}
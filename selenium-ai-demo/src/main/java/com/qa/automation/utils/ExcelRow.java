@@ -0,0 +1,98 @@
+package com.qa.automation.utils;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One data row streamed from a worksheet, addressed by header name.
+ * Values keep their cell type: String, Long (whole numbers), Double, Boolean,
+ * LocalDateTime (date-formatted cells) or null for empty cells.
+ */
+public final class ExcelRow {
+
+    private final int rowNumber;
+    private final List<String> headers;
+    private final Map<String, Integer> columnIndex;
+    private final Object[] values;
+
+    ExcelRow(int rowNumber, List<String> headers, Map<String, Integer> columnIndex, Object[] values) {
+        this.rowNumber = rowNumber;
+        this.headers = headers;
+        this.columnIndex = columnIndex;
+        this.values = values;
+    }
+
+    /**
+     * 1-based row number as shown in Excel
+     */
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    /**
+     * Typed value of a column
+     * @param column header name
+     * @return cell value, null when the cell is empty
+     * @throws IllegalArgumentException if the sheet has no such column
+     */
+    public Object get(String column) {
+        Integer index = columnIndex.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("Column not found: " + column + " (available: " + headers + ")");
+        }
+        return values[index];
+    }
+
+    /**
+     * Value of a column as text, formatted without losing precision (empty string for empty cells)
+     */
+    public String getString(String column) {
+        return format(get(column));
+    }
+
+    /**
+     * All columns in sheet order with typed values
+     */
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            map.put(headers.get(i), values[i]);
+        }
+        return map;
+    }
+
+    /**
+     * All columns in sheet order with values formatted as text
+     */
+    public Map<String, String> toStringMap() {
+        Map<String, String> map = new LinkedHashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            map.put(headers.get(i), format(values[i]));
+        }
+        return map;
+    }
+
+    Object valueAt(int index) {
+        return values[index];
+    }
+
+    /**
+     * Text form of a typed cell value: whole numbers without ".0", decimals in plain notation
+     */
+    static String format(Object value) {
+        if (value == null) {
+            return "";
+        }
+        if (value instanceof Double) {
+            return BigDecimal.valueOf((Double) value).stripTrailingZeros().toPlainString();
+        }
+        return value.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "Row " + rowNumber + " " + toMap();
+    }
+}
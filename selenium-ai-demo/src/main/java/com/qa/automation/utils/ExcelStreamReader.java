@@ -0,0 +1,472 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Streaming reader for .xlsx test data. The sheet XML is pulled one row at a time with StAX
+ * instead of being loaded into an XSSFWorkbook, so memory stays flat however many rows the
+ * sheet has (only the workbook's shared string table is held in memory).
+ * The first non-empty row is the header row; blank rows are skipped.
+ *
+ * <pre>
+ * Iterator&lt;Object[]&gt; data = ExcelStreamReader.of("src/test/resources/testdata.xlsx")
+ *         .sheet("Login")
+ *         .columns("user name", "Password")
+ *         .where(row -&gt; !row.getString("user name").isEmpty())
+ *         .rows();
+ * </pre>
+ * Each call to {@link #iterator()} or {@link #rows()} opens its own stream, so one reader
+ * definition can back several data providers running in parallel.
+ * When {@code excel.cache.enabled} is set, rows are served from {@link ExcelDataCache}
+ * and the workbook is only parsed when its content changed.
+ */
+public final class ExcelStreamReader implements Iterable<ExcelRow> {
+
+    private static final Logger logger = LoggerUtil.getLogger(ExcelStreamReader.class);
+    private static final String ROW_ELEMENT = "row";
+
+    private final String filePath;
+    private String sheetName;
+    private int sheetIndex;
+    private List<String> columns = Collections.emptyList();
+    private Predicate<ExcelRow> filter = row -> true;
+
+    private ExcelStreamReader(String filePath) {
+        this.filePath = filePath;
+    }
+
+    /**
+     * Start reading an .xlsx file (first sheet, all columns, all rows unless narrowed)
+     */
+    public static ExcelStreamReader of(String filePath) {
+        return new ExcelStreamReader(filePath);
+    }
+
+    /**
+     * Read the sheet with this name
+     */
+    public ExcelStreamReader sheet(String name) {
+        this.sheetName = name;
+        return this;
+    }
+
+    /**
+     * Read the sheet at this 0-based position
+     */
+    public ExcelStreamReader sheet(int index) {
+        this.sheetName = null;
+        this.sheetIndex = index;
+        return this;
+    }
+
+    /**
+     * Only hand these columns, in this order, to {@link #rows()}
+     */
+    public ExcelStreamReader columns(String... names) {
+        this.columns = Arrays.asList(names);
+        return this;
+    }
+
+    /**
+     * Only keep rows matching the filter; filters added later must also match
+     */
+    public ExcelStreamReader where(Predicate<ExcelRow> rowFilter) {
+        this.filter = this.filter.and(rowFilter);
+        return this;
+    }
+
+    /**
+     * Lazily iterate matching rows, from the binary cache when it is enabled
+     * @throws RuntimeException if the file cannot be opened or the sheet does not exist
+     */
+    @Override
+    public Iterator<ExcelRow> iterator() {
+        if (ConfigReader.isExcelCacheEnabled()) {
+            ExcelDataCache.CachedSheet cachedSheet = ExcelDataCache.load(filePath, sheetName, sheetIndex);
+            cachedSheet.requireColumns(columns);
+            return cachedSheet.rows(filter);
+        }
+        return stream();
+    }
+
+    /**
+     * Lazily parse matching rows straight from the workbook, bypassing the cache.
+     * The file is closed when the iterator is exhausted, or by {@link RowIterator#close()}
+     * when iteration stops early.
+     * @throws RuntimeException if the file cannot be opened or the sheet does not exist
+     */
+    public RowIterator stream() {
+        return new RowIterator(this);
+    }
+
+    /**
+     * Stream matching rows as TestNG data provider parameters: one parameter per selected
+     * column (all columns when none were selected), with typed values.
+     * The iterator is synchronized, so it may back a {@code parallel = true} data provider.
+     */
+    public Iterator<Object[]> rows() {
+        List<String> selected = columns;
+        return new SynchronizedIterator(iterator(), row -> {
+            if (selected.isEmpty()) {
+                return row.toMap().values().toArray();
+            }
+            Object[] parameters = new Object[selected.size()];
+            for (int i = 0; i < parameters.length; i++) {
+                parameters[i] = row.get(selected.get(i));
+            }
+            return parameters;
+        });
+    }
+
+    /**
+     * Stream matching rows as TestNG data provider parameters with a single
+     * {@code Map<String, Object>} parameter holding the selected columns
+     */
+    public Iterator<Object[]> rowsAsMaps() {
+        List<String> selected = columns;
+        return new SynchronizedIterator(iterator(), row -> {
+            if (selected.isEmpty()) {
+                return new Object[]{row.toMap()};
+            }
+            Map<String, Object> values = new LinkedHashMap<>();
+            selected.forEach(column -> values.put(column, row.get(column)));
+            return new Object[]{values};
+        });
+    }
+
+    /**
+     * Pull-based iterator over one sheet. Holds a single row in memory at a time.
+     */
+    public static final class RowIterator implements Iterator<ExcelRow>, Closeable {
+
+        private final String filePath;
+        private final Predicate<ExcelRow> filter;
+        private final Map<Integer, Boolean> dateStyles = new HashMap<>();
+        private OPCPackage pkg;
+        private InputStream sheetStream;
+        private XMLStreamReader xml;
+        private ReadOnlySharedStringsTable sharedStrings;
+        private StylesTable styles;
+        private List<String> headers;
+        private Map<String, Integer> columnIndex;
+        private ExcelRow next;
+        private boolean closed;
+        private long rowsRead;
+        private int currentRowNumber;
+
+        private RowIterator(ExcelStreamReader reader) {
+            this.filePath = reader.filePath;
+            this.filter = reader.filter;
+            try {
+                pkg = OPCPackage.open(reader.filePath, PackageAccess.READ);
+                XSSFReader xssfReader = new XSSFReader(pkg);
+                sharedStrings = new ReadOnlySharedStringsTable(pkg);
+                styles = xssfReader.getStylesTable();
+                sheetStream = openSheet(xssfReader, reader.sheetName, reader.sheetIndex);
+                XMLInputFactory factory = XMLInputFactory.newInstance();
+                factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+                factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+                xml = factory.createXMLStreamReader(sheetStream);
+                readHeader();
+                for (String column : reader.columns) {
+                    if (!columnIndex.containsKey(column)) {
+                        throw new IllegalArgumentException("Column not found in " + filePath + ": " + column
+                                + " (available: " + headers + ")");
+                    }
+                }
+                advance();
+            } catch (IOException | OpenXML4JException | SAXException | XMLStreamException e) {
+                close();
+                throw new RuntimeException("Failed to open Excel file: " + filePath, e);
+            } catch (RuntimeException e) {
+                close();
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public ExcelRow next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            ExcelRow current = next;
+            advance();
+            return current;
+        }
+
+        /**
+         * Header names in sheet order
+         */
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Release the file; called automatically once the last row was read
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            next = null;
+            try {
+                if (xml != null) {
+                    xml.close();
+                }
+                if (sheetStream != null) {
+                    sheetStream.close();
+                }
+            } catch (IOException | XMLStreamException e) {
+                logger.warn("Failed to close sheet stream of " + filePath + ": " + e.getMessage());
+            } finally {
+                if (pkg != null) {
+                    // Opened read-only: revert() releases the file without trying to save it
+                    pkg.revert();
+                }
+            }
+            logger.debug("Streamed " + rowsRead + " rows from " + filePath);
+        }
+
+        private static InputStream openSheet(XSSFReader reader, String sheetName, int sheetIndex)
+                throws IOException, OpenXML4JException {
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            List<String> names = new ArrayList<>();
+            while (sheets.hasNext()) {
+                InputStream stream = sheets.next();
+                String name = sheets.getSheetName();
+                boolean wanted = sheetName != null ? sheetName.equalsIgnoreCase(name) : names.size() == sheetIndex;
+                if (wanted) {
+                    return stream;
+                }
+                stream.close();
+                names.add(name);
+            }
+            throw new IllegalArgumentException("Sheet not found: " + (sheetName != null ? sheetName : "#" + sheetIndex)
+                    + " (available: " + names + ")");
+        }
+
+        private void readHeader() throws XMLStreamException {
+            Object[] values;
+            do {
+                values = readRow();
+                if (values == null) {
+                    throw new IllegalArgumentException("Sheet has no header row: " + filePath);
+                }
+            } while (isBlank(values));
+            List<String> names = new ArrayList<>(values.length);
+            Map<String, Integer> index = new HashMap<>();
+            for (int i = 0; i < values.length; i++) {
+                String name = ExcelRow.format(values[i]).trim();
+                if (name.isEmpty()) {
+                    name = "Column" + (i + 1);
+                }
+                names.add(name);
+                index.putIfAbsent(name, i);
+            }
+            headers = Collections.unmodifiableList(names);
+            columnIndex = Collections.unmodifiableMap(index);
+        }
+
+        private void advance() {
+            next = null;
+            try {
+                Object[] values;
+                while ((values = readRow()) != null) {
+                    if (isBlank(values)) {
+                        continue;
+                    }
+                    rowsRead++;
+                    ExcelRow row = new ExcelRow(currentRowNumber, headers, columnIndex,
+                            Arrays.copyOf(values, headers.size()));
+                    if (filter.test(row)) {
+                        next = row;
+                        return;
+                    }
+                }
+            } catch (XMLStreamException e) {
+                close();
+                throw new RuntimeException("Failed to read Excel file: " + filePath, e);
+            }
+            close();
+        }
+
+        /**
+         * Read the next {@code <row>} element into a dense array, or return null at the end of the sheet
+         */
+        private Object[] readRow() throws XMLStreamException {
+            while (xml.hasNext()) {
+                if (xml.next() == XMLStreamConstants.START_ELEMENT && ROW_ELEMENT.equals(xml.getLocalName())) {
+                    String r = xml.getAttributeValue(null, "r");
+                    currentRowNumber = r != null ? Integer.parseInt(r) : currentRowNumber + 1;
+                    List<Object> values = new ArrayList<>();
+                    while (xml.hasNext()) {
+                        int event = xml.next();
+                        if (event == XMLStreamConstants.START_ELEMENT && "c".equals(xml.getLocalName())) {
+                            String ref = xml.getAttributeValue(null, "r");
+                            int column = ref != null ? columnOf(ref) : values.size();
+                            Object value = readCell();
+                            while (values.size() <= column) {
+                                values.add(null);
+                            }
+                            values.set(column, value);
+                        } else if (event == XMLStreamConstants.END_ELEMENT && ROW_ELEMENT.equals(xml.getLocalName())) {
+                            break;
+                        }
+                    }
+                    return values.toArray();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Read the current {@code <c>} element and convert it to its typed value
+         */
+        private Object readCell() throws XMLStreamException {
+            String type = xml.getAttributeValue(null, "t");
+            String style = xml.getAttributeValue(null, "s");
+            String raw = null;
+            StringBuilder inline = null;
+            while (xml.hasNext()) {
+                int event = xml.next();
+                if (event == XMLStreamConstants.START_ELEMENT) {
+                    String element = xml.getLocalName();
+                    if ("v".equals(element)) {
+                        raw = xml.getElementText();
+                    } else if ("t".equals(element)) {
+                        if (inline == null) {
+                            inline = new StringBuilder();
+                        }
+                        inline.append(xml.getElementText());
+                    }
+                } else if (event == XMLStreamConstants.END_ELEMENT && "c".equals(xml.getLocalName())) {
+                    break;
+                }
+            }
+            if ("inlineStr".equals(type)) {
+                return inline != null ? inline.toString() : null;
+            }
+            if (raw == null || raw.isEmpty()) {
+                return null;
+            }
+            if (type == null || "n".equals(type)) {
+                return toNumber(raw, style);
+            }
+            switch (type) {
+                case "s":
+                    return sharedStrings.getItemAt(Integer.parseInt(raw)).getString();
+                case "b":
+                    return "1".equals(raw) || "true".equalsIgnoreCase(raw);
+                default:
+                    // str (formula result), e (error such as #DIV/0!) and d (ISO date) stay text
+                    return raw;
+            }
+        }
+
+        private Object toNumber(String raw, String style) {
+            if (style != null && isDateStyle(Integer.parseInt(style))) {
+                return DateUtil.getLocalDateTime(Double.parseDouble(raw));
+            }
+            BigDecimal number = new BigDecimal(raw);
+            if (number.signum() == 0 || number.stripTrailingZeros().scale() <= 0) {
+                try {
+                    return number.longValueExact();
+                } catch (ArithmeticException e) {
+                    // Too large for a long: fall through to double
+                }
+            }
+            return number.doubleValue();
+        }
+
+        private boolean isDateStyle(int styleIndex) {
+            return dateStyles.computeIfAbsent(styleIndex, index -> {
+                if (styles == null) {
+                    return false;
+                }
+                XSSFCellStyle cellStyle = styles.getStyleAt(index);
+                return cellStyle != null
+                        && DateUtil.isADateFormat(cellStyle.getDataFormat(), cellStyle.getDataFormatString());
+            });
+        }
+
+        private static int columnOf(String cellReference) {
+            int column = 0;
+            for (int i = 0; i < cellReference.length(); i++) {
+                char c = cellReference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                column = column * 26 + (c - 'A' + 1);
+            }
+            return column - 1;
+        }
+
+        private static boolean isBlank(Object[] values) {
+            for (Object value : values) {
+                if (value != null && !(value instanceof String && ((String) value).isBlank())) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Maps rows to data provider parameters under a lock, so parallel consumers never interleave
+     */
+    private static final class SynchronizedIterator implements Iterator<Object[]> {
+        private final Iterator<ExcelRow> source;
+        private final Function<ExcelRow, Object[]> mapper;
+
+        private SynchronizedIterator(Iterator<ExcelRow> source, Function<ExcelRow, Object[]> mapper) {
+            this.source = source;
+            this.mapper = mapper;
+        }
+
+        @Override
+        public synchronized boolean hasNext() {
+            return source.hasNext();
+        }
+
+        @Override
+        public synchronized Object[] next() {
+            return mapper.apply(source.next());
+        }
+    }
+}
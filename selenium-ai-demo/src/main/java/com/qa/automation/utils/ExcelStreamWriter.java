@@ -0,0 +1,296 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming .xlsx writer on top of SXSSF for data sets of any size.
+ * Only the last {@code rowWindow} rows of each sheet stay in memory; older rows are flushed to
+ * compressed temporary files, and additionally every {@code flushEvery} rows when that is set.
+ * Sheets that reach Excel's row limit continue in a new sheet with the same header.
+ * The workbook is written to a temporary file and moved into place on {@link #close()},
+ * so readers never see a half-written file.
+ *
+ * <pre>
+ * try (ExcelStreamWriter writer = ExcelStreamWriter.open("target/users.xlsx")) {
+ *     ExcelStreamWriter.SheetWriter users = writer.sheet("Users",
+ *             ExcelColumn.text("user name"), ExcelColumn.text("Password"), ExcelColumn.integer("age"));
+ *     users.append("user1", "pass1", 30);
+ * }
+ * </pre>
+ * Not thread-safe: feed one writer from one thread, or synchronize around it.
+ */
+public final class ExcelStreamWriter implements Closeable {
+
+    private static final Logger logger = LoggerUtil.getLogger(ExcelStreamWriter.class);
+
+    /**
+     * Maximum rows of an .xlsx sheet, header included
+     */
+    public static final int MAX_ROWS_PER_SHEET = 1_048_576;
+    private static final int MAX_SHEET_NAME_LENGTH = 31;
+
+    private final Path target;
+    private final SXSSFWorkbook workbook;
+    private final int flushEvery;
+    private final CellStyle headerStyle;
+    private final CellStyle dateStyle;
+    private final Map<String, SheetWriter> sheets = new LinkedHashMap<>();
+    private boolean closed;
+
+    /**
+     * @param target file to write on close
+     * @param rowWindow rows kept in memory per sheet before older rows are flushed to disk
+     * @param flushEvery flush all buffered rows every this many rows per sheet (0 relies on the window alone)
+     */
+    public ExcelStreamWriter(Path target, int rowWindow, int flushEvery) {
+        this.target = target;
+        this.flushEvery = flushEvery;
+        this.workbook = new SXSSFWorkbook(rowWindow);
+        workbook.setCompressTempFiles(true);
+        Font bold = workbook.createFont();
+        bold.setBold(true);
+        headerStyle = workbook.createCellStyle();
+        headerStyle.setFont(bold);
+        dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd hh:mm:ss"));
+    }
+
+    /**
+     * Writer with the configured row window and flush policy
+     */
+    public static ExcelStreamWriter open(String filePath) {
+        return new ExcelStreamWriter(Paths.get(filePath), ConfigReader.getExcelWriterRowWindow(),
+                ConfigReader.getExcelWriterFlushEvery());
+    }
+
+    /**
+     * Get or create a sheet. The header row is written when the sheet is created.
+     * @param name sheet name (unsafe characters are replaced, long names truncated)
+     * @param columns typed columns, in order
+     * @return writer for the sheet
+     * @throws IllegalArgumentException if the sheet exists with different columns
+     */
+    public SheetWriter sheet(String name, ExcelColumn... columns) {
+        ensureOpen();
+        SheetWriter existing = sheets.get(name);
+        if (existing != null) {
+            if (columns.length > 0 && !existing.columns.equals(Arrays.asList(columns))) {
+                throw new IllegalArgumentException("Sheet already exists with other columns: " + name);
+            }
+            return existing;
+        }
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("A new sheet needs at least one column: " + name);
+        }
+        SheetWriter sheet = new SheetWriter(name, Arrays.asList(columns));
+        sheets.put(name, sheet);
+        return sheet;
+    }
+
+    /**
+     * Push every buffered row of every sheet to the temporary files
+     */
+    public void flush() {
+        ensureOpen();
+        for (SheetWriter sheet : sheets.values()) {
+            sheet.flush();
+        }
+    }
+
+    /**
+     * Write the workbook to its target and delete the temporary files
+     * @throws RuntimeException if the workbook cannot be written
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        Path temp = null;
+        try {
+            Path directory = target.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, "excel", ".tmp");
+            try (OutputStream out = Files.newOutputStream(temp)) {
+                workbook.write(out);
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            long rows = sheets.values().stream().mapToLong(SheetWriter::getRowCount).sum();
+            logger.info("Wrote " + rows + " rows in " + sheets.size() + " sheet(s) to " + target);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to write Excel file: " + target, e);
+        } finally {
+            workbook.dispose();
+            try {
+                workbook.close();
+                if (temp != null) {
+                    Files.deleteIfExists(temp);
+                }
+            } catch (IOException e) {
+                logger.warn("Failed to clean up after writing " + target + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Excel writer already closed: " + target);
+        }
+    }
+
+    private static String safeSheetName(String name) {
+        String safe = name.replaceAll("[\\[\\]:*?/\\\\]", "_");
+        return safe.length() > MAX_SHEET_NAME_LENGTH ? safe.substring(0, MAX_SHEET_NAME_LENGTH) : safe;
+    }
+
+    /**
+     * Appends rows to one logical sheet, continuing in "name (2)", "name (3)"... past the row limit
+     */
+    public final class SheetWriter {
+
+        private final String name;
+        private final List<ExcelColumn> columns;
+        private SXSSFSheet sheet;
+        private int part;
+        private int nextRow;
+        private long rowCount;
+
+        private SheetWriter(String name, List<ExcelColumn> columns) {
+            this.name = name;
+            this.columns = columns;
+            startPart();
+        }
+
+        /**
+         * Append one row; values follow the column order, missing trailing values stay empty
+         * @throws IllegalArgumentException if a value does not fit its column type
+         */
+        public SheetWriter append(Object... values) {
+            ensureOpen();
+            if (values.length > columns.size()) {
+                throw new IllegalArgumentException("Row has " + values.length + " values but sheet " + name
+                        + " has " + columns.size() + " columns");
+            }
+            if (nextRow == MAX_ROWS_PER_SHEET) {
+                startPart();
+            }
+            Row row = sheet.createRow(nextRow++);
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null) {
+                    setValue(row.createCell(i), columns.get(i), values[i]);
+                }
+            }
+            rowCount++;
+            if (flushEvery > 0 && rowCount % flushEvery == 0) {
+                flush();
+            }
+            return this;
+        }
+
+        /**
+         * Data rows appended so far, across all parts
+         */
+        public long getRowCount() {
+            return rowCount;
+        }
+
+        private void flush() {
+            try {
+                sheet.flushRows();
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to flush rows of sheet " + name, e);
+            }
+        }
+
+        private void startPart() {
+            part++;
+            String sheetName = part == 1 ? safeSheetName(name) : safeSheetName(name + " (" + part + ")");
+            if (sheet != null) {
+                flush();
+                logger.debug("Sheet " + name + " reached " + MAX_ROWS_PER_SHEET + " rows, continuing in " + sheetName);
+            }
+            sheet = workbook.createSheet(sheetName);
+            Row header = sheet.createRow(0);
+            for (int i = 0; i < columns.size(); i++) {
+                Cell cell = header.createCell(i);
+                cell.setCellValue(columns.get(i).getName());
+                cell.setCellStyle(headerStyle);
+            }
+            sheet.createFreezePane(0, 1);
+            nextRow = 1;
+        }
+
+        private void setValue(Cell cell, ExcelColumn column, Object value) {
+            switch (column.getType()) {
+                case TEXT:
+                    cell.setCellValue(String.valueOf(value));
+                    return;
+                case INTEGER:
+                case DECIMAL:
+                    if (value instanceof Number) {
+                        cell.setCellValue(((Number) value).doubleValue());
+                        return;
+                    }
+                    break;
+                case BOOLEAN:
+                    if (value instanceof Boolean) {
+                        cell.setCellValue((Boolean) value);
+                        return;
+                    }
+                    break;
+                case DATE_TIME:
+                    LocalDateTime dateTime = toLocalDateTime(value);
+                    if (dateTime != null) {
+                        cell.setCellValue(dateTime);
+                        cell.setCellStyle(dateStyle);
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            throw new IllegalArgumentException("Value " + value + " (" + value.getClass().getSimpleName()
+                    + ") does not fit " + column.getType() + " column " + column.getName() + " of sheet " + name);
+        }
+
+        private LocalDateTime toLocalDateTime(Object value) {
+            if (value instanceof LocalDateTime) {
+                return (LocalDateTime) value;
+            }
+            if (value instanceof LocalDate) {
+                return ((LocalDate) value).atStartOfDay();
+            }
+            if (value instanceof Instant) {
+                return LocalDateTime.ofInstant((Instant) value, ZoneOffset.UTC);
+            }
+            if (value instanceof Date) {
+                return LocalDateTime.ofInstant(((Date) value).toInstant(), ZoneOffset.UTC);
+            }
+            return null;
+        }
+    }
+}
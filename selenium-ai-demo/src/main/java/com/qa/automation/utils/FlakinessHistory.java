@@ -0,0 +1,131 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flakiness score of every test from previous runs, stored in {@code retry.historyFile}.
+ * A test that passed only after a retry counts as flaky (1), one that passed at the first attempt
+ * as stable (0); the score is an exponential moving average of those outcomes between 0 and 1, so
+ * it climbs quickly when a test starts flaking and decays again over stable runs. Tests that fail
+ * every attempt are not counted: they are broken, not flaky.
+ */
+public final class FlakinessHistory {
+
+    private static final Logger logger = LoggerUtil.getLogger(FlakinessHistory.class);
+
+    /**
+     * Weight of the latest run in the moving average
+     */
+    static final double LATEST_WEIGHT = 0.3;
+
+    private static final Map<String, Boolean> currentRun = new ConcurrentHashMap<>();
+    private static volatile Map<String, Double> loaded;
+
+    private FlakinessHistory() {
+    }
+
+    /**
+     * Record the final outcome of a passed test in this run
+     * @param testKey test name, see {@link RetryEngine#testKey(org.testng.ITestResult)}
+     * @param flaky true if it needed a retry to pass
+     */
+    public static void record(String testKey, boolean flaky) {
+        // Several invocations of the same test in one run: a single flaky one marks the test flaky
+        currentRun.merge(testKey, flaky, Boolean::logicalOr);
+    }
+
+    /**
+     * Flakiness score of a test from the history file
+     * @return score between 0 (stable) and 1 (flaky every run), 0 for unknown tests
+     */
+    public static double score(String testKey) {
+        Map<String, Double> scores = loaded;
+        if (scores == null) {
+            synchronized (FlakinessHistory.class) {
+                if (loaded == null) {
+                    loaded = load();
+                }
+                scores = loaded;
+            }
+        }
+        return scores.getOrDefault(testKey, 0.0);
+    }
+
+    /**
+     * Recorded scores keyed by test name
+     * @return scores, empty if there is no history yet or it cannot be read
+     */
+    public static Map<String, Double> load() {
+        Path file = Paths.get(ConfigReader.getRetryHistoryFile());
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            logger.warn("Failed to read flakiness history " + file + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+        Map<String, Double> scores = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            try {
+                scores.put(name, Double.parseDouble(properties.getProperty(name).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid flakiness score of " + name + " in " + file);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * Merge this run's outcomes into the history file and start a new run
+     */
+    public static synchronized void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        Map<String, Double> merged = new TreeMap<>(load());
+        int flaky = 0;
+        for (Map.Entry<String, Boolean> entry : currentRun.entrySet()) {
+            double latest = entry.getValue() ? 1.0 : 0.0;
+            flaky += entry.getValue() ? 1 : 0;
+            merged.merge(entry.getKey(), latest, (previous, run) -> previous * (1 - LATEST_WEIGHT) + run * LATEST_WEIGHT);
+        }
+        currentRun.clear();
+        loaded = merged;
+        Path file = Paths.get(ConfigReader.getRetryHistoryFile()).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "flakiness", ".tmp");
+            try {
+                Properties properties = new Properties();
+                merged.forEach((name, score) -> properties.setProperty(name, String.format(Locale.ROOT, "%.4f", score)));
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    properties.store(writer, "Test flakiness scores: 0 = always passes first time, 1 = always needs a retry");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logger.info("Saved flakiness of " + merged.size() + " tests to " + file + " (" + flaky + " flaky this run)");
+        } catch (IOException e) {
+            logger.warn("Failed to save flakiness history " + file + ": " + e.getMessage());
+        }
+    }
+}
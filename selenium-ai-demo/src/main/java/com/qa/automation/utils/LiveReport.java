@@ -0,0 +1,331 @@
+package com.qa.automation.utils;
+
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * HTML report rendered from a {@link ReportEventLog} and kept current by appending to it. Each render
+ * reads only the events added to the log since the previous render. A finished test's row is
+ * appended to the page once all of its screenshots are stored, and the test is then forgotten. Only
+ * the tests still open are held in memory: running, or finished with screenshots still pending.
+ * <p>
+ * The page is the header and the finished rows, followed by a trailer that is rewritten on every
+ * render: the open tests, the summary (moved above the table by CSS order) and, while the suite runs,
+ * a script that reloads the page. A browser that reloads in the middle of a render may show a cut-off
+ * page until its next reload.
+ */
+final class LiveReport {
+
+    private static final int RELOAD_SECONDS = 5;
+    private static final int READ_BUFFER_BYTES = 64 * 1024;
+
+    private final Path log;
+    private final Path html;
+    private final Json json = new Json();
+    // One render at a time; a render does file I/O, so no monitor is held (see ScenarioOrchestrator)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<String, Entry> open = new LinkedHashMap<>();
+    private long logOffset;
+    private long rowsEnd;
+    private boolean finished;
+    private String suite = "";
+    private int passed;
+    private int failed;
+    private int skipped;
+    private int retried;
+
+    /**
+     * @param log event log to read
+     * @param html page to write; replaced by the first render
+     */
+    LiveReport(Path log, Path html) {
+        this.log = log;
+        this.html = html;
+    }
+
+    /**
+     * Read the events logged since the last render and bring the page up to date. Once the report
+     * has been rendered as finished, further calls do nothing.
+     * @param running whether the suite is still running (adds auto-reload and the tests in flight);
+     *                false renders the final page, including tests whose screenshots never arrived
+     */
+    void render(boolean running) throws IOException {
+        lock.lock();
+        try {
+            if (finished) {
+                return;
+            }
+            StringBuilder rows = new StringBuilder();
+            if (rowsEnd == 0) {
+                header(rows);
+            }
+            readNewEvents(rows, !running);
+            if (!running) {
+                for (Iterator<Entry> entries = open.values().iterator(); entries.hasNext(); ) {
+                    Entry entry = entries.next();
+                    if (entry.status != null) {
+                        writeRow(rows, entry.status, entry);
+                        entries.remove();
+                    }
+                }
+                finished = true;
+            }
+            Files.createDirectories(html.toAbsolutePath().getParent());
+            try (FileChannel page = FileChannel.open(html, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                page.position(rowsEnd);
+                write(page, rows);
+                rowsEnd = page.position();
+                write(page, trailer(running));
+                page.truncate(page.position());
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Apply every complete line past the last render's offset. A line still being written is left for
+     * the next render, unless this is the last one.
+     */
+    private void readNewEvents(StringBuilder rows, boolean last) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream();
+        try (FileChannel in = FileChannel.open(log, StandardOpenOption.READ)) {
+            in.position(logOffset);
+            ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+            long position = logOffset;
+            while (in.read(buffer) > 0) {
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    byte b = buffer.get();
+                    position++;
+                    if (b == '\n') {
+                        apply(line.toString(StandardCharsets.UTF_8), rows);
+                        line.reset();
+                        logOffset = position;
+                    } else {
+                        line.write(b);
+                    }
+                }
+                buffer.clear();
+            }
+        }
+        if (last && line.size() > 0) {
+            apply(line.toString(StandardCharsets.UTF_8), rows);
+        }
+    }
+
+    private void apply(String line, StringBuilder rows) {
+        Map<String, Object> event = parse(line);
+        if (event == null) {
+            return;
+        }
+        String type = text(event.get("event"));
+        String id = text(event.get("id"));
+        if ("suite-start".equals(type)) {
+            suite = text(event.get("name"));
+            return;
+        }
+        if ("test-start".equals(type)) {
+            open.put(id, new Entry(text(event.get("name")), text(event.get("class"))));
+            return;
+        }
+        Entry entry = open.get(id);
+        if (entry == null) {
+            if (!"test-end".equals(type)) {
+                // Events of a test that is no longer open, or was never started in this log
+                return;
+            }
+            entry = new Entry("", "");
+            open.put(id, entry);
+        }
+        switch (type) {
+            case "log":
+                entry.logs.add(new String[]{text(event.get("status")), text(event.get("details"))});
+                break;
+            case "screenshot-queued":
+                entry.queued++;
+                break;
+            case "screenshot":
+                entry.shots.add(new String[]{text(event.get("path")), text(event.get("title"))});
+                entry.stored++;
+                break;
+            case "screenshot-missing":
+                entry.shots.add(new String[]{null, text(event.get("title"))});
+                entry.stored++;
+                break;
+            case "test-end":
+                entry.status = text(event.get("status"));
+                entry.millis = event.get("millis");
+                entry.error = text(event.get("error"));
+                passed += "PASS".equals(entry.status) ? 1 : 0;
+                failed += "FAIL".equals(entry.status) ? 1 : 0;
+                skipped += "SKIP".equals(entry.status) ? 1 : 0;
+                retried += "RETRY".equals(entry.status) ? 1 : 0;
+                break;
+            default:
+                return;
+        }
+        if (entry.status != null && entry.stored >= entry.queued) {
+            writeRow(rows, entry.status, entry);
+            open.remove(id);
+        }
+    }
+
+    private void header(StringBuilder out) {
+        out.append("<!DOCTYPE html><html><head><meta charset='utf-8'><title>Live report</title><style>")
+                .append("body{font-family:sans-serif;margin:2em;display:flex;flex-direction:column}")
+                .append("h1{order:-2}#summary{order:-1}table{border-collapse:collapse;width:100%}")
+                .append("td,th{border:1px solid #ccc;padding:4px 8px;text-align:left;vertical-align:top}")
+                .append(".PASS{color:#2e7d32}.FAIL{color:#c62828}.SKIP{color:#f9a825}.RETRY{color:#6a1b9a}")
+                .append(".RUNNING{color:#1565c0}.WARNING{color:#ef6c00}")
+                .append("</style></head><body>")
+                .append("<table><tr><th>Status</th><th>Test</th><th>Class</th><th>Duration</th><th>Error</th>")
+                .append("<th>Log</th><th>Screenshots</th></tr>");
+    }
+
+    private StringBuilder trailer(boolean running) {
+        StringBuilder out = new StringBuilder();
+        int inFlight = 0;
+        for (Entry entry : open.values()) {
+            if (entry.status == null) {
+                inFlight++;
+                if (running) {
+                    writeRow(out, "RUNNING", entry);
+                }
+            } else {
+                // Finished, still waiting for screenshots
+                writeRow(out, entry.status, entry);
+            }
+        }
+        out.append("</table>");
+        out.append("<h1>").append(escape(suite)).append(running ? " (running)" : "").append("</h1>");
+        out.append("<p id='summary'>Passed: ").append(passed).append(" &middot; Failed: ").append(failed)
+                .append(" &middot; Skipped: ").append(skipped).append(" &middot; Retried: ").append(retried)
+                .append(running ? " &middot; Running: " + inFlight : "")
+                .append(" &middot; Updated: ").append(escape(Instant.now().toString())).append("</p>");
+        if (running) {
+            out.append("<script>setTimeout(function(){location.reload();},").append(RELOAD_SECONDS * 1000)
+                    .append(");</script>");
+        }
+        return out.append("</body></html>");
+    }
+
+    /**
+     * One table row. Log details are written as HTML, as the Extent report shows them.
+     */
+    private static void writeRow(StringBuilder row, String status, Entry entry) {
+        row.append("<tr><td class='").append(escape(status)).append("'>").append(escape(status))
+                .append("</td><td>").append(escape(entry.name))
+                .append("</td><td>").append(escape(entry.className))
+                .append("</td><td>").append(entry.millis instanceof Number ? ((Number) entry.millis).longValue() + " ms" : "")
+                .append("</td><td>").append(escape(entry.error)).append("</td><td>");
+        for (String[] logged : entry.logs) {
+            row.append("<span class='").append(escape(logged[0])).append("'>").append(escape(logged[0]))
+                    .append("</span> ").append(logged[1]).append("<br/>");
+        }
+        row.append("</td><td>");
+        for (String[] shot : entry.shots) {
+            if (shot[0] == null) {
+                row.append(escape(shot[1])).append(" (not available)<br/>");
+            } else if (shot[0].isEmpty()) {
+                row.append(escape(shot[1])).append(" (embedded in the Extent report)<br/>");
+            } else {
+                row.append("<a href='").append(escape(shot[0])).append("' target='_blank'>")
+                        .append(escape(shot[1])).append("</a><br/>");
+            }
+        }
+        row.append("</td></tr>");
+    }
+
+    private static void write(FileChannel page, CharSequence text) throws IOException {
+        ByteBuffer bytes = StandardCharsets.UTF_8.encode(text.toString());
+        while (bytes.hasRemaining()) {
+            page.write(bytes);
+        }
+    }
+
+    private Map<String, Object> parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return json.toType(line.strip(), Json.MAP_TYPE);
+        } catch (JsonException e) {
+            // The last line of a crashed run may be cut off
+            return null;
+        }
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString();
+    }
+
+    /**
+     * Escape text for HTML element content and quoted attribute values
+     */
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder escaped = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '<':
+                    escaped.append("&lt;");
+                    break;
+                case '>':
+                    escaped.append("&gt;");
+                    break;
+                case '&':
+                    escaped.append("&amp;");
+                    break;
+                case '\'':
+                    escaped.append("&#39;");
+                    break;
+                case '"':
+                    escaped.append("&quot;");
+                    break;
+                default:
+                    escaped.append(c);
+            }
+        }
+        return escaped.toString();
+    }
+
+    /**
+     * A test that is running or waiting for screenshots
+     */
+    private static final class Entry {
+        private final String name;
+        private final String className;
+        private final List<String[]> logs = new ArrayList<>();
+        private final List<String[]> shots = new ArrayList<>();
+        private int queued;
+        private int stored;
+        private String status;
+        private Object millis;
+        private String error;
+
+        private Entry(String name, String className) {
+            this.name = name;
+            this.className = className;
+        }
+    }
+}
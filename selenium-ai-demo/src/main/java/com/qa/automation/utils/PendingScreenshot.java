@@ -0,0 +1,66 @@
+package com.qa.automation.utils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Handle to a screenshot whose pixels were grabbed on the test thread but whose encoding,
+ * compression and disk write are still running on the screenshot workers.
+ * The report layer resolves the handle when it flushes, so tests never wait for it.
+ */
+public final class PendingScreenshot {
+
+    private static final PendingScreenshot UNAVAILABLE = new PendingScreenshot(CompletableFuture.completedFuture(null), false);
+
+    private final CompletableFuture<String> future;
+    private final boolean fileReference;
+
+    PendingScreenshot(CompletableFuture<String> future, boolean fileReference) {
+        this.future = future;
+        this.fileReference = fileReference;
+    }
+
+    /**
+     * Handle for a screenshot that could not be taken
+     */
+    static PendingScreenshot unavailable() {
+        return UNAVAILABLE;
+    }
+
+    /**
+     * Check whether the background work has finished
+     */
+    public boolean isDone() {
+        return future.isDone();
+    }
+
+    /**
+     * Check whether the handle resolves to a file path rather than a Base64 image
+     */
+    public boolean isFileReference() {
+        return fileReference;
+    }
+
+    /**
+     * Wait for the background work to finish
+     * @param timeout maximum time to wait
+     * @return file path when {@link #isFileReference()} is true, Base64 image otherwise; null if the capture failed
+     */
+    public String resolve(Duration timeout) {
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException | TimeoutException e) {
+            return null;
+        }
+    }
+
+    CompletableFuture<String> future() {
+        return future;
+    }
+}
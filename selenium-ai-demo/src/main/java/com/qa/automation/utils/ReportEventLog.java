@@ -0,0 +1,322 @@
+package com.qa.automation.utils;
+
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.model.Log;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Append-only log of report events, one JSON object per line, written as tests run. Every event is
+ * flushed to disk as soon as it happens, so a crashed or killed run still leaves a readable record
+ * of every test that finished, including the entries it logged to its Extent test. Nothing per test
+ * is kept in memory once the test has completed.
+ * <p>
+ * {@link #renderLive()} brings the HTML report next to the log ({@code live-report.html}) up to
+ * date, appending what was logged since the last render (see {@link LiveReport}); the page reloads
+ * itself while the suite runs. Unless {@code report.keepFinishedTests} is set, this is the report of
+ * the run and finished tests are dropped from the Extent model. After a crash, render the log by hand:
+ * <pre>
+ * java -cp ... com.qa.automation.utils.ReportEventLog test-output/HtmlReport/events.jsonl report.html
+ * </pre>
+ */
+public final class ReportEventLog {
+
+    private static final Logger logger = LoggerUtil.getLogger(ReportEventLog.class);
+    private static final String LIVE_REPORT_NAME = "live-report.html";
+    private static final int LIVE_REFRESH_SECONDS = 5;
+
+    private static final Map<ExtentTest, String> inFlight = new ConcurrentHashMap<>();
+    // Guards the writer and the live report. Events are written from every scenario's virtual thread
+    // in virtual mode, so this is a lock rather than a monitor (see ScenarioOrchestrator)
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static BufferedWriter writer;
+    private static LiveReport liveReport;
+
+    private ReportEventLog() {
+    }
+
+    /**
+     * Record the start of the suite
+     */
+    public static void suiteStarted(String name) {
+        Map<String, Object> event = event("suite-start");
+        event.put("name", name);
+        append(event);
+    }
+
+    /**
+     * Record the end of the suite, close the log and render the final report. The next suite in the
+     * same JVM starts a new log.
+     */
+    public static void suiteFinished(String name) {
+        Map<String, Object> event = event("suite-end");
+        event.put("name", name);
+        append(event);
+        LiveReport report;
+        lock.lock();
+        try {
+            report = liveReport;
+            liveReport = null;
+            if (writer != null) {
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close report event log: " + e.getMessage());
+                }
+                writer = null;
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (report != null) {
+            try {
+                report.render(false);
+            } catch (IOException e) {
+                logger.warn("Failed to render final report from " + getLogFile() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Record the start of a test
+     * @param id unique invocation id
+     * @param test its report entry, used to tie later screenshots to the test
+     */
+    public static void testStarted(String id, ExtentTest test, String name, String className) {
+        if (test != null) {
+            inFlight.put(test, id);
+        }
+        Map<String, Object> event = event("test-start");
+        event.put("id", id);
+        event.put("name", name);
+        event.put("class", className);
+        append(event);
+    }
+
+    /**
+     * Record the outcome of a test, preceded by the entries logged to its Extent test
+     * @param status PASS, FAIL, SKIP, or RETRY for an attempt that is run again
+     * @param durationMillis time the test took
+     * @param error failure message, or null
+     */
+    public static void testFinished(String id, ExtentTest test, String status, long durationMillis, String error) {
+        if (test != null) {
+            inFlight.remove(test);
+            for (Log entry : new ArrayList<>(test.getModel().getLogs())) {
+                if (entry.getDetails() != null) {
+                    Map<String, Object> logged = event("log");
+                    logged.put("id", id);
+                    logged.put("status", String.valueOf(entry.getStatus()));
+                    logged.put("details", entry.getDetails());
+                    append(logged);
+                }
+            }
+        }
+        Map<String, Object> event = event("test-end");
+        event.put("id", id);
+        event.put("status", status);
+        event.put("millis", durationMillis);
+        if (error != null) {
+            event.put("error", error);
+        }
+        append(event);
+    }
+
+    /**
+     * Invocation id of a running test's report entry, or null if it is not running
+     */
+    static String idOf(ExtentTest test) {
+        return test == null ? null : inFlight.get(test);
+    }
+
+    /**
+     * Record that a screenshot of a test is being processed; the test's report row waits for it
+     * @param id invocation id of the test, ignored if null
+     */
+    static void screenshotQueued(String id) {
+        if (id == null) {
+            return;
+        }
+        Map<String, Object> event = event("screenshot-queued");
+        event.put("id", id);
+        append(event);
+    }
+
+    /**
+     * Record a screenshot that has been stored
+     * @param id invocation id of the test, ignored if null
+     * @param path location relative to the report directory, or null if the image is embedded
+     */
+    static void screenshot(String id, String path, String title) {
+        if (id == null) {
+            return;
+        }
+        Map<String, Object> event = event("screenshot");
+        event.put("id", id);
+        event.put("title", title);
+        if (path != null) {
+            event.put("path", path);
+        }
+        append(event);
+    }
+
+    /**
+     * Record a queued screenshot that could not be stored
+     * @param id invocation id of the test, ignored if null
+     */
+    static void screenshotMissing(String id, String title) {
+        if (id == null) {
+            return;
+        }
+        Map<String, Object> event = event("screenshot-missing");
+        event.put("id", id);
+        event.put("title", title);
+        append(event);
+    }
+
+    /**
+     * Path of the event log, configured by {@code report.eventLog}
+     */
+    public static Path getLogFile() {
+        return Paths.get(ConfigReader.getReportEventLog());
+    }
+
+    /**
+     * Path of the live HTML report, next to the event log
+     */
+    public static Path getLiveReportFile() {
+        Path log = getLogFile().toAbsolutePath();
+        return log.resolveSibling(LIVE_REPORT_NAME);
+    }
+
+    /**
+     * Append what was logged since the last render to the live HTML report. Does nothing before the
+     * suite starts or after it finished.
+     */
+    public static void renderLive() {
+        LiveReport report;
+        lock.lock();
+        try {
+            report = liveReport;
+        } finally {
+            lock.unlock();
+        }
+        if (report == null) {
+            return;
+        }
+        try {
+            report.render(true);
+        } catch (IOException e) {
+            logger.warn("Failed to render live report from " + getLogFile() + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Render an HTML report from an event log, e.g. one left behind by a crashed run
+     * @param args event log path and output HTML path
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            throw new IllegalArgumentException("Usage: ReportEventLog <events.jsonl> <report.html>");
+        }
+        new LiveReport(Paths.get(args[0]), Paths.get(args[1])).render(false);
+    }
+
+    private static Map<String, Object> event(String type) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("time", Instant.now().toString());
+        event.put("event", type);
+        return event;
+    }
+
+    /**
+     * Write one event as a line and push it to disk. The log is truncated when the first event of
+     * the suite is written, and its live report starts over.
+     */
+    private static void append(Map<String, Object> event) {
+        lock.lock();
+        try {
+            if (writer == null) {
+                Path log = getLogFile();
+                Files.createDirectories(log.toAbsolutePath().getParent());
+                writer = Files.newBufferedWriter(log, StandardCharsets.UTF_8, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+                liveReport = new LiveReport(log, getLiveReportFile());
+                logger.info("Writing report events to " + log + ", live report: " + getLiveReportFile());
+            }
+            writer.write(toJson(event));
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to write report event: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Single-line JSON of a flat map of strings and numbers
+     */
+    static String toJson(Map<String, Object> event) {
+        StringBuilder json = new StringBuilder("{");
+        for (Map.Entry<String, Object> entry : event.entrySet()) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            quote(json, entry.getKey());
+            json.append(':');
+            Object value = entry.getValue();
+            if (value instanceof Number) {
+                json.append(value);
+            } else {
+                quote(json, String.valueOf(value));
+            }
+        }
+        return json.append('}').toString();
+    }
+
+    private static void quote(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+            }
+        }
+        json.append('"');
+    }
+}
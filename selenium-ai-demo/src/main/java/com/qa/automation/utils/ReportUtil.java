@@ -1,52 +1,80 @@
 package com.qa.automation.utils;
 
 import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
 import com.aventstack.extentreports.reporter.ExtentSparkReporter;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Utility class for managing Extent Reports with custom naming convention.
- * Report naming format: ProjectName_DD-MM-YYYY_hh:mm:ss
+ * Report naming format: ProjectName_DD-MM-YYYY_hh-mm-ss, named after the run (see {@link RunClock})
+ * The live report rendered from the {@link ReportEventLog} is updated incrementally while tests run
+ * (see {@link #flushIncremental()}). Finished tests are dropped from the Extent model, so memory is
+ * bounded by the tests in flight; with {@code report.keepFinishedTests} they are kept and the Spark
+ * report is written as well.
  */
 public class ReportUtil {
 
     private static final String PROJECT_NAME = "Selenium_ai_demo";
     private static final String REPORT_DIRECTORY = "test-output/HtmlReport";
-    private static final String DATE_TIME_FORMAT = "dd-MM-yyyy_HH:mm:ss";
+    private static final Duration SCREENSHOT_RESOLVE_TIMEOUT = Duration.ofSeconds(30);
     
     private static ExtentReports extent;
     private static ExtentSparkReporter sparkReporter;
+    private static boolean keepFinishedTests;
     private static final Logger logger = LoggerUtil.getLogger(ReportUtil.class);
 
+    // Screenshots still being encoded in the background, attached when the report is flushed
+    private static final Queue<PendingAttachment> pendingScreenshots = new ConcurrentLinkedQueue<>();
+
+    // One flush at a time; incremental flushes are skipped while another one is running
+    private static final ReentrantLock flushLock = new ReentrantLock();
+    private static volatile long lastFlushNanos = System.nanoTime();
+    private static ScheduledExecutorService periodicFlusher;
+    private static int flushIntervalSeconds;
+    private static boolean flushIntervalWatched;
+
     /**
      * Initialize Extent Reports with custom naming convention
      * @return ExtentReports instance
      */
     public static ExtentReports initializeReport() {
-        String timeStamp = getFormattedDateTime();
-        String reportName = PROJECT_NAME + "_" + timeStamp + ".html";
-        String reportPath = REPORT_DIRECTORY + File.separator + reportName;
+        String timeStamp = RunClock.getRunId();
+        String reportPath = getReportPath();
 
         // Create directory if it doesn't exist
         createReportDirectory();
 
-        sparkReporter = new ExtentSparkReporter(reportPath);
-        sparkReporter.config().setReportName(PROJECT_NAME + " - Test Execution Report");
-        sparkReporter.config().setDocumentTitle("Selenium AI Demo - Automation Report");
-        sparkReporter.config().setTheme(com.aventstack.extentreports.reporter.configuration.Theme.DARK);
-
         extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
+        keepFinishedTests = ConfigReader.isReportKeepFinishedTests();
+        if (keepFinishedTests) {
+            sparkReporter = new ExtentSparkReporter(reportPath);
+            sparkReporter.config().setReportName(PROJECT_NAME + " - Test Execution Report");
+            sparkReporter.config().setDocumentTitle("Selenium AI Demo - Automation Report");
+            sparkReporter.config().setTheme(com.aventstack.extentreports.reporter.configuration.Theme.DARK);
+            extent.attachReporter(sparkReporter);
+        }
         extent.setSystemInfo("Project Name", PROJECT_NAME);
         extent.setSystemInfo("Environment", ConfigReader.getEnvironment());
         extent.setSystemInfo("Browser", ConfigReader.getBrowser());
         extent.setSystemInfo("Report Generated", timeStamp);
 
-        logger.info("Report initialized: " + reportPath);
+        logger.info("Report initialized: " + (keepFinishedTests ? reportPath + " and " : "")
+                + ReportEventLog.getLiveReportFile());
+        startPeriodicFlush();
         return extent;
     }
 
@@ -61,23 +89,175 @@ public class ReportUtil {
         return extent;
     }
 
+    /**
+     * Attach a screenshot that is still being processed to a test. The screenshot is
+     * resolved and embedded when the report is flushed, so the test thread never waits for it.
+     * @param test  ExtentTest the screenshot belongs to
+     * @param shot  handle returned by {@link ScreenshotUtil#captureScreenshotAsync(org.openqa.selenium.WebDriver)}
+     * @param title screenshot title shown in the report
+     */
+    public static void attachScreenshot(ExtentTest test, PendingScreenshot shot, String title) {
+        if (test != null && shot != null) {
+            String testId = ReportEventLog.idOf(test);
+            ReportEventLog.screenshotQueued(testId);
+            pendingScreenshots.add(new PendingAttachment(test, testId, shot, title));
+        }
+    }
+
+    /**
+     * Drop a finished test from the Extent model once the report event log holds it, unless
+     * {@code report.keepFinishedTests} is set. Screenshots still queued for it are logged as usual.
+     */
+    public static void releaseFinished(ExtentTest test) {
+        if (extent != null && test != null && !keepFinishedTests) {
+            extent.removeTest(test);
+        }
+    }
+
     /**
      * Flush and close the report
      */
     public static void flushReport() {
         if (extent != null) {
-            extent.flush();
+            flushLock.lock();
+            try {
+                attachPendingScreenshots(false);
+                ScreenshotUtil.awaitPending(SCREENSHOT_RESOLVE_TIMEOUT);
+                flushExtent();
+                lastFlushNanos = System.nanoTime();
+            } finally {
+                flushLock.unlock();
+            }
+            ReportEventLog.renderLive();
             logger.info("Report flushed and closed successfully");
         }
     }
 
     /**
-     * Get formatted date-time string
-     * @return Formatted date-time string (DD-MM-YYYY_hh:mm:ss)
+     * Write what is ready so far: attach screenshots that have finished processing, flush the
+     * Spark report if it is kept and append to the live report. Called after every test and on a
+     * timer; does nothing if the last flush was less than {@code report.flushIntervalSeconds} ago or
+     * one is running.
+     */
+    public static void flushIncremental() {
+        long interval = TimeUnit.SECONDS.toNanos(ConfigReader.getReportFlushInterval());
+        if (extent == null || System.nanoTime() - lastFlushNanos < interval || !flushLock.tryLock()) {
+            return;
+        }
+        try {
+            attachPendingScreenshots(true);
+            flushExtent();
+            lastFlushNanos = System.nanoTime();
+        } catch (RuntimeException e) {
+            logger.warn("Incremental report flush failed: " + e.getMessage());
+        } finally {
+            flushLock.unlock();
+        }
+        ReportEventLog.renderLive();
+    }
+
+    /**
+     * Resolve queued screenshots and embed them in their tests
+     * @param readyOnly only take screenshots whose background work has finished, leaving the rest queued
+     */
+    private static void attachPendingScreenshots(boolean readyOnly) {
+        for (int remaining = pendingScreenshots.size(); remaining > 0; remaining--) {
+            PendingAttachment attachment = pendingScreenshots.poll();
+            if (attachment == null) {
+                return;
+            }
+            if (readyOnly && !attachment.shot.isDone()) {
+                pendingScreenshots.add(attachment);
+                continue;
+            }
+            String resolved = attachment.shot.resolve(SCREENSHOT_RESOLVE_TIMEOUT);
+            if (resolved == null) {
+                logger.warn("Screenshot not available for report: " + attachment.title);
+                ReportEventLog.screenshotMissing(attachment.testId, attachment.title);
+            } else if (attachment.shot.isFileReference()) {
+                attachScreenshotFile(attachment.test, resolved, attachment.title);
+                String path = relativeToReport(resolved);
+                ReportEventLog.screenshot(attachment.testId, path, attachment.title);
+                ResultsStore.recordScreenshot(attachment.testId, attachment.title, path);
+            } else {
+                attachment.test.addScreenCaptureFromBase64String(resolved, attachment.title);
+                ReportEventLog.screenshot(attachment.testId, null, attachment.title);
+                ResultsStore.recordScreenshot(attachment.testId, attachment.title, null);
+            }
+        }
+    }
+
+    /**
+     * Write the Spark report; every flush rewrites the whole file, so only when finished tests are kept
+     */
+    private static void flushExtent() {
+        if (keepFinishedTests) {
+            extent.flush();
+        }
+    }
+
+    /**
+     * Flush on a timer as well, so the report stays current during long tests. A reloaded
+     * configuration with a different {@code report.flushIntervalSeconds} reschedules the timer.
+     */
+    private static synchronized void startPeriodicFlush() {
+        if (!flushIntervalWatched) {
+            flushIntervalWatched = true;
+            ConfigReader.addReloadListener(snapshot -> schedulePeriodicFlush(snapshot.reportFlushIntervalSeconds()));
+        }
+        schedulePeriodicFlush(ConfigReader.getReportFlushInterval());
+    }
+
+    private static synchronized void schedulePeriodicFlush(int interval) {
+        if (periodicFlusher != null) {
+            if (interval == flushIntervalSeconds) {
+                return;
+            }
+            // A flush in progress completes; only the pending runs are cancelled
+            periodicFlusher.shutdown();
+            periodicFlusher = null;
+        }
+        flushIntervalSeconds = interval;
+        if (interval <= 0) {
+            return;
+        }
+        periodicFlusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "report-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        periodicFlusher.scheduleWithFixedDelay(ReportUtil::flushIncremental, interval, interval, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Link a stored screenshot by its path relative to the report, so the HTML stays small.
+     * When a thumbnail exists the report shows it and links to the full-size image; the log entry is
+     * HTML, so the title (often Cucumber step text) and paths are escaped.
+     */
+    private static void attachScreenshotFile(ExtentTest test, String screenshotPath, String title) {
+        String imagePath = relativeToReport(screenshotPath);
+        Path thumbnail = Paths.get(ScreenshotUtil.thumbnailPathFor(screenshotPath));
+        if (ConfigReader.getScreenshotThumbnailWidth() > 0 && Files.exists(thumbnail)) {
+            String escapedTitle = LiveReport.escape(title);
+            test.log(Status.INFO, "<a href='" + LiveReport.escape(imagePath) + "' target='_blank'><img src='"
+                    + LiveReport.escape(relativeToReport(thumbnail.toString())) + "' alt='" + escapedTitle
+                    + "'/></a><br/>" + escapedTitle);
+        } else {
+            test.addScreenCaptureFromPath(imagePath, title);
+        }
+    }
+
+    private static String relativeToReport(String path) {
+        Path reportDir = Paths.get(REPORT_DIRECTORY).toAbsolutePath();
+        return reportDir.relativize(Paths.get(path).toAbsolutePath()).toString().replace(File.separatorChar, '/');
+    }
+
+    /**
+     * Get formatted date-time string, safe to use in file names
+     * @return Formatted date-time string (DD-MM-YYYY_hh-mm-ss)
      */
     public static String getFormattedDateTime() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_TIME_FORMAT);
-        return dateFormat.format(new Date());
+        return RunClock.now().format(RunClock.FILE_DATE_TIME);
     }
 
     /**
@@ -85,8 +265,7 @@ public class ReportUtil {
      * @return Formatted date string (DD-MM-YYYY)
      */
     public static String getFormattedDate() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("dd-MM-yyyy");
-        return dateFormat.format(new Date());
+        return RunClock.now().format(RunClock.DATE);
     }
 
     /**
@@ -94,8 +273,7 @@ public class ReportUtil {
      * @return Formatted time string (hh:mm:ss)
      */
     public static String getFormattedTime() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat("HH:mm:ss");
-        return dateFormat.format(new Date());
+        return RunClock.now().format(RunClock.TIME);
     }
 
     /**
@@ -113,12 +291,28 @@ public class ReportUtil {
     }
 
     /**
-     * Get the report path with timestamp
+     * Get the path of this run's Spark report, written with {@code report.keepFinishedTests}; the
+     * same on every call
      * @return Full path to the report file
      */
     public static String getReportPath() {
-        String timeStamp = getFormattedDateTime();
-        String reportName = PROJECT_NAME + "_" + timeStamp + ".html";
-        return REPORT_DIRECTORY + File.separator + reportName;
+        return REPORT_DIRECTORY + File.separator + PROJECT_NAME + "_" + RunClock.getRunId() + ".html";
+    }
+
+    /**
+     * A screenshot waiting to be embedded in a test at flush time
+     */
+    private static final class PendingAttachment {
+        private final ExtentTest test;
+        private final String testId;
+        private final PendingScreenshot shot;
+        private final String title;
+
+        private PendingAttachment(ExtentTest test, String testId, PendingScreenshot shot, String title) {
+            this.test = test;
+            this.testId = testId;
+            this.shot = shot;
+            this.title = title;
+        }
     }
 }
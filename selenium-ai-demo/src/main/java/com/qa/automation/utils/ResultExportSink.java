@@ -0,0 +1,128 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Exports one row per finished test to the Excel file configured by {@code report.excelResults}.
+ * Rows are streamed through {@link ExcelStreamWriter} as results arrive, so memory use does not
+ * grow with the number of tests; the file is written when the suite finishes.
+ * Results may be recorded from parallel test threads.
+ */
+public final class ResultExportSink {
+
+    private static final Logger logger = LoggerUtil.getLogger(ResultExportSink.class);
+    private static final String RESULTS_SHEET = "Results";
+    private static final String SUMMARY_SHEET = "Summary";
+    private static final int MAX_ERROR_LENGTH = 32_000;
+
+    private static final ExcelColumn[] RESULT_COLUMNS = {
+            ExcelColumn.text("Test"),
+            ExcelColumn.text("Class"),
+            ExcelColumn.text("Method"),
+            ExcelColumn.text("Parameters"),
+            ExcelColumn.text("Status"),
+            ExcelColumn.dateTime("Start"),
+            ExcelColumn.dateTime("End"),
+            ExcelColumn.integer("Duration (ms)"),
+            ExcelColumn.text("Thread"),
+            ExcelColumn.text("Error")
+    };
+
+    // Guards the writer, which streams rows to disk; a lock rather than a monitor so a virtual thread
+    // recording a result does not pin its carrier (see ScenarioOrchestrator)
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static ExcelStreamWriter writer;
+    private static final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+
+    private enum Outcome { PASS, FAIL, SKIP }
+
+    private ResultExportSink() {
+    }
+
+    /**
+     * Append a finished test; does nothing when the export is disabled
+     */
+    public static void record(ITestResult result) {
+        String path = ConfigReader.getResultExportPath();
+        if (path.isEmpty()) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (writer == null) {
+                writer = ExcelStreamWriter.open(path);
+                counts.clear();
+            }
+            Outcome outcome = outcomeOf(result);
+            counts.merge(outcome, 1, Integer::sum);
+            Throwable error = result.getThrowable();
+            String message = error == null ? null : String.valueOf(error);
+            if (message != null && message.length() > MAX_ERROR_LENGTH) {
+                message = message.substring(0, MAX_ERROR_LENGTH);
+            }
+            writer.sheet(RESULTS_SHEET, RESULT_COLUMNS).append(
+                    result.getMethod().getQualifiedName(),
+                    result.getTestClass().getName(),
+                    result.getMethod().getMethodName(),
+                    result.getParameters() == null || result.getParameters().length == 0 ? null : Arrays.toString(result.getParameters()),
+                    outcome.name(),
+                    toDateTime(result.getStartMillis()),
+                    toDateTime(result.getEndMillis()),
+                    result.getEndMillis() - result.getStartMillis(),
+                    Thread.currentThread().getName(),
+                    message);
+        } catch (RuntimeException e) {
+            // The export must never fail a test
+            logger.warn("Failed to export result of " + result.getName() + " to Excel: " + e.getMessage());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Write the summary sheet and the workbook; a later result starts a new file
+     */
+    public static void close() {
+        lock.lock();
+        try {
+            if (writer == null) {
+                return;
+            }
+            ExcelStreamWriter.SheetWriter summary = writer.sheet(SUMMARY_SHEET,
+                    ExcelColumn.text("Status"), ExcelColumn.integer("Tests"));
+            for (Outcome outcome : Outcome.values()) {
+                summary.append(outcome.name(), counts.getOrDefault(outcome, 0));
+            }
+            writer.close();
+        } catch (RuntimeException e) {
+            logger.warn("Failed to write Excel results: " + e.getMessage());
+        } finally {
+            writer = null;
+            lock.unlock();
+        }
+    }
+
+    private static Outcome outcomeOf(ITestResult result) {
+        switch (result.getStatus()) {
+            case ITestResult.SUCCESS:
+                return Outcome.PASS;
+            case ITestResult.SKIP:
+                return Outcome.SKIP;
+            default:
+                return Outcome.FAIL;
+        }
+    }
+
+    private static LocalDateTime toDateTime(long epochMillis) {
+        return epochMillis <= 0 ? null : LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+}
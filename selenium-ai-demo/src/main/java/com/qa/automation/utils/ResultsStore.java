@@ -0,0 +1,763 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.zip.CRC32;
+
+/**
+ * Machine-readable history of every run in one append-only binary file ({@code results.store}):
+ * test outcomes with their attempt number and failure category, Cucumber step timings and stored
+ * screenshots, each tied to a run record carrying the environment and browser. The file is never
+ * rewritten, so it grows across runs and trends over thousands of runs are read with one sequential
+ * scan instead of re-parsing the HTML, JSON and Excel reports.
+ * <p>
+ * Records are written from parallel test threads as results arrive, each with a single write to
+ * the file, so a killed run loses at most the record being written. A torn last record is cut off
+ * before the next run appends; readers stop at it. Forked JVMs sharing the file take a file lock
+ * per record.
+ * <p>
+ * File layout (big-endian):
+ * <pre>
+ * magic "RSTR", version
+ * per record: length, body (length bytes), CRC-32 of the body, length again
+ * RUN body:    type 1, runId, startMillis, environment, browser, execution ("local" or Grid URL)
+ * RESULT body: type 2, runId, kind, name, test, outcome, attempt, startMillis, durationMillis,
+ *              category, detail
+ * </pre>
+ * Strings are modified UTF-8 with a two-byte length ({@link DataOutputStream#writeUTF(String)}).
+ * For a TEST the name is the test key (see {@link RetryEngine#testKey(org.testng.ITestResult)}) and
+ * the test is the invocation id; a STEP has the step name and its scenario; a SCREENSHOT has its
+ * title, the invocation id and the image path as detail.
+ * <p>
+ * Query a store from the command line:
+ * <pre>
+ * java -cp ... com.qa.automation.utils.ResultsStore test-output/history/results.bin 50
+ * </pre>
+ */
+public final class ResultsStore {
+
+    private static final Logger logger = LoggerUtil.getLogger(ResultsStore.class);
+
+    private static final int MAGIC = 0x52535452;
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = 8;
+    private static final int FRAME_OVERHEAD = 12;
+    private static final int MAX_RECORD_LENGTH = 1 << 20;
+    private static final int MAX_TEXT_LENGTH = 2_000;
+
+    private static final byte RUN = 1;
+    private static final byte RESULT = 2;
+
+    /**
+     * What a result record describes
+     */
+    public enum Kind { TEST, STEP, SCREENSHOT }
+
+    /**
+     * Outcome of a test or step; RETRY marks an attempt that was run again
+     */
+    public enum Outcome { PASS, FAIL, SKIP, RETRY }
+
+    // Guards the channel. Steps are recorded from every scenario's virtual thread in virtual mode, and
+    // a virtual thread blocked on a monitor pins its carrier (see ScenarioOrchestrator)
+    private static final ReentrantLock lock = new ReentrantLock();
+    private static FileChannel channel;
+    private static Path openedFile;
+    private static long runId;
+    private static boolean unavailable;
+
+    private ResultsStore() {
+    }
+
+    /**
+     * Record the outcome of a test attempt
+     * @param testKey test name including its parameters
+     * @param invocationId id of the attempt in the reports
+     * @param category failure category, or null
+     * @param error failure message, or null
+     */
+    public static void recordTest(String testKey, String invocationId, Outcome outcome, int attempt,
+                                  long startMillis, long durationMillis, String category, String error) {
+        append(Kind.TEST, testKey, invocationId, outcome, attempt, startMillis, durationMillis, category, error);
+    }
+
+    /**
+     * Record a finished Cucumber step
+     * @param scenario name of the scenario the step belongs to
+     */
+    public static void recordStep(String scenario, String step, Outcome outcome, int attempt,
+                                  long startMillis, long durationMillis) {
+        append(Kind.STEP, step, scenario, outcome, attempt, startMillis, durationMillis, null, null);
+    }
+
+    /**
+     * Record a screenshot stored in the report
+     * @param invocationId id of the test it belongs to, ignored if null
+     * @param path location relative to the report directory, or null if the image is embedded
+     */
+    public static void recordScreenshot(String invocationId, String title, String path) {
+        if (invocationId != null) {
+            append(Kind.SCREENSHOT, title, invocationId, Outcome.PASS, 0, System.currentTimeMillis(), 0, null, path);
+        }
+    }
+
+    /**
+     * Close the store; the next record opens it again under a new run
+     */
+    public static void close() {
+        lock.lock();
+        try {
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException e) {
+                    logger.warn("Failed to close results store " + openedFile + ": " + e.getMessage());
+                }
+                logger.info("Results of run " + Long.toHexString(runId) + " stored in " + openedFile);
+            }
+            channel = null;
+            unavailable = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void append(Kind kind, String name, String test, Outcome outcome, int attempt,
+                               long startMillis, long durationMillis, String category, String detail) {
+        lock.lock();
+        try {
+            if (unavailable || !ensureOpen()) {
+                return;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(128);
+            DataOutputStream body = new DataOutputStream(bytes);
+            body.writeByte(RESULT);
+            body.writeLong(runId);
+            body.writeByte(kind.ordinal());
+            writeText(body, name);
+            writeText(body, test);
+            body.writeByte(outcome.ordinal());
+            body.writeInt(attempt);
+            body.writeLong(startMillis);
+            body.writeLong(durationMillis);
+            writeText(body, category);
+            writeText(body, detail);
+            write(bytes.toByteArray());
+        } catch (IOException e) {
+            logger.warn("Failed to write to results store " + openedFile + ", no further results are stored: " + e.getMessage());
+            unavailable = true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static boolean ensureOpen() {
+        if (channel != null) {
+            return true;
+        }
+        String configured = ConfigReader.getResultsStorePath();
+        if (configured.isEmpty()) {
+            return false;
+        }
+        Path file = Paths.get(configured).toAbsolutePath();
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            openedFile = file;
+            try (FileLock ignored = channel.lock()) {
+                prepareForAppend(file);
+            }
+            runId = UUID.randomUUID().getMostSignificantBits();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream body = new DataOutputStream(bytes);
+            body.writeByte(RUN);
+            body.writeLong(runId);
+            body.writeLong(System.currentTimeMillis());
+            writeText(body, ConfigReader.getEnvironment());
+            writeText(body, ConfigReader.getBrowser());
+            writeText(body, ConfigReader.isRemoteExecution() ? ConfigReader.getGridUrl() : "local");
+            write(bytes.toByteArray());
+            return true;
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Results store " + file + " is not available, results of this run are not stored: " + e.getMessage());
+            unavailable = true;
+            if (channel != null) {
+                try {
+                    channel.close();
+                } catch (IOException ignored) {
+                    // Already failing
+                }
+                channel = null;
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Write the header of a new file, or cut a torn record a crashed run left at the end
+     */
+    private static void prepareForAppend(Path file) throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).putInt(VERSION);
+            header.flip();
+            writeFully(header, 0);
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+        readFully(header, 0);
+        if (size < HEADER_LENGTH || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+            throw new IOException("not a results store of version " + VERSION);
+        }
+        if (!lastRecordComplete(size)) {
+            long end = validEnd();
+            logger.warn("Cutting a torn record off results store " + file + " at byte " + end + " of " + size);
+            channel.truncate(end);
+        }
+    }
+
+    /**
+     * Cheap check from the end of the file: the trailing length must point back at a matching length
+     */
+    private static boolean lastRecordComplete(long size) throws IOException {
+        if (size == HEADER_LENGTH) {
+            return true;
+        }
+        if (size < HEADER_LENGTH + FRAME_OVERHEAD) {
+            return false;
+        }
+        ByteBuffer trailer = ByteBuffer.allocate(4);
+        readFully(trailer, size - 4);
+        int length = trailer.getInt(0);
+        long start = size - FRAME_OVERHEAD - length;
+        if (length <= 0 || length > MAX_RECORD_LENGTH || start < HEADER_LENGTH) {
+            return false;
+        }
+        ByteBuffer leading = ByteBuffer.allocate(4);
+        readFully(leading, start);
+        return leading.getInt(0) == length;
+    }
+
+    /**
+     * End of the last complete record, found by walking the record lengths from the start
+     */
+    private static long validEnd() throws IOException {
+        long size = channel.size();
+        long position = HEADER_LENGTH;
+        ByteBuffer length = ByteBuffer.allocate(4);
+        while (position + FRAME_OVERHEAD <= size) {
+            length.clear();
+            readFully(length, position);
+            int leading = length.getInt(0);
+            long next = position + FRAME_OVERHEAD + leading;
+            if (leading <= 0 || leading > MAX_RECORD_LENGTH || next > size) {
+                break;
+            }
+            length.clear();
+            readFully(length, next - 4);
+            if (length.getInt(0) != leading) {
+                break;
+            }
+            position = next;
+        }
+        return position;
+    }
+
+    private static void write(byte[] body) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        ByteBuffer frame = ByteBuffer.allocate(body.length + FRAME_OVERHEAD);
+        frame.putInt(body.length).put(body).putInt((int) crc.getValue()).putInt(body.length);
+        frame.flip();
+        try (FileLock ignored = channel.lock()) {
+            writeFully(frame, channel.size());
+        }
+    }
+
+    private static void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException();
+            }
+            position += read;
+        }
+    }
+
+    private static void writeText(DataOutputStream out, String text) throws IOException {
+        String value = text == null ? "" : text;
+        out.writeUTF(value.length() > MAX_TEXT_LENGTH ? value.substring(0, MAX_TEXT_LENGTH) : value);
+    }
+
+    // ---------------------------------------------------------------- queries
+
+    /**
+     * Stream every result of the selected runs, oldest first. Stops quietly at a torn or corrupt
+     * record, which can only be the last one of a crashed run.
+     * @param file store to read
+     * @param runs which runs to include
+     * @param consumer receives each result
+     * @throws RuntimeException if the file cannot be read or is not a results store
+     */
+    public static void scan(Path file, Predicate<Run> runs, Consumer<Result> consumer) {
+        Map<Long, Run> selected = new LinkedHashMap<>();
+        read(file, false, (type, in) -> {
+            if (type == RUN) {
+                Run run = readRun(in);
+                if (runs.test(run)) {
+                    selected.put(run.id, run);
+                }
+                return;
+            }
+            Run run = selected.get(in.readLong());
+            if (run != null) {
+                consumer.accept(readResult(run, in));
+            }
+        });
+    }
+
+    /**
+     * Runs recorded in a store, oldest first, with the outcome counts of their tests. Attempts
+     * that were retried are counted as RETRY, so PASS + FAIL + SKIP is the number of tests.
+     * @param lastRuns only the most recent runs, or 0 for all
+     */
+    public static List<RunSummary> runs(Path file, int lastRuns) {
+        Map<Long, RunSummary> summaries = new LinkedHashMap<>();
+        scan(file, recent(file, lastRuns), result -> {
+            RunSummary summary = summaries.computeIfAbsent(result.run.id, id -> new RunSummary(result.run));
+            if (result.kind == Kind.TEST) {
+                summary.counts.merge(result.outcome, 1, Integer::sum);
+                summary.endMillis = Math.max(summary.endMillis, result.startMillis + result.durationMillis);
+            }
+        });
+        return new ArrayList<>(summaries.values());
+    }
+
+    /**
+     * Outcome and duration statistics per test or step over the most recent runs
+     * @param kind TEST for tests keyed by test key, STEP for steps keyed by "scenario > step"
+     * @param lastRuns only the most recent runs, or 0 for all
+     * @return statistics keyed by name, in name order
+     */
+    public static Map<String, Stats> stats(Path file, Kind kind, int lastRuns) {
+        Map<String, Stats> stats = new LinkedHashMap<>();
+        scan(file, recent(file, lastRuns), result -> {
+            if (result.kind == kind) {
+                String key = kind == Kind.STEP ? result.test + " > " + result.name : result.name;
+                stats.computeIfAbsent(key, Stats::new).add(result);
+            }
+        });
+        List<String> names = new ArrayList<>(stats.keySet());
+        Collections.sort(names);
+        Map<String, Stats> sorted = new LinkedHashMap<>();
+        names.forEach(name -> sorted.put(name, stats.get(name)));
+        return sorted;
+    }
+
+    /**
+     * Every attempt of one test over the most recent runs, oldest first
+     * @param testKey test key as stored by {@link #recordTest}
+     * @param lastRuns only the most recent runs, or 0 for all
+     */
+    public static List<Result> history(Path file, String testKey, int lastRuns) {
+        List<Result> history = new ArrayList<>();
+        scan(file, recent(file, lastRuns), result -> {
+            if (result.kind == Kind.TEST && result.name.equals(testKey)) {
+                history.add(result);
+            }
+        });
+        return history;
+    }
+
+    /**
+     * Selects the most recent runs. Result records are skipped without decoding, so this first
+     * pass costs little more than reading the file.
+     * @param lastRuns number of runs, or 0 for all
+     */
+    public static Predicate<Run> recent(Path file, int lastRuns) {
+        if (lastRuns <= 0) {
+            return run -> true;
+        }
+        List<Long> ids = new ArrayList<>();
+        read(file, true, (type, in) -> ids.add(readRun(in).id));
+        Set<Long> wanted = new HashSet<>(ids.subList(Math.max(0, ids.size() - lastRuns), ids.size()));
+        return run -> wanted.contains(run.id);
+    }
+
+    private interface RecordHandler {
+        void handle(byte type, DataInputStream body) throws IOException;
+    }
+
+    private static void read(Path file, boolean runsOnly, RecordHandler handler) {
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file), 1 << 16))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new RuntimeException("Not a results store of version " + VERSION + ": " + file);
+            }
+            CRC32 crc = new CRC32();
+            byte[] body = new byte[256];
+            long position = HEADER_LENGTH;
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    return;
+                }
+                if (length <= 0 || length > MAX_RECORD_LENGTH) {
+                    logger.warn("Results store " + file + " is corrupt at byte " + position + ", ignoring the rest");
+                    return;
+                }
+                if (runsOnly) {
+                    byte type = in.readByte();
+                    if (type != RUN) {
+                        in.skipNBytes(length - 1L + 8);
+                        position += length + FRAME_OVERHEAD;
+                        continue;
+                    }
+                    body[0] = type;
+                    if (body.length < length) {
+                        body = Arrays.copyOf(body, length);
+                    }
+                    in.readFully(body, 1, length - 1);
+                } else {
+                    if (body.length < length) {
+                        body = new byte[Math.max(length, body.length * 2)];
+                    }
+                    in.readFully(body, 0, length);
+                }
+                int checksum = in.readInt();
+                int trailingLength = in.readInt();
+                crc.reset();
+                crc.update(body, 0, length);
+                if ((int) crc.getValue() != checksum || trailingLength != length) {
+                    logger.warn("Results store " + file + " is corrupt at byte " + position + ", ignoring the rest");
+                    return;
+                }
+                handler.handle(body[0], new DataInputStream(new ByteArrayInputStream(body, 1, length - 1)));
+                position += length + FRAME_OVERHEAD;
+            }
+        } catch (EOFException e) {
+            logger.debug("Results store " + file + " ends with a torn record");
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read results store: " + file, e);
+        }
+    }
+
+    private static Run readRun(DataInputStream in) throws IOException {
+        return new Run(in.readLong(), in.readLong(), in.readUTF(), in.readUTF(), in.readUTF());
+    }
+
+    private static Result readResult(Run run, DataInputStream in) throws IOException {
+        Kind kind = Kind.values()[in.readUnsignedByte()];
+        String name = in.readUTF();
+        String test = in.readUTF();
+        Outcome outcome = Outcome.values()[in.readUnsignedByte()];
+        int attempt = in.readInt();
+        long start = in.readLong();
+        long duration = in.readLong();
+        String category = in.readUTF();
+        String detail = in.readUTF();
+        return new Result(run, kind, name, test, outcome, attempt, start, duration, category, detail);
+    }
+
+    /**
+     * One run of the suite
+     */
+    public static final class Run {
+        private final long id;
+        private final long startMillis;
+        private final String environment;
+        private final String browser;
+        private final String execution;
+
+        private Run(long id, long startMillis, String environment, String browser, String execution) {
+            this.id = id;
+            this.startMillis = startMillis;
+            this.environment = environment;
+            this.browser = browser;
+            this.execution = execution;
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public String getEnvironment() {
+            return environment;
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        /**
+         * "local", or the Grid URL of a remote run
+         */
+        public String getExecution() {
+            return execution;
+        }
+    }
+
+    /**
+     * One recorded test attempt, step or screenshot
+     */
+    public static final class Result {
+        private final Run run;
+        private final Kind kind;
+        private final String name;
+        private final String test;
+        private final Outcome outcome;
+        private final int attempt;
+        private final long startMillis;
+        private final long durationMillis;
+        private final String category;
+        private final String detail;
+
+        private Result(Run run, Kind kind, String name, String test, Outcome outcome, int attempt,
+                       long startMillis, long durationMillis, String category, String detail) {
+            this.run = run;
+            this.kind = kind;
+            this.name = name;
+            this.test = test;
+            this.outcome = outcome;
+            this.attempt = attempt;
+            this.startMillis = startMillis;
+            this.durationMillis = durationMillis;
+            this.category = category;
+            this.detail = detail;
+        }
+
+        public Run getRun() {
+            return run;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Invocation id of a test or screenshot, scenario name of a step
+         */
+        public String getTest() {
+            return test;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public int getAttempt() {
+            return attempt;
+        }
+
+        public long getStartMillis() {
+            return startMillis;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        /**
+         * Failure category of a failed test, empty otherwise
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * Failure message of a test, image path of a screenshot, empty otherwise
+         */
+        public String getDetail() {
+            return detail;
+        }
+    }
+
+    /**
+     * A run with the outcome counts of its tests
+     */
+    public static final class RunSummary {
+        private final Run run;
+        private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+        private long endMillis;
+
+        private RunSummary(Run run) {
+            this.run = run;
+            this.endMillis = run.startMillis;
+        }
+
+        public Run getRun() {
+            return run;
+        }
+
+        public int count(Outcome outcome) {
+            return counts.getOrDefault(outcome, 0);
+        }
+
+        /**
+         * Share of tests that passed, between 0 and 1
+         */
+        public double passRate() {
+            int total = count(Outcome.PASS) + count(Outcome.FAIL) + count(Outcome.SKIP);
+            return total == 0 ? 0 : (double) count(Outcome.PASS) / total;
+        }
+
+        /**
+         * Time from the start of the run to the end of its last test
+         */
+        public long getDurationMillis() {
+            return endMillis - run.startMillis;
+        }
+    }
+
+    /**
+     * Outcomes and durations of one test or step across runs
+     */
+    public static final class Stats {
+        private final String name;
+        private final Map<Outcome, Integer> counts = new EnumMap<>(Outcome.class);
+        private final Set<Long> flakyRuns = new HashSet<>();
+        private final Set<Long> retriedRuns = new HashSet<>();
+        private long totalMillis;
+        private long maxMillis;
+        private int timed;
+        private Outcome last;
+
+        private Stats(String name) {
+            this.name = name;
+        }
+
+        private void add(Result result) {
+            counts.merge(result.outcome, 1, Integer::sum);
+            if (result.outcome == Outcome.RETRY) {
+                retriedRuns.add(result.run.id);
+            } else {
+                if (result.outcome == Outcome.PASS && retriedRuns.contains(result.run.id)) {
+                    flakyRuns.add(result.run.id);
+                }
+                last = result.outcome;
+            }
+            if (result.outcome != Outcome.SKIP) {
+                totalMillis += result.durationMillis;
+                maxMillis = Math.max(maxMillis, result.durationMillis);
+                timed++;
+            }
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int count(Outcome outcome) {
+            return counts.getOrDefault(outcome, 0);
+        }
+
+        /**
+         * Runs in which the test passed only after a retry
+         */
+        public int getFlakyRuns() {
+            return flakyRuns.size();
+        }
+
+        public long getAverageMillis() {
+            return timed == 0 ? 0 : totalMillis / timed;
+        }
+
+        public long getMaxMillis() {
+            return maxMillis;
+        }
+
+        /**
+         * Final outcome in the most recent run, or null if it only has retried attempts
+         */
+        public Outcome getLastOutcome() {
+            return last;
+        }
+    }
+
+    /**
+     * Print the recent runs and the slowest and least stable tests of a store
+     * @param args store file (default {@code results.store}) and number of recent runs (default 20)
+     */
+    public static void main(String[] args) {
+        Path file = Paths.get(args.length > 0 ? args[0] : ConfigReader.getResultsStorePath());
+        int lastRuns = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        System.out.println("Runs in " + file + ":");
+        for (RunSummary summary : runs(file, lastRuns)) {
+            Run run = summary.getRun();
+            System.out.println(String.format(Locale.ROOT, "  %s  %-8s %-8s %4d passed %4d failed %4d skipped %4d retried  %5.1f%%  %ds  %s",
+                    Instant.ofEpochMilli(run.startMillis), run.environment, run.browser, summary.count(Outcome.PASS),
+                    summary.count(Outcome.FAIL), summary.count(Outcome.SKIP), summary.count(Outcome.RETRY),
+                    summary.passRate() * 100, summary.getDurationMillis() / 1000, run.execution));
+        }
+        List<Stats> tests = new ArrayList<>(stats(file, Kind.TEST, lastRuns).values());
+        System.out.println("Least stable tests:");
+        tests.stream()
+                .filter(stats -> stats.count(Outcome.FAIL) + stats.getFlakyRuns() > 0)
+                .sorted(Comparator.comparingInt((Stats stats) -> stats.count(Outcome.FAIL) + stats.getFlakyRuns()).reversed())
+                .limit(10)
+                .forEach(stats -> System.out.println(String.format(Locale.ROOT, "  %4d failed %4d flaky  last %-5s %s",
+                        stats.count(Outcome.FAIL), stats.getFlakyRuns(), stats.getLastOutcome(), stats.getName())));
+        System.out.println("Slowest tests:");
+        tests.stream()
+                .sorted(Comparator.comparingLong(Stats::getAverageMillis).reversed())
+                .limit(10)
+                .forEach(stats -> System.out.println(String.format(Locale.ROOT, "  avg %6dms  max %6dms  %s",
+                        stats.getAverageMillis(), stats.getMaxMillis(), stats.getName())));
+        System.out.println("Slowest steps:");
+        stats(file, Kind.STEP, lastRuns).values().stream()
+                .sorted(Comparator.comparingLong(Stats::getAverageMillis).reversed())
+                .limit(10)
+                .forEach(stats -> System.out.println(String.format(Locale.ROOT, "  avg %6dms  max %6dms  %s",
+                        stats.getAverageMillis(), stats.getMaxMillis(), stats.getName())));
+    }
+}
@@ -0,0 +1,104 @@
+package com.qa.automation.utils;
+
+import com.qa.automation.factory.DriverPool;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides whether a failed test is run again. Only transient failures (see {@link FailureCategory})
+ * are retried, each test at most {@code retry.maxAttempts} times, and the whole run at most
+ * {@code retry.budget} times, so a genuinely broken build fails fast instead of running twice.
+ * A retried test gets a fresh browser: the session of the failed attempt is discarded instead of
+ * going back to the driver pool. Outcomes feed the {@link FlakinessHistory}.
+ */
+public final class RetryEngine {
+
+    private static final Logger logger = LoggerUtil.getLogger(RetryEngine.class);
+    private static final AtomicInteger retriesUsed = new AtomicInteger();
+    private static final Set<String> retriedTests = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Result attribute holding the {@link FailureCategory} name of a failed attempt
+     */
+    public static final String CATEGORY_ATTRIBUTE = "failureCategory";
+
+    private RetryEngine() {
+    }
+
+    /**
+     * Decide whether to run a failed test again
+     * @param result the failed attempt
+     * @param retriesSoFar retries this test already had
+     * @return true if the test should be retried
+     */
+    public static boolean shouldRetry(ITestResult result, int retriesSoFar) {
+        FailureCategory category = FailureCategory.classify(result.getThrowable());
+        result.setAttribute(CATEGORY_ATTRIBUTE, category.name());
+        String testKey = testKey(result);
+        if (!category.isTransient()) {
+            logger.info("Not retrying " + testKey + ": " + category + " failure");
+            return false;
+        }
+        if (retriesSoFar >= ConfigReader.getRetryMaxAttempts()) {
+            logger.info("Not retrying " + testKey + ": " + retriesSoFar + " retry(s) already used");
+            return false;
+        }
+        if (retriesUsed.incrementAndGet() > ConfigReader.getRetryBudget()) {
+            retriesUsed.decrementAndGet();
+            logger.warn("Not retrying " + testKey + ": retry budget of " + ConfigReader.getRetryBudget() + " used up");
+            return false;
+        }
+        retriedTests.add(testKey);
+        DriverPool.discardLastLease();
+        logger.warn("Retrying " + testKey + " after " + category + " failure (retry " + (retriesSoFar + 1)
+                + ", " + retriesUsed.get() + " of " + ConfigReader.getRetryBudget() + " used in this run, flakiness "
+                + String.format(Locale.ROOT, "%.2f", FlakinessHistory.score(testKey)) + ")");
+        return true;
+    }
+
+    /**
+     * Record the final outcome of a test for the flakiness history. Call once a test has passed or
+     * failed for good; attempts that are retried are not final.
+     */
+    public static void recordOutcome(ITestResult result) {
+        String testKey = testKey(result);
+        boolean retried = retriedTests.remove(testKey);
+        if (result.getStatus() == ITestResult.SUCCESS) {
+            FlakinessHistory.record(testKey, retried);
+            if (retried) {
+                logger.warn("Flaky test passed after retry: " + testKey);
+            }
+        }
+    }
+
+    /**
+     * Retries granted so far in this run
+     */
+    public static int getRetriesUsed() {
+        return retriesUsed.get();
+    }
+
+    /**
+     * Forget the retries granted so far, as if the run had just started; for tests
+     */
+    static void reset() {
+        retriesUsed.set(0);
+        retriedTests.clear();
+    }
+
+    /**
+     * Name of a test invocation: the qualified method name, plus the parameters for data-driven
+     * tests so that every scenario or data row has its own history
+     */
+    public static String testKey(ITestResult result) {
+        String name = result.getMethod().getQualifiedName();
+        Object[] parameters = result.getParameters();
+        return parameters == null || parameters.length == 0 ? name : name + Arrays.toString(parameters);
+    }
+}
@@ -0,0 +1,88 @@
+package com.qa.automation.utils;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Time source for report and file names. The run id is fixed when the run starts, so every report
+ * and path derived from it names the same run, however late it is asked for. Formatters are
+ * immutable {@link DateTimeFormatter}s shared by all threads, and file timestamps use no colons,
+ * which Windows does not allow in file names.
+ * <p>
+ * {@link #uniqueFileName(String, String)} adds a per-run sequence number to the timestamp, so
+ * screenshots taken in the same millisecond by parallel tests never overwrite each other.
+ */
+public final class RunClock {
+
+    /**
+     * Date and time for file names: 17-10-2026_14-05-09
+     */
+    public static final DateTimeFormatter FILE_DATE_TIME = DateTimeFormatter.ofPattern("dd-MM-yyyy_HH-mm-ss", Locale.ROOT);
+
+    /**
+     * Date for display: 17-10-2026
+     */
+    public static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("dd-MM-yyyy", Locale.ROOT);
+
+    /**
+     * Time of day for display: 14:05:09
+     */
+    public static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss", Locale.ROOT);
+
+    /**
+     * Sortable timestamp with milliseconds for artifact names: 20261017_140509_123
+     */
+    public static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS", Locale.ROOT);
+
+    private static final Clock CLOCK = Clock.systemDefaultZone();
+    private static final ZonedDateTime START = ZonedDateTime.now(CLOCK);
+    private static final String RUN_ID = START.format(FILE_DATE_TIME);
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    private RunClock() {
+    }
+
+    /**
+     * Id of this run, its start time formatted with {@link #FILE_DATE_TIME}; the same on every call
+     */
+    public static String getRunId() {
+        return RUN_ID;
+    }
+
+    /**
+     * When this run started
+     */
+    public static ZonedDateTime getStartTime() {
+        return START;
+    }
+
+    /**
+     * Current time in the system time zone
+     */
+    public static ZonedDateTime now() {
+        return ZonedDateTime.now(CLOCK);
+    }
+
+    /**
+     * Next number of this run's sequence, starting at 1; safe to call from parallel threads
+     */
+    public static long nextSequence() {
+        return SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * File name that is unique within the run: prefix, current timestamp and sequence number,
+     * e.g. {@code Failure_20261017_140509_123_0042.png}. Characters Windows does not allow in file
+     * names are replaced in the prefix.
+     * @param prefix readable start of the name
+     * @param extension extension without the dot
+     */
+    public static String uniqueFileName(String prefix, String extension) {
+        String safePrefix = prefix.replaceAll("[\\\\/:*?\"<>|]", "_");
+        return safePrefix + "_" + now().format(FILE_TIMESTAMP) + "_" + String.format(Locale.ROOT, "%04d", nextSequence())
+                + "." + extension;
+    }
+}
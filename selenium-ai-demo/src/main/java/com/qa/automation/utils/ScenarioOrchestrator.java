@@ -0,0 +1,157 @@
+package com.qa.automation.utils;
+
+import com.qa.automation.factory.BrowserFactory;
+import com.qa.automation.factory.BrowserType;
+import com.qa.automation.factory.GridReadinessProbe;
+import org.apache.logging.log4j.Logger;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Runs test scenarios concurrently, each on its own thread, with concurrency bounded only by a
+ * semaphore sized to the browser capacity: the driver pool locally, the Grid's slots remotely.
+ * Test threads spend nearly all their time blocked on WebDriver HTTP calls and wait polling, so on
+ * Java 21 every scenario gets a virtual thread, which costs a few hundred bytes instead of a
+ * platform thread's stack. On older JVMs the same scenarios run on a fixed pool of platform threads.
+ * <p>
+ * Keep blocking I/O out of {@code synchronized} blocks in code that runs here: a virtual thread
+ * blocked inside one pins its carrier thread.
+ */
+public final class ScenarioOrchestrator {
+
+    private static final Logger logger = LoggerUtil.getLogger(ScenarioOrchestrator.class);
+    private static final Method NEW_VIRTUAL_THREAD_EXECUTOR = findVirtualThreadExecutor();
+
+    private ScenarioOrchestrator() {
+    }
+
+    /**
+     * Whether this JVM supports virtual threads (Java 21 or later)
+     */
+    public static boolean isVirtualThreadsAvailable() {
+        return NEW_VIRTUAL_THREAD_EXECUTOR != null;
+    }
+
+    /**
+     * Scenarios allowed to run at once: {@code execution.maxConcurrency} when set, otherwise the
+     * free-or-busy slots of the configured browser on the Grid, or the driver pool size locally
+     */
+    public static int capacity() {
+        int configured = ConfigReader.getMaxConcurrency();
+        if (configured > 0) {
+            return configured;
+        }
+        if (ConfigReader.isRemoteExecution()) {
+            GridReadinessProbe.Result grid = GridReadinessProbe.awaitConfiguredGrid();
+            String browserName = BrowserFactory.getBrowserName(BrowserType.fromString(ConfigReader.getBrowser()));
+            return Math.max(1, grid.getStatus().totalSlots(browserName));
+        }
+        return ConfigReader.isDriverPoolEnabled() ? ConfigReader.getPoolMaxSize() : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Run every item and wait for all of them
+     * @param name label used for thread names and logging
+     * @param items scenarios to run
+     * @param body runs one scenario; anything it throws is recorded as that scenario's failure
+     * @return failures by item, in the order the items were given; empty if all passed
+     */
+    public static <T> Map<T, Throwable> runAll(String name, List<T> items, Consumer<T> body) {
+        int capacity = capacity();
+        boolean virtual = ConfigReader.isVirtualThreadExecution() && isVirtualThreadsAvailable();
+        if (ConfigReader.isVirtualThreadExecution() && !virtual) {
+            logger.warn("Virtual threads need Java 21 or later, running " + name + " on " + capacity + " platform threads");
+        }
+        logger.info("Running " + items.size() + " " + name + " scenario(s) on " + (virtual ? "virtual" : "platform")
+                + " threads, at most " + capacity + " at once");
+
+        Semaphore permits = new Semaphore(capacity, true);
+        Map<Integer, Throwable> failures = Collections.synchronizedMap(new LinkedHashMap<>());
+        long start = System.nanoTime();
+        ExecutorService executor = virtual ? newVirtualThreadExecutor() : newPlatformThreadExecutor(name, capacity);
+        try {
+            for (int i = 0; i < items.size(); i++) {
+                int index = i;
+                executor.execute(() -> {
+                    try {
+                        permits.acquire();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        failures.put(index, e);
+                        return;
+                    }
+                    try {
+                        body.accept(items.get(index));
+                    } catch (Throwable t) {
+                        failures.put(index, t);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        } finally {
+            executor.shutdown();
+        }
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running " + name + " scenarios", e);
+        }
+        logger.info("Finished " + items.size() + " " + name + " scenario(s) in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms, " + failures.size() + " failed");
+
+        Map<T, Throwable> result = new LinkedHashMap<>();
+        for (int i = 0; i < items.size(); i++) {
+            if (failures.containsKey(i)) {
+                result.put(items.get(i), failures.get(i));
+            }
+        }
+        return result;
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) NEW_VIRTUAL_THREAD_EXECUTOR.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Failed to create a virtual thread executor", e);
+        }
+    }
+
+    private static ExecutorService newPlatformThreadExecutor(String name, int threads) {
+        AtomicInteger count = new AtomicInteger();
+        ThreadFactory factory = runnable -> {
+            Thread thread = new Thread(runnable, name + "-scenario-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Executors.newVirtualThreadPerTaskExecutor(), looked up reflectively so the framework still
+     * compiles and runs on Java 17 (on Java 19 and 20 it exists but only as a preview feature)
+     */
+    private static Method findVirtualThreadExecutor() {
+        if (Runtime.version().feature() < 21) {
+            return null;
+        }
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+}
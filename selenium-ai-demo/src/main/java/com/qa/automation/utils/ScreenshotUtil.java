@@ -5,21 +5,52 @@ import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.text.SimpleDateFormat;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
 import java.util.Base64;
-import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
  * Utility class for capturing screenshots in Selenium tests.
+ * The async methods grab the raw PNG on the calling thread (the only step that needs the
+ * browser) and hand encoding, compression and disk writes to a small bounded worker pool.
+ * When the pool's queue is full the caller runs the work itself, which keeps memory bounded.
  */
 public class ScreenshotUtil {
     private static final Logger logger = LoggerUtil.getLogger(ScreenshotUtil.class);
     private static final String SCREENSHOT_DIR = "test-output/screenshots";
+    private static final float JPEG_QUALITY = 0.8f;
+    private static final int MIN_SCALED_WIDTH = 320;
+
+    private static final ExecutorService WORKERS = createWorkers();
+    private static final Set<CompletableFuture<String>> IN_FLIGHT = ConcurrentHashMap.newKeySet();
 
     /**
      * Capture screenshot and return the file path.
@@ -34,8 +65,7 @@ public class ScreenshotUtil {
                 return null;
             }
             File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-            String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS").format(new Date());
-            String fileName = name + "_" + timestamp + ".png";
+            String fileName = RunClock.uniqueFileName(name, "png");
             Path screenshotDir = Paths.get(SCREENSHOT_DIR);
             if (!Files.exists(screenshotDir)) {
                 Files.createDirectories(screenshotDir);
@@ -68,4 +98,280 @@ public class ScreenshotUtil {
             return null;
         }
     }
+
+    /**
+     * Capture the raw PNG bytes of the current page.
+     * @param driver WebDriver instance
+     * @return PNG bytes, or null if the driver cannot take screenshots
+     */
+    public static byte[] captureScreenshotBytes(WebDriver driver) {
+        try {
+            if (!(driver instanceof TakesScreenshot)) {
+                logger.warn("Driver does not support screenshots");
+                return null;
+            }
+            return ((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES);
+        } catch (Exception e) {
+            logger.error("Failed to capture screenshot bytes: " + e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Capture screenshot now and prepare it for the report in the background.
+     * In file report mode the screenshot is stored content-addressed under test-output/screenshots
+     * and the handle resolves to its path; otherwise it resolves to a Base64 string for embedding.
+     * @param driver WebDriver instance
+     * @return handle resolving to the stored file path or the Base64-encoded screenshot
+     */
+    public static PendingScreenshot captureScreenshotAsync(WebDriver driver) {
+        return prepareScreenshotAsync(captureScreenshotBytes(driver));
+    }
+
+    /**
+     * Prepare an already captured screenshot for the report in the background, in the same way as
+     * {@link #captureScreenshotAsync(WebDriver)}.
+     * @param imageBytes raw PNG bytes, e.g. a buffered step screenshot
+     * @return handle resolving to the stored file path or the Base64-encoded screenshot
+     */
+    public static PendingScreenshot prepareScreenshotAsync(byte[] imageBytes) {
+        if (imageBytes == null) {
+            return PendingScreenshot.unavailable();
+        }
+        if (ConfigReader.isScreenshotFileMode()) {
+            return submit(() -> storeContentAddressed(imageBytes), true);
+        }
+        return submit(() -> Base64.getEncoder().encodeToString(compress(imageBytes)), false);
+    }
+
+    /**
+     * Capture screenshot now and write it to disk in the background.
+     * @param driver WebDriver instance
+     * @param name   Screenshot name prefix
+     * @return handle resolving to the path of the saved screenshot file
+     */
+    public static PendingScreenshot captureScreenshotAsync(WebDriver driver, String name) {
+        byte[] imageBytes = captureScreenshotBytes(driver);
+        if (imageBytes == null) {
+            return PendingScreenshot.unavailable();
+        }
+        // Named on the test thread, so names follow the order in which screenshots were taken
+        String fileName = RunClock.uniqueFileName(name, fileExtension());
+        return submit(() -> {
+            byte[] stored = compress(imageBytes);
+            Path dest = Paths.get(SCREENSHOT_DIR).resolve(fileName);
+            try {
+                Files.createDirectories(dest.getParent());
+                Files.write(dest, stored);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            logger.info("Screenshot saved: " + dest);
+            return dest.toString();
+        }, true);
+    }
+
+    /**
+     * Wait until every screenshot submitted so far has been encoded and written.
+     * @param timeout maximum time to wait
+     * @return true if all work finished in time
+     */
+    public static boolean awaitPending(Duration timeout) {
+        CompletableFuture<?>[] pending = IN_FLIGHT.toArray(new CompletableFuture<?>[0]);
+        try {
+            CompletableFuture.allOf(pending).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            return IN_FLIGHT.isEmpty();
+        }
+    }
+
+    private static PendingScreenshot submit(Supplier<String> work, boolean fileReference) {
+        CompletableFuture<String> future = CompletableFuture.supplyAsync(work, WORKERS);
+        IN_FLIGHT.add(future);
+        future.whenComplete((result, error) -> {
+            IN_FLIGHT.remove(future);
+            if (error != null) {
+                logger.error("Failed to process screenshot: " + error.getMessage(), error);
+            }
+        });
+        return new PendingScreenshot(future, fileReference);
+    }
+
+    /**
+     * Store a screenshot under a name derived from its content hash. Identical screenshots
+     * (a page that did not change between steps) map to the same file and are written once.
+     * Oversized images are downscaled until they fit the configured size cap, and a
+     * thumbnail is written next to the image when thumbnails are enabled.
+     */
+    private static String storeContentAddressed(byte[] pngBytes) {
+        byte[] stored = fitToSizeCap(compress(pngBytes));
+        Path dest = Paths.get(SCREENSHOT_DIR).resolve(sha256Hex(stored) + "." + fileExtension());
+        try {
+            if (!Files.exists(dest)) {
+                writeAtomically(dest, stored);
+                logger.debug("Screenshot stored: " + dest);
+            }
+            int thumbnailWidth = ConfigReader.getScreenshotThumbnailWidth();
+            Path thumbnail = Paths.get(thumbnailPathFor(dest.toString()));
+            if (thumbnailWidth > 0 && !Files.exists(thumbnail)) {
+                BufferedImage image = decode(stored);
+                if (image != null && image.getWidth() > thumbnailWidth) {
+                    writeAtomically(thumbnail, encode(scaleToWidth(image, thumbnailWidth)));
+                } else {
+                    writeAtomically(thumbnail, stored);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return dest.toString();
+    }
+
+    /**
+     * Path of the downscaled thumbnail stored next to a content-addressed screenshot
+     * @param screenshotPath path returned for a stored screenshot
+     * @return thumbnail path (the file exists only when thumbnails are enabled)
+     */
+    public static String thumbnailPathFor(String screenshotPath) {
+        int dot = screenshotPath.lastIndexOf('.');
+        return dot < 0 ? screenshotPath + "_thumb" : screenshotPath.substring(0, dot) + "_thumb" + screenshotPath.substring(dot);
+    }
+
+    /**
+     * Re-encode the PNG as JPEG when configured; PNG is passed through untouched.
+     */
+    private static byte[] compress(byte[] pngBytes) {
+        if (!"jpg".equalsIgnoreCase(ConfigReader.getScreenshotFormat())) {
+            return pngBytes;
+        }
+        try {
+            BufferedImage source = decode(pngBytes);
+            return source != null ? encode(source) : pngBytes;
+        } catch (IOException e) {
+            logger.warn("JPEG compression failed, keeping PNG: " + e.getMessage());
+            return pngBytes;
+        }
+    }
+
+    /**
+     * Downscale an encoded image step by step until it fits within screenshot.maxBytes
+     */
+    private static byte[] fitToSizeCap(byte[] imageBytes) {
+        long maxBytes = ConfigReader.getScreenshotMaxBytes();
+        if (maxBytes <= 0 || imageBytes.length <= maxBytes) {
+            return imageBytes;
+        }
+        try {
+            BufferedImage image = decode(imageBytes);
+            if (image == null) {
+                return imageBytes;
+            }
+            byte[] result = imageBytes;
+            int width = image.getWidth();
+            while (result.length > maxBytes && width > MIN_SCALED_WIDTH) {
+                width = Math.max(MIN_SCALED_WIDTH, (int) (width * 0.75));
+                result = encode(scaleToWidth(image, width));
+            }
+            if (result.length > maxBytes) {
+                logger.warn("Screenshot still exceeds " + maxBytes + " bytes at " + width + "px wide");
+            }
+            return result;
+        } catch (IOException e) {
+            logger.warn("Failed to downscale screenshot, keeping original: " + e.getMessage());
+            return imageBytes;
+        }
+    }
+
+    private static BufferedImage decode(byte[] imageBytes) throws IOException {
+        return ImageIO.read(new ByteArrayInputStream(imageBytes));
+    }
+
+    /**
+     * Encode an image in the configured screenshot format
+     */
+    private static byte[] encode(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (!"jpg".equals(fileExtension())) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        }
+        // JPEG has no alpha channel, so draw onto an opaque RGB canvas first
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpg").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(JPEG_QUALITY);
+        try (ImageOutputStream imageOut = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOut);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage scaleToWidth(BufferedImage image, int width) {
+        int height = Math.max(1, (int) Math.round((double) image.getHeight() * width / image.getWidth()));
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaled.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaled;
+    }
+
+    /**
+     * Write to a temporary file and move it into place, so readers never see a partial image
+     * and two workers storing the same content cannot corrupt each other's output
+     */
+    private static void writeAtomically(Path dest, byte[] bytes) throws IOException {
+        Files.createDirectories(dest.getParent());
+        Path temp = Files.createTempFile(dest.getParent(), ".screenshot", ".tmp");
+        try {
+            Files.write(temp, bytes);
+            Files.move(temp, dest, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256Hex(byte[] bytes) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(bytes);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String fileExtension() {
+        return "jpg".equalsIgnoreCase(ConfigReader.getScreenshotFormat()) ? "jpg" : "png";
+    }
+
+    private static ExecutorService createWorkers() {
+        int workers = Math.max(1, ConfigReader.getScreenshotWorkers());
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(workers, workers, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, ConfigReader.getScreenshotQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "screenshot-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
 }
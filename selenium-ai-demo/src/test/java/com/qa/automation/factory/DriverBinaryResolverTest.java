@@ -0,0 +1,75 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.ConfigReader;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Offline driver resolution, which must never fall back to a resolver that goes to the network
+ */
+public class DriverBinaryResolverTest {
+
+    @BeforeMethod
+    public void goOffline() {
+        System.setProperty("driver.offline", "true");
+        ConfigReader.reload();
+        DriverBinaryResolver.clear();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreConfig() {
+        System.clearProperty("driver.offline");
+        System.clearProperty("driver.chrome.path");
+        System.clearProperty("webdriver.chrome.driver");
+        ConfigReader.reload();
+        DriverBinaryResolver.clear();
+    }
+
+    @Test
+    public void offlineWithoutAPinnedPathFailsNamingTheKey() {
+        IllegalStateException failure = Assert.expectThrows(IllegalStateException.class,
+                () -> DriverBinaryResolver.resolve(BrowserType.HEADLESS_CHROME));
+
+        Assert.assertTrue(failure.getMessage().contains("driver.chrome.path"), failure.getMessage());
+        Assert.assertNull(System.getProperty("webdriver.chrome.driver"));
+    }
+
+    @Test
+    public void offlineUsesThePinnedPathOncePerFamily() throws IOException {
+        Path driver = Files.createTempFile("chromedriver", "");
+        try {
+            Assert.assertTrue(driver.toFile().setExecutable(true));
+            System.setProperty("driver.chrome.path", driver.toString());
+            ConfigReader.reload();
+
+            Assert.assertEquals(DriverBinaryResolver.resolve(BrowserType.CHROME), driver.toString());
+            Assert.assertEquals(System.getProperty("webdriver.chrome.driver"), driver.toString());
+            Files.delete(driver);
+            Assert.assertEquals(DriverBinaryResolver.resolve(BrowserType.HEADLESS_CHROME), driver.toString(),
+                    "headless Chrome shares the resolved driver");
+        } finally {
+            Files.deleteIfExists(driver);
+        }
+    }
+
+    @Test
+    public void pinnedPathMustBeExecutable() throws IOException {
+        File notADriver = Files.createTempFile("chromedriver", ".txt").toFile();
+        try {
+            Assert.assertTrue(notADriver.setExecutable(false));
+            System.setProperty("driver.chrome.path", notADriver.getPath());
+            ConfigReader.reload();
+
+            Assert.expectThrows(IllegalStateException.class, () -> DriverBinaryResolver.resolve(BrowserType.CHROME));
+        } finally {
+            Assert.assertTrue(notADriver.delete());
+        }
+    }
+}
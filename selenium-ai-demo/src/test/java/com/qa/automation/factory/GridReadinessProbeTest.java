@@ -0,0 +1,158 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.ConfigReader;
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+/**
+ * Grid readiness polling against a local HTTP stand-in whose {@code /status} answer depends on
+ * how many times it has been asked
+ */
+public class GridReadinessProbeTest {
+
+    private static final String NOT_READY = "{\"value\": {\"ready\": false, \"message\": \"Selenium Grid not ready.\", \"nodes\": []}}";
+
+    private HttpServer grid;
+    private volatile IntFunction<String> responder;
+    private final List<Long> requestTimes = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeMethod
+    public void startStandIn() throws IOException {
+        grid = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        grid.createContext("/status", exchange -> {
+            requestTimes.add(System.nanoTime());
+            String answer = responder.apply(requestTimes.size());
+            int code = answer == null ? 503 : 200;
+            byte[] body = (answer == null ? "unavailable" : answer).getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(code, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        grid.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStandIn() {
+        grid.stop(0);
+    }
+
+    @Test
+    public void returnsAsSoonAsEnoughSlotsAreFree() {
+        // Hub down, then up without nodes, then a node registers
+        responder = request -> request == 1 ? null
+                : request < 4 ? NOT_READY
+                : status(slot("chrome", "linux", false), slot("chrome", "linux", false));
+
+        GridReadinessProbe.Result result = probe(Duration.ofSeconds(10)).await("chrome", null, 2);
+
+        Assert.assertEquals(result.getAttempts(), 4);
+        Assert.assertEquals(result.getStatus().freeSlots("chrome"), 2);
+        Assert.assertTrue(result.getWaited().toMillis() >= 20 + 40 + 80, "Waited " + result.getWaited());
+    }
+
+    @Test
+    public void backsOffExponentiallyUpToTheMaximum() {
+        responder = request -> request < 6 ? NOT_READY : status(slot("firefox", "linux", false));
+
+        probe(Duration.ofSeconds(10)).await("firefox", null, 1);
+
+        List<Long> gaps = new ArrayList<>();
+        for (int i = 1; i < requestTimes.size(); i++) {
+            gaps.add((requestTimes.get(i) - requestTimes.get(i - 1)) / 1_000_000);
+        }
+        // Delays 20, 40, 80, 100 (capped), 100 ms
+        Assert.assertEquals(gaps.size(), 5);
+        Assert.assertTrue(gaps.get(1) >= 40 && gaps.get(2) >= 80, "Gaps " + gaps);
+        Assert.assertTrue(gaps.get(4) < 200, "Backoff should be capped, gaps " + gaps);
+    }
+
+    @Test
+    public void countsOnlySlotsOfTheRequestedPlatform() {
+        responder = request -> status(slot("chrome", "windows", false), slot("chrome", "linux", true));
+
+        Assert.assertThrows(TimeoutException.class, () -> probe(Duration.ofMillis(300)).await("chrome", "linux", 1));
+        Assert.assertEquals(probe(Duration.ofMillis(300)).await("chrome", "WINDOWS", 1).getAttempts(), 1);
+    }
+
+    @Test
+    public void timeoutReportsWhatWasMissing() {
+        responder = request -> status(slot("chrome", "linux", true));
+
+        TimeoutException e = Assert.expectThrows(TimeoutException.class,
+                () -> probe(Duration.ofMillis(300)).await("chrome", null, 1));
+        Assert.assertTrue(e.getMessage().contains("0 of 1 slot(s) free"), e.getMessage());
+    }
+
+    @Test
+    public void configuredGridFailureIsSharedAndCached() throws Exception {
+        responder = request -> NOT_READY;
+        System.setProperty("execution.mode", "remote");
+        System.setProperty("grid.url", "http://127.0.0.1:" + grid.getAddress().getPort() + "/");
+        System.setProperty("grid.readyTimeoutSeconds", "1");
+        ConfigReader.reload();
+        GridReadinessProbe.resetConfiguredGrid();
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            long start = System.nanoTime();
+            List<Future<GridReadinessProbe.Result>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(callers.submit(GridReadinessProbe::awaitConfiguredGrid));
+            }
+            for (Future<GridReadinessProbe.Result> call : calls) {
+                ExecutionException e = Assert.expectThrows(ExecutionException.class, call::get);
+                Assert.assertTrue(e.getCause() instanceof TimeoutException, String.valueOf(e.getCause()));
+            }
+            // One shared wait, not four in a row
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+            Assert.assertTrue(elapsedMillis < 2_500, "Callers took " + elapsedMillis + " ms");
+
+            int polls = requestTimes.size();
+            long again = System.nanoTime();
+            Assert.assertThrows(TimeoutException.class, GridReadinessProbe::awaitConfiguredGrid);
+            Assert.assertTrue((System.nanoTime() - again) / 1_000_000 < 200, "A cached failure should be rethrown at once");
+            Assert.assertEquals(requestTimes.size(), polls);
+        } finally {
+            callers.shutdownNow();
+            System.clearProperty("execution.mode");
+            System.clearProperty("grid.url");
+            System.clearProperty("grid.readyTimeoutSeconds");
+            ConfigReader.reload();
+            GridReadinessProbe.resetConfiguredGrid();
+        }
+    }
+
+    private GridReadinessProbe probe(Duration timeout) {
+        URI url = URI.create("http://127.0.0.1:" + grid.getAddress().getPort() + "/");
+        return new GridReadinessProbe(url, timeout, Duration.ofMillis(20), Duration.ofMillis(100), Duration.ofSeconds(2));
+    }
+
+    private static String status(String... slots) {
+        return "{\"value\": {\"ready\": true, \"message\": \"Selenium Grid ready.\", \"nodes\": [{\"uri\": \"http://node:5555\","
+                + " \"availability\": \"UP\", \"maxSessions\": " + slots.length + ", \"slots\": [" + String.join(",", slots) + "]}]}}";
+    }
+
+    private static String slot(String browserName, String platformName, boolean busy) {
+        return "{\"stereotype\": {\"browserName\": \"" + browserName + "\", \"platformName\": \"" + platformName + "\"},"
+                + " \"session\": " + (busy ? "{\"sessionId\": \"abc\"}" : "null") + "}";
+    }
+}
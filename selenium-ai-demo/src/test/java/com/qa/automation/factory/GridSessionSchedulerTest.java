@@ -0,0 +1,136 @@
+package com.qa.automation.factory;
+
+import com.sun.net.httpserver.HttpServer;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Grid status parsing and client-side session queueing, against a stub Grid serving {@code /status}
+ */
+public class GridSessionSchedulerTest {
+
+    private HttpServer grid;
+    private final AtomicReference<String> status = new AtomicReference<>();
+    private final AtomicInteger statusRequests = new AtomicInteger();
+
+    @BeforeMethod
+    public void startStubGrid() throws IOException {
+        grid = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        grid.createContext("/status", exchange -> {
+            statusRequests.incrementAndGet();
+            byte[] body = status.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        grid.start();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopStubGrid() {
+        grid.stop(0);
+    }
+
+    @Test
+    public void countsFreeSlotsPerBrowserWithinNodeLimits() {
+        GridStatus parsed = GridStatus.parse(statusJson(true,
+                node("UP", 2, slot("chrome", true), slot("chrome", false), slot("chrome", false), slot("firefox", false)),
+                node("DOWN", 4, slot("chrome", false))));
+
+        Assert.assertTrue(parsed.isReady());
+        Assert.assertEquals(parsed.getNodes().size(), 2);
+        // One session already runs on a node limited to two, so only one more fits
+        Assert.assertEquals(parsed.freeSlots("chrome"), 1);
+        Assert.assertEquals(parsed.freeSlots("firefox"), 1);
+        Assert.assertEquals(parsed.freeSlots("MicrosoftEdge"), 0);
+        Assert.assertEquals(parsed.totalSlots("chrome"), 2);
+    }
+
+    @Test
+    public void notReadyGridHasNoFreeSlots() {
+        GridStatus parsed = GridStatus.parse(statusJson(false, node("UP", 1, slot("chrome", false))));
+        Assert.assertEquals(parsed.freeSlots("chrome"), 0);
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsNonGridResponse() {
+        GridStatus.parse("{\"status\": 0}");
+    }
+
+    @Test
+    public void reservesSlotsSoParallelRequestsDoNotOverbook() throws Exception {
+        status.set(statusJson(true, node("UP", 2, slot("chrome", false), slot("chrome", false))));
+        GridSessionScheduler scheduler = scheduler(Duration.ofSeconds(5));
+
+        scheduler.acquire("chrome");
+        scheduler.acquire("chrome");
+        CompletableFuture<Void> third = CompletableFuture.runAsync(() -> scheduler.acquire("chrome"));
+
+        Thread.sleep(300);
+        Assert.assertFalse(third.isDone(), "Third request should wait for a free slot");
+
+        // The first session ends on the Grid and its request finishes client-side
+        status.set(statusJson(true, node("UP", 2, slot("chrome", true), slot("chrome", false))));
+        scheduler.release("chrome");
+        scheduler.release("chrome");
+        third.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void queuedRequestProceedsWhenGridFreesSlot() throws Exception {
+        status.set(statusJson(true, node("UP", 1, slot("chrome", true))));
+        GridSessionScheduler scheduler = scheduler(Duration.ofSeconds(5));
+
+        CompletableFuture<Void> queued = CompletableFuture.runAsync(() -> scheduler.acquire("chrome"));
+        Thread.sleep(300);
+        Assert.assertFalse(queued.isDone(), "Request should queue while the only slot is busy");
+
+        status.set(statusJson(true, node("UP", 1, slot("chrome", false))));
+        queued.get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(statusRequests.get() > 1, "Scheduler should poll the Grid status while queued");
+    }
+
+    @Test
+    public void timesOutWhenNoSlotFreesUp() {
+        status.set(statusJson(true, node("UP", 1, slot("firefox", false))));
+        GridSessionScheduler scheduler = scheduler(Duration.ofMillis(400));
+
+        Assert.assertThrows(TimeoutException.class, () -> scheduler.acquire("chrome"));
+    }
+
+    private GridSessionScheduler scheduler(Duration queueTimeout) {
+        URI url = URI.create("http://127.0.0.1:" + grid.getAddress().getPort() + "/");
+        return new GridSessionScheduler(url, Duration.ofMillis(50), queueTimeout, Duration.ofSeconds(2));
+    }
+
+    private static String statusJson(boolean ready, String... nodes) {
+        return "{\"value\": {\"ready\": " + ready + ", \"message\": \"stub\", \"nodes\": ["
+                + String.join(",", nodes) + "]}}";
+    }
+
+    private static String node(String availability, int maxSessions, String... slots) {
+        return "{\"uri\": \"http://node:5555\", \"availability\": \"" + availability + "\", \"maxSessions\": "
+                + maxSessions + ", \"slots\": [" + String.join(",", slots) + "]}";
+    }
+
+    private static String slot(String browserName, boolean busy) {
+        return "{\"stereotype\": {\"browserName\": \"" + browserName + "\"}, \"session\": "
+                + (busy ? "{\"sessionId\": \"abc\"}" : "null") + "}";
+    }
+}
@@ -1,27 +1,24 @@
 package com.qa.automation.stepdefinitions;
 
-import com.qa.automation.base.BaseTest;
 import com.qa.automation.pages.GoogleHomePage;
 import com.qa.automation.utils.ConfigReader;
-import io.cucumber.java.After;
 import io.cucumber.java.Before;
 import io.cucumber.java.en.Given;
 import io.cucumber.java.en.Then;
 import org.testng.Assert;
 
-public class LoginSteps extends BaseTest {
+public class LoginSteps {
 
+    private final ScenarioContext context;
     private GoogleHomePage googleHomePage;
 
-    @Before
-    public void setUp() {
-        initializeDriver();
-        googleHomePage = new GoogleHomePage(driver, wait);
+    public LoginSteps(ScenarioContext context) {
+        this.context = context;
     }
 
-    @After
-    public void tearDown() {
-        quitDriver();
+    @Before
+    public void setUp() {
+        googleHomePage = new GoogleHomePage(context.getDriver(), context.getWait());
     }
 
     @Given("the user is on the Google homepage")
@@ -36,4 +33,4 @@ public class LoginSteps extends BaseTest {
         Assert.assertTrue(actualTitle.contains(expectedTitle), 
             "Expected title to contain: " + expectedTitle + ", but got: " + actualTitle);
     }
-}
\ No newline at end of file
+}
@@ -1,19 +1,22 @@
 package com.qa.automation.tests;
 
+import com.qa.automation.utils.RetryEngine;
 import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 
+/**
+ * Retries transient failures within the run's retry budget; see {@link RetryEngine}
+ */
 public class RetryAnalyzer implements IRetryAnalyzer {
 
     private int retryCount = 0;
-    private static final int maxRetryCount = 1;
 
     @Override
     public boolean retry(ITestResult result) {
-        if (retryCount < maxRetryCount) {
+        if (RetryEngine.shouldRetry(result, retryCount)) {
             retryCount++;
             return true;
         }
         return false;
     }
-}
\ No newline at end of file
+}
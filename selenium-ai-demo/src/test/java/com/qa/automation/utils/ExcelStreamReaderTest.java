@@ -0,0 +1,153 @@
+package com.qa.automation.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streaming rows straight from workbooks written to a temporary directory, bypassing the cache
+ */
+public class ExcelStreamReaderTest {
+
+    private static final LocalDateTime JOINED = LocalDateTime.of(2026, 1, 15, 9, 30);
+
+    private Path directory;
+    private Path workbook;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = TemporaryDirectories.create("excel-stream");
+        workbook = directory.resolve("data.xlsx");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeDirectory() throws IOException {
+        TemporaryDirectories.delete(directory);
+    }
+
+    @Test
+    public void cellsKeepTheirTypes() throws IOException {
+        Workbooks.write(workbook, "Types",
+                new Object[] {"text", "whole", "decimal", "flag", "date", "huge"},
+                new Object[] {"alice", 7, 2.5, true, JOINED, 1.0E20});
+
+        ExcelRow row = single(read(ExcelStreamReader.of(workbook.toString())));
+
+        Assert.assertEquals(row.get("text"), "alice");
+        Assert.assertEquals(row.get("whole"), 7L, "whole numbers are longs");
+        Assert.assertEquals(row.get("decimal"), 2.5);
+        Assert.assertEquals(row.get("flag"), Boolean.TRUE);
+        Assert.assertEquals(row.get("date"), JOINED);
+        Assert.assertEquals(row.get("huge"), 1.0E20, "too large for a long");
+    }
+
+    @Test
+    public void inlineStringsOfTheStreamingWriterAreRead() {
+        String file = workbook.toString();
+        try (ExcelStreamWriter writer = ExcelStreamWriter.open(file)) {
+            writer.sheet("Users", ExcelColumn.text("user name"), ExcelColumn.integer("age"))
+                    .append("user1", 21)
+                    .append("user2", 22);
+        }
+
+        List<ExcelRow> rows = read(ExcelStreamReader.of(file).sheet("users"));
+
+        Assert.assertEquals(rows.size(), 2);
+        Assert.assertEquals(rows.get(1).get("user name"), "user2");
+        Assert.assertEquals(rows.get(1).get("age"), 22L);
+    }
+
+    @Test
+    public void sparseRowsKeepTheirColumnsAndRowNumbers() throws IOException {
+        Workbooks.write(workbook, "Sparse",
+                null,
+                new Object[] {"a", null, "c"},
+                new Object[] {1, null, 3},
+                null,
+                new Object[] {null, null, "z"},
+                new Object[] {null, null, null},
+                new Object[] {"x"});
+
+        ExcelStreamReader.RowIterator rows = ExcelStreamReader.of(workbook.toString()).stream();
+        Assert.assertEquals(rows.getHeaders(), Arrays.asList("a", "Column2", "c"), "empty header cells get a name");
+        List<ExcelRow> read = new ArrayList<>();
+        rows.forEachRemaining(read::add);
+
+        Assert.assertEquals(read.size(), 3, "rows without values are skipped");
+        Assert.assertEquals(read.get(0).getRowNumber(), 3);
+        Assert.assertEquals(Arrays.asList(read.get(0).get("a"), read.get(0).get("Column2"), read.get(0).get("c")),
+                Arrays.asList(1L, null, 3L));
+        Assert.assertEquals(read.get(1).getRowNumber(), 5);
+        Assert.assertNull(read.get(1).get("a"));
+        Assert.assertEquals(read.get(1).get("c"), "z");
+        Assert.assertEquals(read.get(2).getRowNumber(), 7);
+        Assert.assertEquals(read.get(2).get("a"), "x");
+        Assert.assertNull(read.get(2).get("c"), "missing trailing cells are empty");
+    }
+
+    @Test
+    public void onlyDateFormatsTurnNumbersIntoDates() throws IOException {
+        try (XSSFWorkbook book = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(workbook)) {
+            CellStyle builtInDate = book.createCellStyle();
+            // Built-in format 14 is Excel's short date, m/d/yy
+            builtInDate.setDataFormat((short) 14);
+            CellStyle customDate = book.createCellStyle();
+            customDate.setDataFormat(book.createDataFormat().getFormat("dd/mm/yyyy hh:mm"));
+            CellStyle twoDecimals = book.createCellStyle();
+            twoDecimals.setDataFormat(book.createDataFormat().getFormat("0.00"));
+
+            Sheet sheet = book.createSheet("Dates");
+            Row header = sheet.createRow(0);
+            String[] names = {"built-in", "custom", "two decimals", "unformatted"};
+            for (int c = 0; c < names.length; c++) {
+                header.createCell(c).setCellValue(names[c]);
+            }
+            Row row = sheet.createRow(1);
+            styled(row.createCell(0), builtInDate).setCellValue(JOINED.toLocalDate().atStartOfDay());
+            styled(row.createCell(1), customDate).setCellValue(JOINED);
+            styled(row.createCell(2), twoDecimals).setCellValue(1.25);
+            row.createCell(3).setCellValue(JOINED);
+            book.write(out);
+        }
+
+        ExcelRow row = single(read(ExcelStreamReader.of(workbook.toString())));
+
+        Assert.assertEquals(row.get("built-in"), JOINED.toLocalDate().atStartOfDay());
+        Assert.assertEquals(row.get("custom"), JOINED);
+        Assert.assertEquals(row.get("two decimals"), 1.25);
+        Assert.assertTrue(row.get("unformatted") instanceof Double,
+                "a date without a date format is its serial number: " + row.get("unformatted"));
+    }
+
+    private static Cell styled(Cell cell, CellStyle style) {
+        cell.setCellStyle(style);
+        return cell;
+    }
+
+    private static List<ExcelRow> read(ExcelStreamReader reader) {
+        List<ExcelRow> rows = new ArrayList<>();
+        reader.stream().forEachRemaining(rows::add);
+        return rows;
+    }
+
+    private static ExcelRow single(List<ExcelRow> rows) {
+        Assert.assertEquals(rows.size(), 1, "rows: " + rows);
+        return rows.get(0);
+    }
+}
@@ -0,0 +1,149 @@
+package com.qa.automation.utils;
+
+import org.testng.Assert;
+import org.testng.IMethodInstance;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Longest-processing-time planning of test methods from known durations, without running TestNG
+ */
+public class ExecutionPlannerTest {
+
+    @Test
+    public void longestMethodsGoFirstToTheLeastLoadedThread() {
+        List<IMethodInstance> methods = methods(LoginFlow.class, "quick", "checkout", "search", "upload", "profile");
+        Map<String, Long> history = Map.of(
+                name(LoginFlow.class, "quick"), 100L,
+                name(LoginFlow.class, "checkout"), 700L,
+                name(LoginFlow.class, "search"), 300L,
+                name(LoginFlow.class, "upload"), 500L,
+                name(LoginFlow.class, "profile"), 400L);
+
+        ExecutionPlanner.Plan plan = ExecutionPlanner.plan(methods, history, 2, false);
+
+        // checkout -> thread 0 (700), upload -> 1 (500), profile -> 1 (900), search -> 0 (1000), quick -> 1 (1000)
+        Assert.assertEquals(names(plan), List.of("checkout", "upload", "profile", "search", "quick"));
+        Assert.assertEquals(plan.loads, new long[]{1000, 1000});
+        Assert.assertEquals(plan.makespan(), 1000);
+        Assert.assertEquals(plan.ideal(), 1000);
+    }
+
+    @Test
+    public void methodWithoutHistoryIsAssumedToTakeTheMedian() {
+        List<IMethodInstance> methods = methods(LoginFlow.class, "quick", "search", "checkout", "added");
+        Map<String, Long> history = Map.of(
+                name(LoginFlow.class, "quick"), 100L,
+                name(LoginFlow.class, "search"), 300L,
+                name(LoginFlow.class, "checkout"), 900L,
+                name(CartFlow.class, "removed"), 2000L);
+
+        ExecutionPlanner.Plan plan = ExecutionPlanner.plan(methods, history, 2, false);
+
+        // Median of 100, 300, 900 and 2000 is 900: added ties with checkout and keeps its declared place after it
+        Assert.assertEquals(names(plan), List.of("checkout", "added", "search", "quick"));
+        Assert.assertEquals(plan.loads, new long[]{1200, 1000});
+    }
+
+    @Test
+    public void withoutAnyHistoryTheDeclaredOrderIsKept() {
+        List<IMethodInstance> methods = methods(LoginFlow.class, "first", "second", "third");
+
+        ExecutionPlanner.Plan plan = ExecutionPlanner.plan(methods, Map.of(), 2, false);
+
+        Assert.assertEquals(names(plan), List.of("first", "second", "third"));
+        long unit = ExecutionPlanner.DEFAULT_DURATION_MILLIS;
+        Assert.assertEquals(plan.loads, new long[]{2 * unit, unit});
+    }
+
+    @Test
+    public void classesArePlannedAsUnits() {
+        List<IMethodInstance> methods = new ArrayList<>();
+        methods.addAll(methods(CartFlow.class, "add", "remove", "empty"));
+        methods.addAll(methods(LoginFlow.class, "login", "logout"));
+        methods.addAll(methods(SearchFlow.class, "search"));
+        Map<String, Long> history = Map.of(
+                name(CartFlow.class, "add"), 100L,
+                name(CartFlow.class, "remove"), 100L,
+                name(CartFlow.class, "empty"), 100L,
+                name(LoginFlow.class, "login"), 400L,
+                name(LoginFlow.class, "logout"), 400L,
+                name(SearchFlow.class, "search"), 600L);
+
+        ExecutionPlanner.Plan plan = ExecutionPlanner.plan(methods, history, 2, true);
+
+        // LoginFlow (800) -> thread 0, SearchFlow (600) -> 1, CartFlow (300) -> 1; methods of a class stay together
+        Assert.assertEquals(names(plan), List.of("login", "logout", "search", "add", "remove", "empty"));
+        Assert.assertEquals(plan.loads, new long[]{800, 900});
+    }
+
+    @Test
+    public void singleThreadTakesAllTheWork() {
+        List<IMethodInstance> methods = methods(LoginFlow.class, "a", "b");
+
+        ExecutionPlanner.Plan plan = ExecutionPlanner.plan(methods,
+                Map.of(name(LoginFlow.class, "a"), 10L, name(LoginFlow.class, "b"), 20L), 1, false);
+
+        Assert.assertEquals(names(plan), List.of("b", "a"));
+        Assert.assertEquals(plan.loads, new long[]{30});
+    }
+
+    private static List<String> names(ExecutionPlanner.Plan plan) {
+        List<String> names = new ArrayList<>();
+        plan.order.forEach(method -> names.add(method.getMethod().getMethodName()));
+        return names;
+    }
+
+    private static String name(Class<?> testClass, String method) {
+        return testClass.getName() + "." + method;
+    }
+
+    private static List<IMethodInstance> methods(Class<?> testClass, String... names) {
+        List<IMethodInstance> methods = new ArrayList<>();
+        for (String name : names) {
+            ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(ExecutionPlannerTest.class.getClassLoader(),
+                    new Class<?>[]{ITestNGMethod.class}, (proxy, called, args) -> {
+                        switch (called.getName()) {
+                            case "getMethodName":
+                                return name;
+                            case "getQualifiedName":
+                                return name(testClass, name);
+                            case "getRealClass":
+                                return testClass;
+                            default:
+                                throw new UnsupportedOperationException(called.getName());
+                        }
+                    });
+            methods.add((IMethodInstance) Proxy.newProxyInstance(ExecutionPlannerTest.class.getClassLoader(),
+                    new Class<?>[]{IMethodInstance.class}, (proxy, called, args) -> {
+                        switch (called.getName()) {
+                            case "getMethod":
+                                return method;
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            case "toString":
+                                return name;
+                            default:
+                                throw new UnsupportedOperationException(called.getName());
+                        }
+                    }));
+        }
+        return methods;
+    }
+
+    private static final class LoginFlow {
+    }
+
+    private static final class CartFlow {
+    }
+
+    private static final class SearchFlow {
+    }
+}
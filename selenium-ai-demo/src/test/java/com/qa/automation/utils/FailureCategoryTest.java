@@ -0,0 +1,65 @@
+package com.qa.automation.utils;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.SocketTimeoutException;
+
+/**
+ * Classification of test failures into transient and genuine categories
+ */
+public class FailureCategoryTest {
+
+    @Test
+    public void timingAndInfrastructureFailuresAreTransient() {
+        Assert.assertEquals(FailureCategory.classify(new TimeoutException("Expected condition failed")), FailureCategory.TIMEOUT);
+        Assert.assertEquals(FailureCategory.classify(new java.util.concurrent.TimeoutException()), FailureCategory.TIMEOUT);
+        Assert.assertEquals(FailureCategory.classify(new SocketTimeoutException("Read timed out")), FailureCategory.TIMEOUT);
+        Assert.assertEquals(FailureCategory.classify(new StaleElementReferenceException("stale")), FailureCategory.STALE_ELEMENT);
+        Assert.assertEquals(FailureCategory.classify(new NoSuchSessionException("gone")), FailureCategory.SESSION_LOST);
+        Assert.assertEquals(FailureCategory.classify(new UnreachableBrowserException("no answer")), FailureCategory.SESSION_LOST);
+        Assert.assertEquals(FailureCategory.classify(new WebDriverException("chrome not reachable")), FailureCategory.SESSION_LOST);
+        Assert.assertEquals(FailureCategory.classify(new WebDriverException("invalid session id")), FailureCategory.SESSION_LOST);
+        for (FailureCategory category : new FailureCategory[] {FailureCategory.TIMEOUT, FailureCategory.STALE_ELEMENT,
+                FailureCategory.SESSION_LOST}) {
+            Assert.assertTrue(category.isTransient(), category.name());
+        }
+    }
+
+    @Test
+    public void assertionsAndEverythingElseAreGenuine() {
+        Assert.assertEquals(FailureCategory.classify(new AssertionError("expected [1] but found [2]")), FailureCategory.ASSERTION);
+        Assert.assertEquals(FailureCategory.classify(new WebDriverException("element click intercepted")), FailureCategory.OTHER);
+        Assert.assertEquals(FailureCategory.classify(new IllegalStateException("bad data")), FailureCategory.OTHER);
+        Assert.assertEquals(FailureCategory.classify(null), FailureCategory.OTHER);
+        Assert.assertFalse(FailureCategory.ASSERTION.isTransient());
+        Assert.assertFalse(FailureCategory.OTHER.isTransient());
+    }
+
+    @Test
+    public void wrappersAreClassifiedByTheirCause() {
+        // Cucumber and TestNG wrap step failures; the cause decides
+        Throwable wrappedStale = new RuntimeException("Step failed", new StaleElementReferenceException("stale"));
+        Assert.assertEquals(FailureCategory.classify(wrappedStale), FailureCategory.STALE_ELEMENT);
+        Throwable assertionAroundSession = new AssertionError("Test failed", new NoSuchSessionException("gone"));
+        Assert.assertEquals(FailureCategory.classify(assertionAroundSession), FailureCategory.SESSION_LOST);
+        Throwable assertionAroundBug = new AssertionError("Test failed", new IllegalStateException("bad data"));
+        Assert.assertEquals(FailureCategory.classify(assertionAroundBug), FailureCategory.ASSERTION);
+    }
+
+    @Test
+    public void oneGenuineSuppressedFailureMakesTheWholeFailureGenuine() {
+        AssertionError flakyOnly = new AssertionError("2 scenario(s) failed", new TimeoutException("slow page"));
+        flakyOnly.addSuppressed(new StaleElementReferenceException("stale"));
+        Assert.assertEquals(FailureCategory.classify(flakyOnly), FailureCategory.TIMEOUT);
+
+        AssertionError withGenuine = new AssertionError("2 scenario(s) failed", new TimeoutException("slow page"));
+        withGenuine.addSuppressed(new AssertionError("expected [1] but found [2]"));
+        Assert.assertEquals(FailureCategory.classify(withGenuine), FailureCategory.ASSERTION);
+    }
+}
@@ -0,0 +1,217 @@
+package com.qa.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rendering event logs written to a temporary directory as HTML, in one pass and incrementally
+ */
+public class LiveReportTest {
+
+    private static final String RELOAD = "location.reload()";
+
+    private Path directory;
+    private Path log;
+    private Path html;
+
+    @BeforeMethod
+    public void createDirectory() throws IOException {
+        directory = TemporaryDirectories.create("live-report");
+        log = directory.resolve("events.jsonl");
+        html = directory.resolve("report.html");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeDirectory() throws IOException {
+        TemporaryDirectories.delete(directory);
+    }
+
+    @Test
+    public void finishedRunListsEveryTestWithItsOutcome() throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(event("suite-start", "name", "Regression"));
+        lines.add(event("test-start", "id", "1", "name", "login", "class", "LoginTest"));
+        lines.add(event("test-start", "id", "2", "name", "checkout", "class", "CartTest"));
+        lines.add(event("log", "id", "1", "status", "INFO", "details", "Step 1: <b>open</b> the login page"));
+        lines.add(event("test-end", "id", "1", "status", "PASS", "millis", 1200L));
+        lines.add(event("screenshot-queued", "id", "2"));
+        lines.add(event("test-end", "id", "2", "status", "FAIL", "millis", 300L,
+                "error", "expected <total> but found \"0\""));
+        // Screenshots are stored after the test has ended
+        lines.add(event("screenshot", "id", "2", "title", "Failure", "path", "screenshots/checkout.png"));
+        lines.add(event("test-start", "id", "3", "name", "search", "class", "SearchTest"));
+        lines.add(event("test-end", "id", "3", "status", "RETRY", "millis", 50L));
+        lines.add(event("test-start", "id", "4", "name", "search", "class", "SearchTest"));
+        lines.add(event("test-end", "id", "4", "status", "SKIP", "millis", 0L));
+        lines.add(event("suite-end", "name", "Regression"));
+        Files.write(log, lines, StandardCharsets.UTF_8);
+
+        new LiveReport(log, html).render(false);
+        String page = read();
+
+        Assert.assertTrue(page.contains("<td class='PASS'>PASS</td><td>login</td><td>LoginTest</td><td>1200 ms</td>"), page);
+        Assert.assertTrue(page.contains("<span class='INFO'>INFO</span> Step 1: <b>open</b> the login page"),
+                "log details are HTML, as in the Extent report: " + page);
+        Assert.assertTrue(page.contains("<td class='FAIL'>FAIL</td><td>checkout</td><td>CartTest</td><td>300 ms</td>"), page);
+        Assert.assertTrue(page.contains("expected &lt;total&gt; but found &quot;0&quot;"), "errors are escaped: " + page);
+        Assert.assertTrue(page.contains("<a href='screenshots/checkout.png' target='_blank'>Failure</a>"), page);
+        Assert.assertTrue(page.contains("Passed: 1 &middot; Failed: 1 &middot; Skipped: 1 &middot; Retried: 1 &middot; Updated:"),
+                page);
+        Assert.assertTrue(page.contains("<h1>Regression</h1>"), page);
+        Assert.assertFalse(page.contains(RELOAD), "a finished report does not reload");
+        Assert.assertFalse(page.contains("RUNNING</td>"), page);
+    }
+
+    @Test
+    public void runningSuiteShowsTestsInFlightAndReloads() throws IOException {
+        Files.write(log, List.of(
+                event("suite-start", "name", "Smoke"),
+                event("test-start", "id", "1", "name", "login", "class", "LoginTest"),
+                event("test-start", "id", "2", "name", "upload", "class", "FileTest"),
+                event("screenshot-queued", "id", "2"),
+                event("screenshot", "id", "2", "title", "Before upload"),
+                event("test-end", "id", "1", "status", "PASS", "millis", 10L)), StandardCharsets.UTF_8);
+
+        new LiveReport(log, html).render(true);
+        String page = read();
+
+        Assert.assertTrue(page.contains(RELOAD), page);
+        Assert.assertTrue(page.contains("<h1>Smoke (running)</h1>"), page);
+        Assert.assertTrue(page.contains("<td class='RUNNING'>RUNNING</td><td>upload</td><td>FileTest</td>"), page);
+        Assert.assertTrue(page.contains("Before upload (embedded in the Extent report)"), page);
+        Assert.assertTrue(page.contains("Running: 1"), page);
+    }
+
+    @Test
+    public void laterRendersAppendOnlyWhatWasLoggedSince() throws IOException {
+        Files.write(log, List.of(
+                event("suite-start", "name", "Nightly"),
+                event("test-start", "id", "1", "name", "login", "class", "LoginTest"),
+                event("test-end", "id", "1", "status", "PASS", "millis", 5L),
+                event("test-start", "id", "2", "name", "checkout", "class", "CartTest")), StandardCharsets.UTF_8);
+        LiveReport report = new LiveReport(log, html);
+        report.render(true);
+        Assert.assertTrue(read().contains("<td class='RUNNING'>RUNNING</td><td>checkout</td>"));
+
+        Files.write(log, List.of(event("test-end", "id", "2", "status", "FAIL", "millis", 7L, "error", "boom")),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        report.render(true);
+        String page = read();
+
+        Assert.assertEquals(count(page, "<td>login</td>"), 1, "rows already written are not rendered again");
+        Assert.assertTrue(page.indexOf("<td>login</td>") < page.indexOf("<td class='FAIL'>FAIL</td><td>checkout</td>"), page);
+        Assert.assertFalse(page.contains("RUNNING</td>"), page);
+        Assert.assertTrue(page.contains("Passed: 1 &middot; Failed: 1"), "earlier events are not counted again: " + page);
+        Assert.assertTrue(page.endsWith("</body></html>"), page);
+    }
+
+    @Test
+    public void lineStillBeingWrittenIsReadByTheNextRender() throws IOException {
+        String start = event("test-start", "id", "1", "name", "login", "class", "LoginTest") + "\n";
+        String end = event("test-end", "id", "1", "status", "PASS", "millis", 5L) + "\n";
+        int half = end.length() / 2;
+        Files.writeString(log, start + end.substring(0, half), StandardCharsets.UTF_8);
+        LiveReport report = new LiveReport(log, html);
+        report.render(true);
+        Assert.assertTrue(read().contains("<td class='RUNNING'>RUNNING</td><td>login</td>"));
+
+        Files.writeString(log, end.substring(half), StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        report.render(true);
+
+        Assert.assertTrue(read().contains("<td class='PASS'>PASS</td><td>login</td>"), read());
+    }
+
+    @Test
+    public void rowWaitsForItsScreenshotsUntilTheFinalRender() throws IOException {
+        Files.write(log, List.of(
+                event("test-start", "id", "1", "name", "checkout", "class", "CartTest"),
+                event("screenshot-queued", "id", "1"),
+                event("screenshot-queued", "id", "1"),
+                event("screenshot-queued", "id", "1"),
+                event("test-end", "id", "1", "status", "FAIL", "millis", 3L),
+                event("screenshot", "id", "1", "title", "Step 1", "path", "shots/1.png"),
+                event("screenshot-missing", "id", "1", "title", "Step 2")), StandardCharsets.UTF_8);
+        LiveReport report = new LiveReport(log, html);
+
+        report.render(true);
+        Assert.assertTrue(read().contains("<td class='FAIL'>FAIL</td><td>checkout</td>"), "shown while it waits: " + read());
+        report.render(false);
+        String page = read();
+
+        Assert.assertEquals(count(page, "<td>checkout</td>"), 1, page);
+        Assert.assertTrue(page.contains("<a href='shots/1.png' target='_blank'>Step 1</a>"), page);
+        Assert.assertTrue(page.contains("Step 2 (not available)"), page);
+        Assert.assertFalse(page.contains(RELOAD), page);
+
+        Files.write(log, List.of(event("test-start", "id", "2", "name", "late", "class", "CartTest")),
+                StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+        report.render(true);
+        Assert.assertEquals(read(), page, "a finished report is not rendered again");
+    }
+
+    @Test
+    public void lineCutOffByACrashIsIgnored() throws IOException {
+        String complete = String.join("\n",
+                event("suite-start", "name", "Nightly"),
+                event("test-start", "id", "1", "name", "login", "class", "LoginTest"),
+                event("test-end", "id", "1", "status", "PASS", "millis", 5L),
+                "",
+                event("test-start", "id", "2", "name", "checkout", "class", "CartTest"));
+        String crashed = complete + "\n{\"time\":\"2026-01-15T09:30:00Z\",\"event\":\"test-e";
+        Files.writeString(log, crashed, StandardCharsets.UTF_8);
+
+        new LiveReport(log, html).render(false);
+        String page = read();
+
+        Assert.assertTrue(page.contains("<td class='PASS'>PASS</td><td>login</td>"), page);
+        Assert.assertTrue(page.contains("Passed: 1 &middot; Failed: 0"), page);
+        Assert.assertTrue(page.endsWith("</body></html>"), page);
+    }
+
+    @Test
+    public void eventValuesSurviveTheJsonLine() throws IOException {
+        String error = "line one\nline \"two\"\t\\ end \u0001";
+        Files.write(log, List.of(
+                event("test-start", "id", "1", "name", "login", "class", "LoginTest"),
+                event("test-end", "id", "1", "status", "FAIL", "millis", 1L, "error", error)), StandardCharsets.UTF_8);
+        Assert.assertFalse(Files.readAllLines(log).get(1).contains("\n"));
+
+        new LiveReport(log, html).render(false);
+
+        Assert.assertTrue(read().contains("line one\nline &quot;two&quot;\t\\ end \u0001"));
+    }
+
+    private String read() throws IOException {
+        return Files.readString(html, StandardCharsets.UTF_8);
+    }
+
+    private static int count(String text, String part) {
+        int count = 0;
+        for (int at = text.indexOf(part); at >= 0; at = text.indexOf(part, at + part.length())) {
+            count++;
+        }
+        return count;
+    }
+
+    private static String event(String type, Object... fields) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("time", "2026-01-15T09:30:00Z");
+        event.put("event", type);
+        for (int i = 0; i < fields.length; i += 2) {
+            event.put((String) fields[i], fields[i + 1]);
+        }
+        return ReportEventLog.toJson(event);
+    }
+}
@@ -0,0 +1,84 @@
+package com.qa.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Writing the event log of a suite to a temporary directory, and rendering it when the suite ends
+ */
+public class ReportEventLogTest {
+
+    private Path directory;
+    private Path log;
+
+    @BeforeMethod
+    public void useTemporaryLog() throws IOException {
+        directory = TemporaryDirectories.create("event-log");
+        log = directory.resolve("events.jsonl");
+        System.setProperty("report.eventLog", log.toString());
+        ConfigReader.reload();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTemporaryLog() throws IOException {
+        System.clearProperty("report.eventLog");
+        ConfigReader.reload();
+        TemporaryDirectories.delete(directory);
+    }
+
+    @Test
+    public void finishedSuiteClosesItsLogAndRendersTheFinalReport() throws IOException {
+        ReportEventLog.suiteStarted("First");
+        ReportEventLog.testStarted("1", null, "login", "LoginTest");
+        ReportEventLog.screenshotQueued("1");
+        ReportEventLog.testFinished("1", null, "FAIL", 5, "boom");
+        ReportEventLog.screenshot("1", "screenshots/login.png", "Failure");
+        ReportEventLog.screenshot(null, "screenshots/other.png", "Without a test");
+        ReportEventLog.suiteFinished("First");
+
+        Assert.assertEquals(events(), List.of("suite-start", "test-start", "screenshot-queued", "test-end", "screenshot",
+                "suite-end"));
+        String page = Files.readString(ReportEventLog.getLiveReportFile(), StandardCharsets.UTF_8);
+        Assert.assertTrue(page.contains("<h1>First</h1>"), page);
+        Assert.assertTrue(page.contains("<td class='FAIL'>FAIL</td><td>login</td>"), page);
+        Assert.assertTrue(page.contains("screenshots/login.png"), page);
+        Assert.assertFalse(page.contains("location.reload()"), page);
+
+        ReportEventLog.renderLive();
+        Assert.assertEquals(Files.readString(ReportEventLog.getLiveReportFile(), StandardCharsets.UTF_8), page,
+                "nothing is rendered between suites");
+    }
+
+    @Test
+    public void nextSuiteStartsANewLog() throws IOException {
+        ReportEventLog.suiteStarted("First");
+        ReportEventLog.suiteFinished("First");
+
+        ReportEventLog.suiteStarted("Second");
+        ReportEventLog.testStarted("1", null, "login", "LoginTest");
+        ReportEventLog.renderLive();
+        String running = Files.readString(ReportEventLog.getLiveReportFile(), StandardCharsets.UTF_8);
+        ReportEventLog.suiteFinished("Second");
+
+        Assert.assertEquals(events(), List.of("suite-start", "test-start", "suite-end"));
+        Assert.assertTrue(Files.readAllLines(log).get(0).contains("\"Second\""));
+        Assert.assertTrue(running.contains("<h1>Second (running)</h1>"), running);
+        Assert.assertTrue(running.contains("<td class='RUNNING'>RUNNING</td><td>login</td>"), running);
+        Assert.assertFalse(running.contains("First"), "the report of the first suite is replaced: " + running);
+    }
+
+    private List<String> events() throws IOException {
+        return Files.readAllLines(log, StandardCharsets.UTF_8).stream()
+                .map(line -> line.replaceAll(".*\"event\":\"([^\"]+)\".*", "$1"))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,126 @@
+package com.qa.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Writing and reading the binary results store in a temporary file, including a file left with a
+ * torn last record by a killed run
+ */
+public class ResultsStoreTest {
+
+    private Path directory;
+    private Path store;
+
+    @BeforeMethod
+    public void useTemporaryStore() throws IOException {
+        directory = TemporaryDirectories.create("results-store");
+        store = directory.resolve("results.bin");
+        ResultsStore.close();
+        System.setProperty("results.store", store.toString());
+        ConfigReader.reload();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTemporaryStore() throws IOException {
+        ResultsStore.close();
+        System.clearProperty("results.store");
+        ConfigReader.reload();
+        TemporaryDirectories.delete(directory);
+    }
+
+    @Test
+    public void recordsAreReadBackInOrder() {
+        ResultsStore.recordTest("LoginTest.validLogin", "LoginTest.validLogin#1", ResultsStore.Outcome.RETRY, 1,
+                1_000, 250, "TIMEOUT", "Timed out after 10 seconds");
+        ResultsStore.recordTest("LoginTest.validLogin", "LoginTest.validLogin#2", ResultsStore.Outcome.PASS, 2,
+                1_300, 200, null, null);
+        ResultsStore.recordStep("Valid login", "Step 1", ResultsStore.Outcome.PASS, 1, 1_310, 40);
+        ResultsStore.recordScreenshot("LoginTest.validLogin#2", "Failure Screenshot", "screenshots/ab12.png");
+        ResultsStore.close();
+
+        List<ResultsStore.Result> results = scanAll();
+        Assert.assertEquals(results.size(), 4);
+
+        ResultsStore.Result retried = results.get(0);
+        Assert.assertEquals(retried.getKind(), ResultsStore.Kind.TEST);
+        Assert.assertEquals(retried.getName(), "LoginTest.validLogin");
+        Assert.assertEquals(retried.getTest(), "LoginTest.validLogin#1");
+        Assert.assertEquals(retried.getOutcome(), ResultsStore.Outcome.RETRY);
+        Assert.assertEquals(retried.getAttempt(), 1);
+        Assert.assertEquals(retried.getStartMillis(), 1_000);
+        Assert.assertEquals(retried.getDurationMillis(), 250);
+        Assert.assertEquals(retried.getCategory(), "TIMEOUT");
+        Assert.assertEquals(retried.getDetail(), "Timed out after 10 seconds");
+
+        Assert.assertEquals(results.get(1).getOutcome(), ResultsStore.Outcome.PASS);
+        Assert.assertEquals(results.get(1).getCategory(), "", "missing texts are read back empty");
+        Assert.assertEquals(results.get(2).getKind(), ResultsStore.Kind.STEP);
+        Assert.assertEquals(results.get(2).getTest(), "Valid login");
+        Assert.assertEquals(results.get(3).getKind(), ResultsStore.Kind.SCREENSHOT);
+        Assert.assertEquals(results.get(3).getDetail(), "screenshots/ab12.png");
+
+        ResultsStore.Run run = retried.getRun();
+        Assert.assertEquals(run.getEnvironment(), ConfigReader.getEnvironment());
+        Assert.assertEquals(run.getBrowser(), ConfigReader.getBrowser());
+
+        List<ResultsStore.RunSummary> runs = ResultsStore.runs(store, 0);
+        Assert.assertEquals(runs.size(), 1);
+        Assert.assertEquals(runs.get(0).count(ResultsStore.Outcome.PASS), 1);
+        Assert.assertEquals(runs.get(0).count(ResultsStore.Outcome.RETRY), 1);
+        Assert.assertEquals(ResultsStore.history(store, "LoginTest.validLogin", 0).size(), 2);
+    }
+
+    @Test
+    public void tornLastRecordIsIgnoredAndCutBeforeTheNextRun() throws IOException {
+        ResultsStore.recordTest("CartTest.addItem", "CartTest.addItem#1", ResultsStore.Outcome.PASS, 1, 1_000, 10, null, null);
+        ResultsStore.close();
+        long complete = Files.size(store);
+
+        // A run killed while writing: the length of a 40-byte record and only part of its body
+        ByteBuffer torn = ByteBuffer.allocate(10).putInt(40).put("RESU".getBytes(StandardCharsets.US_ASCII));
+        Files.write(store, torn.array(), StandardOpenOption.APPEND);
+
+        Assert.assertEquals(scanAll().size(), 1, "readers stop quietly at the torn record");
+
+        ResultsStore.recordTest("CartTest.addItem", "CartTest.addItem#1", ResultsStore.Outcome.FAIL, 1, 2_000, 10, "ASSERTION", "expected 1");
+        ResultsStore.close();
+
+        List<ResultsStore.Result> results = scanAll();
+        Assert.assertEquals(results.size(), 2);
+        Assert.assertEquals(results.get(1).getOutcome(), ResultsStore.Outcome.FAIL);
+        Assert.assertEquals(ResultsStore.runs(store, 0).size(), 2);
+        Assert.assertEquals(ResultsStore.runs(store, 1).size(), 1, "only the most recent run");
+        Assert.assertTrue(Files.size(store) > complete);
+    }
+
+    @Test
+    public void fileWithAnotherHeaderIsRejectedAndLeftAlone() throws IOException {
+        byte[] foreign = "NOT A RESULTS STORE".getBytes(StandardCharsets.US_ASCII);
+        Files.write(store, foreign);
+
+        RuntimeException error = Assert.expectThrows(RuntimeException.class, this::scanAll);
+        Assert.assertTrue(error.getMessage().contains("Not a results store"), error.getMessage());
+
+        ResultsStore.recordTest("CartTest.addItem", "CartTest.addItem#1", ResultsStore.Outcome.PASS, 1, 1_000, 10, null, null);
+        ResultsStore.close();
+        Assert.assertEquals(Files.readAllBytes(store), foreign, "a foreign file is never appended to");
+    }
+
+    private List<ResultsStore.Result> scanAll() {
+        List<ResultsStore.Result> results = new ArrayList<>();
+        ResultsStore.scan(store, run -> true, results::add);
+        return results;
+    }
+}
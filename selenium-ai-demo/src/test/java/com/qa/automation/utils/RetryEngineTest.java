@@ -0,0 +1,91 @@
+package com.qa.automation.utils;
+
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Retry decisions: only transient failures, at most {@code retry.maxAttempts} per test and
+ * {@code retry.budget} per run
+ */
+public class RetryEngineTest {
+
+    @BeforeMethod
+    public void smallBudget() {
+        System.setProperty("retry.budget", "2");
+        System.setProperty("retry.maxAttempts", "1");
+        ConfigReader.reload();
+        RetryEngine.reset();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void restoreConfig() {
+        System.clearProperty("retry.budget");
+        System.clearProperty("retry.maxAttempts");
+        ConfigReader.reload();
+        RetryEngine.reset();
+    }
+
+    @Test
+    public void budgetLimitsRetriesAcrossTheRun() {
+        Assert.assertTrue(RetryEngine.shouldRetry(failed("CheckoutTest.pay", new TimeoutException("slow")), 0));
+        Assert.assertTrue(RetryEngine.shouldRetry(failed("CheckoutTest.refund", new TimeoutException("slow")), 0));
+
+        Assert.assertFalse(RetryEngine.shouldRetry(failed("CheckoutTest.cancel", new TimeoutException("slow")), 0),
+                "budget of 2 used up");
+        Assert.assertEquals(RetryEngine.getRetriesUsed(), 2, "a refused retry does not count");
+    }
+
+    @Test
+    public void eachTestIsRetriedAtMostMaxAttemptsTimes() {
+        Assert.assertTrue(RetryEngine.shouldRetry(failed("CheckoutTest.pay", new TimeoutException("slow")), 0));
+        Assert.assertFalse(RetryEngine.shouldRetry(failed("CheckoutTest.pay", new TimeoutException("slow again")), 1));
+        Assert.assertEquals(RetryEngine.getRetriesUsed(), 1);
+    }
+
+    @Test
+    public void genuineFailuresAreNotRetriedAndKeepTheirCategory() {
+        ITestResult result = failed("CheckoutTest.total", new AssertionError("expected [10] but found [12]"));
+
+        Assert.assertFalse(RetryEngine.shouldRetry(result, 0));
+        Assert.assertEquals(result.getAttribute(RetryEngine.CATEGORY_ATTRIBUTE), FailureCategory.ASSERTION.name());
+        Assert.assertEquals(RetryEngine.getRetriesUsed(), 0, "no budget spent");
+    }
+
+    private static ITestResult failed(String qualifiedName, Throwable failure) {
+        ITestNGMethod method = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[] {ITestNGMethod.class}, (proxy, called, args) -> {
+                    if (called.getName().equals("getQualifiedName")) {
+                        return qualifiedName;
+                    }
+                    throw new UnsupportedOperationException(called.getName());
+                });
+        Map<String, Object> attributes = new HashMap<>();
+        return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(), new Class<?>[] {ITestResult.class},
+                (proxy, called, args) -> {
+                    switch (called.getName()) {
+                        case "getMethod":
+                            return method;
+                        case "getThrowable":
+                            return failure;
+                        case "getParameters":
+                            return new Object[0];
+                        case "setAttribute":
+                            attributes.put((String) args[0], args[1]);
+                            return null;
+                        case "getAttribute":
+                            return attributes.get(args[0]);
+                        default:
+                            throw new UnsupportedOperationException(called.getName());
+                    }
+                });
+    }
+}
@@ -0,0 +1,69 @@
+package com.qa.automation.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Small .xlsx files for the Excel tests, written with POI's XSSF model so they look like files
+ * saved by Excel: strings go to the shared string table and dates get a date format.
+ */
+final class Workbooks {
+
+    /**
+     * Format of the date cells written by {@link #write(Path, String, Object[]...)}
+     */
+    static final String DATE_FORMAT = "yyyy-mm-dd hh:mm";
+
+    private Workbooks() {
+    }
+
+    /**
+     * Write a workbook with one sheet
+     * @param rows cell values by row, starting with the header row; a null row is left out of the
+     *             sheet and a null value leaves its cell out, as Excel does for empty cells
+     */
+    static void write(Path file, String sheetName, Object[]... rows) throws IOException {
+        try (XSSFWorkbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat(DATE_FORMAT));
+            Sheet sheet = workbook.createSheet(sheetName);
+            for (int r = 0; r < rows.length; r++) {
+                if (rows[r] == null) {
+                    continue;
+                }
+                Row row = sheet.createRow(r);
+                for (int c = 0; c < rows[r].length; c++) {
+                    Object value = rows[r][c];
+                    if (value != null) {
+                        setValue(row.createCell(c), value, dateStyle);
+                    }
+                }
+            }
+            workbook.write(out);
+        }
+    }
+
+    private static void setValue(Cell cell, Object value, CellStyle dateStyle) {
+        if (value instanceof String) {
+            cell.setCellValue((String) value);
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else if (value instanceof LocalDateTime) {
+            cell.setCellValue((LocalDateTime) value);
+            cell.setCellStyle(dateStyle);
+        } else {
+            throw new IllegalArgumentException("Unsupported test value: " + value.getClass().getName());
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.qa.automation.base;
+
+import org.openqa.selenium.WebDriver;
+
+/**
+ * A test, or test world, that can hand out the driver it is running on. Listeners use it to reach
+ * the driver of a failing test without reflection, however deep the test's class hierarchy is.
+ * {@link BaseTest} implements it, so every test and every Cucumber {@code ScenarioContext} does too.
+ */
+public interface DriverAware {
+
+    /**
+     * Driver of the test or scenario that is running
+     * @return WebDriver instance, or null when no driver is active
+     */
+    WebDriver getDriver();
+
+    /**
+     * Called by the test listener once a finished test has been reported. A test that keeps its
+     * driver after the test method, so the listener can still take the failure screenshot,
+     * returns it here.
+     */
+    default void releaseReported() {
+    }
+
+    /**
+     * Driver of a test instance: its own when it is driver-aware, otherwise the one bound to the
+     * current thread, which is the test's thread for TestNG methods and data provider invocations
+     * @param testInstance instance the test method runs on, may be null
+     * @return WebDriver instance, or null when none is active
+     */
+    static WebDriver driverOf(Object testInstance) {
+        if (testInstance instanceof DriverAware) {
+            WebDriver driver = ((DriverAware) testInstance).getDriver();
+            if (driver != null) {
+                return driver;
+            }
+        }
+        return DriverContext.getDriver();
+    }
+}
@@ -0,0 +1,138 @@
+package com.qa.automation.base;
+
+import com.aventstack.extentreports.ExtentTest;
+import org.testng.ITestResult;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Report entries of the tests that are currently running, keyed by a unique invocation id:
+ * class, method, a hash of the parameters and the attempt number, e.g.
+ * {@code com.qa.automation.tests.ExampleTest.exampleGoogleSearchTest#1} or
+ * {@code com.qa.automation.tests.TestRunner.runScenario[5f3a09c1]#2}. Same-named methods in
+ * different classes, data provider rows and retries therefore never overwrite each other.
+ * <p>
+ * Backed by concurrent maps, so parallel TestNG threads register and look up entries without a
+ * shared lock. An entry is removed when its test completes, so long suites do not accumulate them.
+ * The entry of the test running on the current thread is also bound in {@link DriverContext} and
+ * available to page objects through {@link #current()}.
+ */
+public final class ExtentTestRegistry {
+
+    /**
+     * Result attribute holding the invocation id
+     */
+    public static final String ID_ATTRIBUTE = "extentTestId";
+
+    private static final Map<String, ExtentTest> TESTS = new ConcurrentHashMap<>();
+    private static final Map<String, Attempts> ATTEMPTS = new ConcurrentHashMap<>();
+
+    private ExtentTestRegistry() {
+    }
+
+    /**
+     * Register the report entry of a starting test and bind it to the current thread
+     * @param result result of the starting invocation
+     * @param test its report entry
+     * @return invocation id
+     */
+    public static String register(ITestResult result, ExtentTest test) {
+        String invocation = invocationKey(result);
+        int attempt = ATTEMPTS.compute(invocation, (key, attempts) -> {
+            Attempts updated = attempts == null ? new Attempts() : attempts;
+            updated.started++;
+            updated.running++;
+            return updated;
+        }).started;
+        String id = invocation + "#" + attempt;
+        result.setAttribute(ID_ATTRIBUTE, id);
+        TESTS.put(id, test);
+        DriverContext.setTest(test);
+        return id;
+    }
+
+    /**
+     * Report entry of a running test
+     * @param result result of the invocation
+     * @return entry, or null if the invocation was not registered or has completed
+     */
+    public static ExtentTest get(ITestResult result) {
+        Object id = result.getAttribute(ID_ATTRIBUTE);
+        return id == null ? null : TESTS.get(id.toString());
+    }
+
+    /**
+     * Attempt number of an invocation: 1 for the first run, 2 for its first retry, and so on
+     * @param result result of the invocation, may be null
+     * @return attempt, 1 if the invocation was never registered
+     */
+    public static int attemptOf(ITestResult result) {
+        Object id = result == null ? null : result.getAttribute(ID_ATTRIBUTE);
+        if (id == null) {
+            return 1;
+        }
+        String text = id.toString();
+        return Integer.parseInt(text.substring(text.lastIndexOf('#') + 1));
+    }
+
+    /**
+     * Report entry by invocation id
+     * @param id id returned by {@link #register(ITestResult, ExtentTest)}
+     * @return entry, or null if unknown or completed
+     */
+    public static ExtentTest get(String id) {
+        return TESTS.get(id);
+    }
+
+    /**
+     * Report entry of the test running on the current thread, for page objects and helpers
+     * @return entry, or null outside of a test
+     */
+    public static ExtentTest current() {
+        return DriverContext.getTest();
+    }
+
+    /**
+     * Forget a finished invocation and clear the current thread's binding. The attempt counter is
+     * kept while the test is about to be retried, so the retry gets the next attempt number.
+     * @param result result of the finished invocation
+     */
+    public static void complete(ITestResult result) {
+        Object id = result.getAttribute(ID_ATTRIBUTE);
+        if (id != null) {
+            TESTS.remove(id.toString());
+            boolean retrying = result.wasRetried();
+            ATTEMPTS.computeIfPresent(invocationKey(result), (key, attempts) -> {
+                attempts.running--;
+                return attempts.running <= 0 && !retrying ? null : attempts;
+            });
+        }
+        DriverContext.clearTest();
+    }
+
+    /**
+     * Number of registered invocations that have not completed
+     */
+    public static int size() {
+        return TESTS.size();
+    }
+
+    private static String invocationKey(ITestResult result) {
+        String name = result.getMethod().getRealClass().getName() + "." + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        if (parameters == null || parameters.length == 0) {
+            return name;
+        }
+        return name + "[" + String.format("%08x", Arrays.deepHashCode(parameters)) + "]";
+    }
+
+    /**
+     * Invocations of one test and parameter set: started so far, and still running
+     */
+    private static final class Attempts {
+        private int started;
+        private int running;
+    }
+}
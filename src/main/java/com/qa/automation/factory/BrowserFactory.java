@@ -1,6 +1,9 @@
 package com.qa.automation.factory;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -8,84 +11,145 @@ import org.openqa.selenium.edge.EdgeDriver;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.remote.HttpCommandExecutor;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.http.ClientConfig;
 import org.openqa.selenium.safari.SafariDriver;
+import org.openqa.selenium.safari.SafariOptions;
 
+import java.net.URI;
+import java.time.Duration;
+import java.util.Collections;
+
+/**
+ * Creates WebDriver sessions, either locally or on a Selenium Grid depending on {@code execution.mode}.
+ * Remote sessions share one tuned HTTP client per Grid and are only requested once the Grid
+ * reports a free slot for the browser (see {@link GridSessionScheduler}).
+ */
 public class BrowserFactory {
 
+    private static final Logger logger = LoggerUtil.getLogger(BrowserFactory.class);
+    private static final SharedHttpClientFactory GRID_HTTP_CLIENTS = new SharedHttpClientFactory();
+
     /**
      * Factory method to create WebDriver instance based on browser type
      * @param browserType the type of browser to instantiate
      * @return WebDriver instance
      */
     public static WebDriver createDriver(BrowserType browserType) {
+        Capabilities options = createOptions(browserType);
+        if (ConfigReader.isRemoteExecution()) {
+            return createRemoteDriver(options);
+        }
+        DriverBinaryResolver.resolve(browserType);
+        switch (browserType) {
+            case CHROME:
+            case HEADLESS_CHROME:
+                return new ChromeDriver((ChromeOptions) options);
+            case FIREFOX:
+            case HEADLESS_FIREFOX:
+                return new FirefoxDriver((FirefoxOptions) options);
+            case EDGE:
+                return new EdgeDriver((EdgeOptions) options);
+            case SAFARI:
+                return new SafariDriver((SafariOptions) options);
+            default:
+                throw new IllegalArgumentException("Unsupported browser type: " + browserType);
+        }
+    }
+
+    /**
+     * W3C browser name a session of this type reports, e.g. chrome or MicrosoftEdge
+     * @param browserType the type of browser
+     * @return browser name as used in Grid slot stereotypes
+     */
+    public static String getBrowserName(BrowserType browserType) {
+        return createOptions(browserType).getBrowserName();
+    }
+
+    /**
+     * Browser options shared by local and remote sessions
+     */
+    static Capabilities createOptions(BrowserType browserType) {
         switch (browserType) {
             case CHROME:
-                return createChromeDriver(false);
+                return createChromeOptions(false);
             case HEADLESS_CHROME:
-                return createChromeDriver(true);
+                return createChromeOptions(true);
             case FIREFOX:
-                return createFirefoxDriver(false);
+                return createFirefoxOptions(false);
             case HEADLESS_FIREFOX:
-                return createFirefoxDriver(true);
+                return createFirefoxOptions(true);
             case EDGE:
-                return createEdgeDriver();
+                return createEdgeOptions();
             case SAFARI:
-                return createSafariDriver();
+                // Safari doesn't support many options like headless mode natively
+                return new SafariOptions();
             default:
                 throw new IllegalArgumentException("Unsupported browser type: " + browserType);
         }
     }
 
     /**
-     * Create Chrome WebDriver with optional headless mode
+     * Create Chrome options with optional headless mode
      */
-    private static WebDriver createChromeDriver(boolean headless) {
-        WebDriverManager.chromedriver().setup();
+    private static ChromeOptions createChromeOptions(boolean headless) {
         ChromeOptions options = new ChromeOptions();
-        
+
         if (headless) {
             options.addArguments("--headless");
         }
-        
+
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
         options.addArguments("--disable-gpu");
-        
-        return new ChromeDriver(options);
+        options.addArguments("--remote-allow-origins=*");
+        options.addArguments("--disable-software-rasterizer");
+
+        return options;
     }
 
     /**
-     * Create Firefox WebDriver with optional headless mode
+     * Create Firefox options with optional headless mode
      */
-    private static WebDriver createFirefoxDriver(boolean headless) {
-        WebDriverManager.firefoxdriver().setup();
+    private static FirefoxOptions createFirefoxOptions(boolean headless) {
         FirefoxOptions options = new FirefoxOptions();
-        
+
         if (headless) {
             options.addArguments("--headless");
         }
-        
-        return new FirefoxDriver(options);
+
+        return options;
     }
 
     /**
-     * Create Edge WebDriver
+     * Create Edge options
      */
-    private static WebDriver createEdgeDriver() {
-        WebDriverManager.edgedriver().setup();
+    private static EdgeOptions createEdgeOptions() {
         EdgeOptions options = new EdgeOptions();
         options.addArguments("--no-sandbox");
         options.addArguments("--disable-dev-shm-usage");
-        
-        return new EdgeDriver(options);
+
+        return options;
     }
 
     /**
-     * Create Safari WebDriver
-     * Note: Safari doesn't support many options like headless mode natively
+     * Start a session on the configured Grid once it has a free slot for the browser
      */
-    private static WebDriver createSafariDriver() {
-        WebDriverManager.safaridriver().setup();
-        return new SafariDriver();
+    private static WebDriver createRemoteDriver(Capabilities options) {
+        String browserName = options.getBrowserName();
+        GridSessionScheduler scheduler = GridSessionScheduler.getInstance();
+        scheduler.acquire(browserName);
+        try {
+            // Selenium Grid 4+ uses root endpoint, not /wd/hub
+            ClientConfig config = ClientConfig.defaultConfig()
+                    .baseUri(URI.create(ConfigReader.getGridUrl()))
+                    .connectionTimeout(Duration.ofSeconds(ConfigReader.getGridConnectTimeout()))
+                    .readTimeout(Duration.ofSeconds(ConfigReader.getGridReadTimeout()));
+            logger.info("Requesting " + browserName + " session from Selenium Grid at " + ConfigReader.getGridUrl());
+            return new RemoteWebDriver(new HttpCommandExecutor(Collections.emptyMap(), config, GRID_HTTP_CLIENTS), options);
+        } finally {
+            scheduler.release(browserName);
+        }
     }
 }
@@ -0,0 +1,201 @@
+package com.qa.automation.factory;
+
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.TimeoutException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Waits until a Selenium Grid has enough free capacity before the suite starts.
+ * The Grid's {@code /status} is polled with exponential backoff (doubling from the initial delay up
+ * to the maximum) until it is ready and offers the required number of free slots for the browser
+ * and platform, or until the deadline passes. The time spent waiting is logged and returned.
+ *
+ * <pre>
+ * GridReadinessProbe.Result result = new GridReadinessProbe(URI.create("http://selenium-hub:4444/"),
+ *         Duration.ofMinutes(2), Duration.ofMillis(250), Duration.ofSeconds(5), Duration.ofSeconds(10))
+ *         .await("chrome", "linux", 2);
+ * </pre>
+ */
+public final class GridReadinessProbe {
+
+    private static final Logger logger = LoggerUtil.getLogger(GridReadinessProbe.class);
+    private static final Duration INITIAL_BACKOFF = Duration.ofMillis(250);
+    private static final Duration MAX_BACKOFF = Duration.ofSeconds(5);
+    // Outcome of the one wait for the configured Grid: its result or its failure
+    private static final AtomicReference<CompletableFuture<Result>> configuredResult = new AtomicReference<>();
+
+    private final URI gridUrl;
+    private final Duration timeout;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Duration requestTimeout;
+    private final HttpClient httpClient;
+
+    /**
+     * @param gridUrl Grid base URL, e.g. http://localhost:4444/
+     * @param timeout deadline for the Grid to become ready
+     * @param initialBackoff delay after the first unsuccessful poll
+     * @param maxBackoff upper bound of the delay between polls
+     * @param requestTimeout connect and response timeout of a {@code /status} request
+     */
+    public GridReadinessProbe(URI gridUrl, Duration timeout, Duration initialBackoff, Duration maxBackoff, Duration requestTimeout) {
+        this.gridUrl = gridUrl;
+        this.timeout = timeout;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.requestTimeout = requestTimeout;
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+
+    /**
+     * Wait once per run for the configured Grid to offer {@code grid.readyMinSlots} free slots of the
+     * configured browser and {@code grid.platform}. The first caller polls; concurrent callers wait
+     * for its outcome without holding a lock, and later calls get it immediately, including a
+     * failure, so a dead Grid costs one timeout per run rather than one per caller.
+     * Does nothing in local mode.
+     * @return result of the first wait, or null in local mode
+     * @throws TimeoutException if the Grid did not get ready within {@code grid.readyTimeoutSeconds}
+     */
+    public static Result awaitConfiguredGrid() {
+        if (!ConfigReader.isRemoteExecution()) {
+            return null;
+        }
+        CompletableFuture<Result> outcome = new CompletableFuture<>();
+        CompletableFuture<Result> existing = configuredResult.compareAndExchange(null, outcome);
+        if (existing == null) {
+            try {
+                String browserName = BrowserFactory.getBrowserName(BrowserType.fromString(ConfigReader.getBrowser()));
+                GridReadinessProbe probe = new GridReadinessProbe(URI.create(ConfigReader.getGridUrl()),
+                        Duration.ofSeconds(ConfigReader.getGridReadyTimeout()), INITIAL_BACKOFF, MAX_BACKOFF,
+                        Duration.ofSeconds(ConfigReader.getGridConnectTimeout()));
+                outcome.complete(probe.await(browserName, ConfigReader.getGridPlatform(), ConfigReader.getGridReadyMinSlots()));
+            } catch (RuntimeException e) {
+                outcome.completeExceptionally(e);
+            }
+        } else {
+            outcome = existing;
+        }
+        try {
+            return outcome.join();
+        } catch (CompletionException e) {
+            // A fresh exception per caller, so every failing test gets its own stack trace
+            Throwable cause = e.getCause();
+            if (cause instanceof TimeoutException) {
+                throw new TimeoutException(cause.getMessage(), cause);
+            }
+            throw new IllegalStateException("Selenium Grid readiness check failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    /**
+     * Forget the outcome of the configured wait, so the next call polls again; for tests
+     */
+    static void resetConfiguredGrid() {
+        configuredResult.set(null);
+    }
+
+    /**
+     * Poll the Grid until it is ready and has enough free slots
+     * @param browserName W3C browser name, e.g. chrome
+     * @param platformName required platform, or null/empty for any
+     * @param minFreeSlots free slots needed before returning
+     * @return the status that satisfied the requirement and how long it took
+     * @throws TimeoutException if the deadline passes first
+     */
+    public Result await(String browserName, String platformName, int minFreeSlots) {
+        String wanted = minFreeSlots + " free " + browserName
+                + (platformName == null || platformName.isEmpty() ? "" : "/" + platformName) + " slot(s)";
+        logger.info("Waiting up to " + timeout.getSeconds() + "s for Selenium Grid at " + gridUrl + " to offer " + wanted);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long backoffNanos = initialBackoff.toNanos();
+        int attempts = 0;
+        GridStatus status = null;
+        String lastProblem = "no response";
+        while (true) {
+            attempts++;
+            try {
+                status = GridStatus.fetch(httpClient, gridUrl, requestTimeout);
+                int free = status.freeSlots(browserName, platformName);
+                if (status.isReady() && free >= minFreeSlots) {
+                    Result result = new Result(status, Duration.ofNanos(System.nanoTime() - start), attempts);
+                    logger.info("Selenium Grid ready after " + result.getWaited().toMillis() + " ms (" + attempts
+                            + " poll(s)), free slots: " + status.freeSlotsByBrowser());
+                    return result;
+                }
+                lastProblem = status.isReady() ? free + " of " + minFreeSlots + " slot(s) free" : "not ready: " + status.getMessage();
+            } catch (IOException | IllegalArgumentException e) {
+                lastProblem = e.getMessage();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for Selenium Grid", e);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException("Selenium Grid at " + gridUrl + " did not offer " + wanted + " within "
+                        + timeout.getSeconds() + "s (" + attempts + " poll(s), last: " + lastProblem + ")"
+                        + (status == null ? "" : ", free slots: " + status.freeSlotsByBrowser()));
+            }
+            logger.debug("Selenium Grid not ready (" + lastProblem + "), next poll in " + (backoffNanos / 1_000_000) + " ms");
+            sleep(Math.min(backoffNanos, remaining));
+            backoffNanos = Math.min(backoffNanos * 2, maxBackoff.toNanos());
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Selenium Grid", e);
+        }
+    }
+
+    /**
+     * Outcome of a successful wait
+     */
+    public static final class Result {
+        private final GridStatus status;
+        private final Duration waited;
+        private final int attempts;
+
+        private Result(GridStatus status, Duration waited, int attempts) {
+            this.status = status;
+            this.waited = waited;
+            this.attempts = attempts;
+        }
+
+        /**
+         * Status that satisfied the requirement
+         */
+        public GridStatus getStatus() {
+            return status;
+        }
+
+        /**
+         * Time from the first poll until the Grid had enough capacity
+         */
+        public Duration getWaited() {
+            return waited;
+        }
+
+        /**
+         * Number of {@code /status} requests sent
+         */
+        public int getAttempts() {
+            return attempts;
+        }
+    }
+}
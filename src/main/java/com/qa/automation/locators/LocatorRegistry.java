@@ -0,0 +1,404 @@
+package com.qa.automation.locators;
+
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.json.Json;
+
+import javax.xml.xpath.XPathExpressionException;
+import javax.xml.xpath.XPathFactory;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Index of every locator known to the framework, built once per JVM.
+ * Locators come from the {@link PageLocators} enum and from the external files listed in
+ * {@code locators.files}, and are namespaced per page: {@code google_home.google_search_box}.
+ * Lookups are case-insensitive hash lookups, by qualified name or, when the name is unique
+ * across pages, by bare name.
+ * The registry is validated as it is built: duplicate names and malformed XPath or CSS
+ * selectors fail the build with every problem listed, instead of surfacing mid-test.
+ *
+ * External files map {@code page.name} to {@code strategy:value}, where strategy is one of
+ * id, name, css, xpath, className, tagName, linkText or partialLinkText:
+ * <pre>
+ * # login.properties
+ * login.username=id:username
+ * login.submit=xpath://button[@type='submit']
+ * </pre>
+ * JSON files hold one object per page: {@code {"login": {"username": "id:username"}}}.
+ * Keys without a page go to the {@value #DEFAULT_PAGE} page.
+ */
+public final class LocatorRegistry {
+
+    private static final Logger logger = LoggerUtil.getLogger(LocatorRegistry.class);
+
+    public static final String DEFAULT_PAGE = "common";
+
+    private static volatile LocatorRegistry instance;
+
+    private final Map<String, Entry> byQualifiedName;
+    private final Map<String, List<Entry>> byName;
+    private final Map<String, Map<String, By>> byPage;
+
+    private LocatorRegistry(List<Entry> entries) {
+        Map<String, Entry> qualified = new HashMap<>();
+        Map<String, List<Entry>> names = new HashMap<>();
+        Map<String, Map<String, By>> pages = new LinkedHashMap<>();
+        for (Entry entry : entries) {
+            qualified.put(key(entry.page + "." + entry.name), entry);
+            names.computeIfAbsent(key(entry.name), k -> new ArrayList<>(1)).add(entry);
+            pages.computeIfAbsent(entry.page, k -> new LinkedHashMap<>()).put(entry.name, entry.locator);
+        }
+        pages.replaceAll((page, locators) -> Collections.unmodifiableMap(locators));
+        this.byQualifiedName = qualified;
+        this.byName = names;
+        this.byPage = Collections.unmodifiableMap(pages);
+    }
+
+    /**
+     * Registry built from the enum and the configured locator files, created on first use
+     * @throws IllegalStateException if a locator file cannot be read or the locators are invalid
+     */
+    public static LocatorRegistry getInstance() {
+        LocatorRegistry registry = instance;
+        if (registry == null) {
+            synchronized (LocatorRegistry.class) {
+                registry = instance;
+                if (registry == null) {
+                    registry = load(ConfigReader.getLocatorFiles());
+                    instance = registry;
+                }
+            }
+        }
+        return registry;
+    }
+
+    /**
+     * Rebuild the shared registry, e.g. after locator files were edited
+     */
+    public static synchronized LocatorRegistry reload() {
+        instance = load(ConfigReader.getLocatorFiles());
+        return instance;
+    }
+
+    /**
+     * Build a registry from the enum plus the given locator files
+     * @param files file system paths or classpath resources (.properties or .json)
+     * @return validated registry
+     * @throws IllegalStateException if a file cannot be read or the locators are invalid
+     */
+    public static LocatorRegistry load(List<String> files) {
+        long start = System.nanoTime();
+        Builder builder = new Builder();
+        for (PageLocators locator : PageLocators.values()) {
+            builder.add(locator.getPage(), locator.getLocatorName(), locator.getLocatorValue(), "enum " + locator.name());
+        }
+        for (String file : files) {
+            builder.addFile(file);
+        }
+        LocatorRegistry registry = builder.build();
+        logger.info("Locator registry loaded: " + registry.size() + " locators on " + registry.byPage.size()
+                + " pages in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return registry;
+    }
+
+    /**
+     * Look up a locator by qualified name ({@code page.name}) or by bare name
+     * @param locatorName locator name, case-insensitive
+     * @return locator
+     * @throws IllegalArgumentException if the name is unknown, or a bare name exists on several pages
+     */
+    public By get(String locatorName) {
+        Entry entry = byQualifiedName.get(key(locatorName));
+        if (entry != null) {
+            return entry.locator;
+        }
+        List<Entry> matches = byName.get(key(locatorName));
+        if (matches == null) {
+            throw new IllegalArgumentException("Locator not found: " + locatorName);
+        }
+        if (matches.size() > 1) {
+            List<String> candidates = new ArrayList<>();
+            matches.forEach(match -> candidates.add(match.page + "." + match.name));
+            throw new IllegalArgumentException("Locator name is ambiguous, qualify it with a page: "
+                    + locatorName + " " + candidates);
+        }
+        return matches.get(0).locator;
+    }
+
+    /**
+     * Look up a locator on a given page
+     * @param page page namespace, case-insensitive
+     * @param locatorName locator name, case-insensitive
+     * @return locator
+     * @throws IllegalArgumentException if the page has no such locator
+     */
+    public By get(String page, String locatorName) {
+        Entry entry = byQualifiedName.get(key(page + "." + locatorName));
+        if (entry == null) {
+            throw new IllegalArgumentException("Locator not found: " + page + "." + locatorName);
+        }
+        return entry.locator;
+    }
+
+    /**
+     * Check whether a qualified or bare locator name is known
+     */
+    public boolean contains(String locatorName) {
+        return byQualifiedName.containsKey(key(locatorName)) || byName.containsKey(key(locatorName));
+    }
+
+    /**
+     * Page namespaces in registration order
+     */
+    public Set<String> getPages() {
+        return byPage.keySet();
+    }
+
+    /**
+     * All locators of one page, by name
+     */
+    public Map<String, By> getLocators(String page) {
+        return byPage.getOrDefault(page, Collections.emptyMap());
+    }
+
+    /**
+     * Total number of locators
+     */
+    public int size() {
+        return byQualifiedName.size();
+    }
+
+    private static String key(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Parse an external locator value of the form {@code strategy:value}
+     */
+    static By parse(String spec) {
+        int separator = spec.indexOf(':');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("expected strategy:value but was '" + spec + "'");
+        }
+        String strategy = spec.substring(0, separator).trim();
+        String value = spec.substring(separator + 1).trim();
+        switch (strategy.toLowerCase(Locale.ROOT)) {
+            case "id": return By.id(value);
+            case "name": return By.name(value);
+            case "css": case "cssselector": return By.cssSelector(value);
+            case "xpath": return By.xpath(value);
+            case "classname": case "class": return By.className(value);
+            case "tagname": case "tag": return By.tagName(value);
+            case "linktext": return By.linkText(value);
+            case "partiallinktext": return By.partialLinkText(value);
+            default: throw new IllegalArgumentException("unknown locator strategy '" + strategy + "'");
+        }
+    }
+
+    /**
+     * Collects locators and reports every problem at once when built
+     */
+    private static final class Builder {
+        private final Map<String, Entry> entries = new LinkedHashMap<>();
+        private final Map<String, Entry> selectors = new HashMap<>();
+        private final List<String> problems = new ArrayList<>();
+
+        private void add(String page, String name, By locator, String source) {
+            if (page.isEmpty() || name.isEmpty() || page.contains(".")) {
+                problems.add(source + ": invalid page or locator name '" + page + "." + name + "'");
+                return;
+            }
+            Entry entry = new Entry(page, name, locator, source);
+            Entry previous = entries.putIfAbsent(key(page + "." + name), entry);
+            if (previous != null) {
+                problems.add("Duplicate locator " + page + "." + name + " in " + source
+                        + " (already defined in " + previous.source + ")");
+                return;
+            }
+            validateSelector(entry);
+            Entry sameSelector = selectors.putIfAbsent(page + "\n" + locator, entry);
+            if (sameSelector != null) {
+                logger.warn("Locators " + page + "." + sameSelector.name + " and " + page + "." + name
+                        + " use the same selector: " + locator);
+            }
+        }
+
+        private void validateSelector(Entry entry) {
+            if (!(entry.locator instanceof By.Remotable)) {
+                return;
+            }
+            By.Remotable.Parameters parameters = ((By.Remotable) entry.locator).getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            String problem = null;
+            if ("xpath".equals(parameters.using())) {
+                try {
+                    XPathFactory.newInstance().newXPath().compile(value);
+                } catch (XPathExpressionException e) {
+                    problem = "malformed XPath";
+                }
+            } else if ("css selector".equals(parameters.using())) {
+                problem = checkCss(value);
+            }
+            if (problem != null) {
+                problems.add(entry.source + ": " + problem + " in " + entry.page + "." + entry.name + ": " + value);
+            }
+        }
+
+        /**
+         * Structural CSS check: non-empty, balanced quotes, brackets and parentheses,
+         * no dangling combinator. Catches typos, not every selector the browser would reject.
+         */
+        private static String checkCss(String css) {
+            String trimmed = css.trim();
+            if (trimmed.isEmpty()) {
+                return "empty CSS selector";
+            }
+            char first = trimmed.charAt(0);
+            char last = trimmed.charAt(trimmed.length() - 1);
+            if (first == ',' || last == ',' || last == '>' || last == '+' || last == '~') {
+                return "dangling combinator in CSS selector";
+            }
+            StringBuilder open = new StringBuilder();
+            char quote = 0;
+            for (int i = 0; i < trimmed.length(); i++) {
+                char c = trimmed.charAt(i);
+                if (c == '\\') {
+                    i++;
+                } else if (quote != 0) {
+                    if (c == quote) {
+                        quote = 0;
+                    }
+                } else if (c == '"' || c == '\'') {
+                    quote = c;
+                } else if (c == '[' || c == '(') {
+                    open.append(c);
+                } else if (c == ']' || c == ')') {
+                    char expected = c == ']' ? '[' : '(';
+                    if (open.length() == 0 || open.charAt(open.length() - 1) != expected) {
+                        return "unbalanced '" + c + "' in CSS selector";
+                    }
+                    open.setLength(open.length() - 1);
+                }
+            }
+            if (quote != 0) {
+                return "unterminated string in CSS selector";
+            }
+            return open.length() == 0 ? null : "unclosed '" + open.charAt(open.length() - 1) + "' in CSS selector";
+        }
+
+        private void addFile(String file) {
+            String content;
+            try {
+                content = read(file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Cannot read locator file: " + file, e);
+            }
+            String lower = file.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".json")) {
+                addJson(file, content);
+            } else if (lower.endsWith(".properties")) {
+                addProperties(file, content);
+            } else {
+                throw new IllegalStateException("Unsupported locator file type (use .properties or .json): " + file);
+            }
+        }
+
+        private void addProperties(String file, String content) {
+            Properties properties = new Properties();
+            try (Reader reader = new StringReader(content)) {
+                properties.load(reader);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new IllegalStateException("Cannot parse locator file: " + file, e);
+            }
+            for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+                int dot = key.indexOf('.');
+                String page = dot < 0 ? DEFAULT_PAGE : key.substring(0, dot);
+                addSpec(page, key.substring(dot + 1), properties.getProperty(key), file);
+            }
+        }
+
+        private void addJson(String file, String content) {
+            Map<String, Object> root;
+            try {
+                root = new Json().toType(content, Json.MAP_TYPE);
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Cannot parse locator file: " + file, e);
+            }
+            root.forEach((page, value) -> {
+                if (value instanceof Map) {
+                    ((Map<?, ?>) value).forEach((name, spec) -> addSpec(page, String.valueOf(name), String.valueOf(spec), file));
+                } else {
+                    addSpec(DEFAULT_PAGE, page, String.valueOf(value), file);
+                }
+            });
+        }
+
+        private void addSpec(String page, String name, String spec, String file) {
+            By locator;
+            try {
+                locator = parse(spec);
+            } catch (IllegalArgumentException e) {
+                problems.add(file + ": " + page + "." + name + ": " + e.getMessage());
+                return;
+            }
+            add(page, name, locator, file);
+        }
+
+        private static String read(String file) throws IOException {
+            Path path = Paths.get(file);
+            if (Files.isRegularFile(path)) {
+                return Files.readString(path, StandardCharsets.UTF_8);
+            }
+            try (InputStream input = LocatorRegistry.class.getClassLoader().getResourceAsStream(file)) {
+                if (input == null) {
+                    throw new IOException("not found on file system or classpath");
+                }
+                return new String(input.readAllBytes(), StandardCharsets.UTF_8);
+            }
+        }
+
+        private LocatorRegistry build() {
+            if (!problems.isEmpty()) {
+                throw new IllegalStateException("Invalid locators (" + problems.size() + "):"
+                        + System.lineSeparator() + String.join(System.lineSeparator(), problems));
+            }
+            return new LocatorRegistry(new ArrayList<>(entries.values()));
+        }
+    }
+
+    /**
+     * One registered locator and where it was defined
+     */
+    private static final class Entry {
+        private final String page;
+        private final String name;
+        private final By locator;
+        private final String source;
+
+        private Entry(String page, String name, By locator, String source) {
+            this.page = page;
+            this.name = name;
+            this.locator = locator;
+            this.source = source;
+        }
+    }
+}
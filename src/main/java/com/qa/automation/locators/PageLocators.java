@@ -5,23 +5,34 @@ import org.openqa.selenium.By;
 public enum PageLocators {
 
     // Google Home Page Locators
-    GOOGLE_SEARCH_BOX("google_search_box", By.name("q")),
-    GOOGLE_SEARCH_BUTTON("google_search_button", By.xpath("//input[@name='btnK']")),
-    GOOGLE_LOGO("google_logo", By.xpath("//img[@alt='Google']")),
+    GOOGLE_SEARCH_BOX("google_home", "google_search_box", By.name("q")),
+    GOOGLE_SEARCH_BUTTON("google_home", "google_search_button", By.xpath("//input[@name='btnK']")),
+    GOOGLE_LOGO("google_home", "google_logo", By.xpath("//img[@alt='Google']")),
 
     // Add more page locators below as needed
     // Example format:
-    // PAGE_ELEMENT("locator_name", By.locatorStrategy("locator_value"))
+    // PAGE_ELEMENT("page", "locator_name", By.locatorStrategy("locator_value"))
+    // Locators can also live in external files listed in locators.files, see LocatorRegistry
     ;
 
+    private final String page;
     private final String locatorName;
     private final By locatorValue;
 
     PageLocators(String locatorName, By locatorValue) {
+        this(LocatorRegistry.DEFAULT_PAGE, locatorName, locatorValue);
+    }
+
+    PageLocators(String page, String locatorName, By locatorValue) {
+        this.page = page;
         this.locatorName = locatorName;
         this.locatorValue = locatorValue;
     }
 
+    public String getPage() {
+        return page;
+    }
+
     public String getLocatorName() {
         return locatorName;
     }
@@ -31,15 +42,11 @@ public enum PageLocators {
     }
 
     /**
-     * Get locator by name for easy reference
+     * Get locator by name for easy reference. Accepts a bare name or a page-qualified
+     * name (google_home.google_search_box) and also finds locators from external files.
      */
     public static By getLocator(String locatorName) {
-        for (PageLocators locator : PageLocators.values()) {
-            if (locator.locatorName.equalsIgnoreCase(locatorName)) {
-                return locator.locatorValue;
-            }
-        }
-        throw new IllegalArgumentException("Locator not found: " + locatorName);
+        return LocatorRegistry.getInstance().get(locatorName);
     }
 
     /**
@@ -48,7 +55,7 @@ public enum PageLocators {
     public static void printAllLocators() {
         System.out.println("Available Locators:");
         for (PageLocators locator : PageLocators.values()) {
-            System.out.println("  - " + locator.locatorName + ": " + locator.locatorValue);
+            System.out.println("  - " + locator.page + "." + locator.locatorName + ": " + locator.locatorValue);
         }
     }
 }
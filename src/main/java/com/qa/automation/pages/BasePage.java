@@ -1,35 +1,108 @@
 package com.qa.automation.pages;
 
+import com.aventstack.extentreports.ExtentTest;
+import com.qa.automation.base.DriverContext;
+import com.qa.automation.base.ExtentTestRegistry;
 import com.qa.automation.locators.PageLocators;
+import com.qa.automation.utils.ConfigReader;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.Keys;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
 /**
- * Base Page class containing common methods used across all page objects
+ * Base Page class containing common methods used across all page objects.
+ * All element interactions go through {@link WaitEngine}, which polls explicitly
+ * (the implicit wait is kept at zero) and records how long each interaction waited.
+ * Resolved elements are kept in an {@link ElementCache}, so repeated interactions with the same
+ * locator on the same page reuse the element instead of sending another find command. A cached
+ * element is handed out without an extra command; if it went stale, the command that fails on it
+ * evicts it and the interaction is retried with a fresh find.
  */
 public class BasePage {
 
+    /**
+     * Script that resolves a locator in the page and returns one plain object per match.
+     * Arguments: strategy (css selector, xpath, link text, partial link text or "elements"),
+     * locator value (or pre-resolved element list), attribute names to read.
+     */
+    private static final String READ_ELEMENTS_SCRIPT =
+            "var using = arguments[0], value = arguments[1], names = arguments[2], found = [];"
+            + "if (using === 'css selector') { found = Array.prototype.slice.call(document.querySelectorAll(value)); }"
+            + "else if (using === 'xpath') {"
+            + "  var it = document.evaluate(value, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);"
+            + "  for (var i = 0; i < it.snapshotLength; i++) { found.push(it.snapshotItem(i)); }"
+            + "} else if (using === 'link text' || using === 'partial link text') {"
+            + "  found = Array.prototype.filter.call(document.getElementsByTagName('a'), function (a) {"
+            + "    var t = (a.innerText || '').trim();"
+            + "    return using === 'link text' ? t === value : t.indexOf(value) >= 0; });"
+            + "} else { found = value; }"
+            + "return found.map(function (el) {"
+            + "  var style = window.getComputedStyle(el);"
+            + "  var shown = el.getClientRects().length > 0 && style.visibility !== 'hidden' && style.display !== 'none';"
+            + "  var attrs = {};"
+            + "  names.forEach(function (n) { var v = el.getAttribute(n); if (v !== null) { attrs[n] = v; } });"
+            + "  return { tag: el.tagName.toLowerCase(), text: shown ? (el.innerText || '').trim() : '', displayed: shown, attributes: attrs };"
+            + "});";
+
     protected WebDriver driver;
     protected WebDriverWait wait;
+    protected final WaitEngine waitEngine;
+    private final ElementCache elementCache = new ElementCache();
 
     public BasePage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        this.waitEngine = new WaitEngine(driver,
+                Duration.ofSeconds(ConfigReader.getExplicitWait()),
+                Duration.ofMillis(ConfigReader.getPollingInterval()));
     }
 
     /**
-     * Find element using PageLocators enum
+     * Create a page bound to the driver and wait of the test running on the current thread
+     */
+    public BasePage() {
+        this(DriverContext.getDriver(), DriverContext.getWait());
+    }
+
+    /**
+     * Report entry of the test running on the current thread, for logging page-level steps
+     * @return ExtentTest instance, or null outside of a test
+     */
+    protected ExtentTest getTest() {
+        return ExtentTestRegistry.current();
+    }
+
+    /**
+     * Find element using PageLocators enum, waiting until it is present.
+     * The element finds itself again if a command on it fails because it went stale.
      */
     protected WebElement findElement(PageLocators locator) {
-        return driver.findElement(locator.getLocatorValue());
+        return reResolving("find " + locator.getLocatorName(), locator.getLocatorValue());
     }
 
     /**
-     * Find element using locator name string
+     * Find element using locator name string, waiting until it is present.
+     * The element finds itself again if a command on it fails because it went stale.
      */
     protected WebElement findElement(String locatorName) {
-        return driver.findElement(PageLocators.getLocator(locatorName));
+        return reResolving("find " + locatorName, PageLocators.getLocator(locatorName));
     }
 
     /**
@@ -43,47 +116,252 @@ public class BasePage {
      * Get current page URL
      */
     public String getCurrentUrl() {
-        return driver.getCurrentUrl();
+        String url = driver.getCurrentUrl();
+        elementCache.scopeTo(url);
+        return url;
     }
 
     /**
      * Navigate to URL
      */
     public void navigateTo(String url) {
+        elementCache.invalidate();
         driver.get(url);
     }
 
     /**
-     * Check if element is displayed
+     * Check if element is displayed right now. Returns immediately instead of waiting
+     * for an element that is not there.
      */
     protected boolean isElementDisplayed(PageLocators locator) {
-        try {
-            return findElement(locator).isDisplayed();
-        } catch (Exception e) {
-            return false;
-        }
+        return waitEngine.check(cached(locator.getLocatorValue(), WebElement::isDisplayed));
     }
 
     /**
-     * Get element text
+     * Wait until element is displayed
+     */
+    protected WebElement waitForElementVisible(PageLocators locator) {
+        return waitEngine.until("visible " + locator.getLocatorName(), cached(locator.getLocatorValue(), WebElement::isDisplayed));
+    }
+
+    /**
+     * Wait until no matching element is displayed
+     */
+    protected void waitForElementInvisible(PageLocators locator) {
+        waitEngine.until("invisible " + locator.getLocatorName(), Condition.invisibilityOf(locator.getLocatorValue()));
+    }
+
+    /**
+     * Get element text once the element is visible
      */
     protected String getElementText(PageLocators locator) {
-        return findElement(locator).getText();
+        By by = locator.getLocatorValue();
+        Condition<WebElement> visible = cached(by, WebElement::isDisplayed);
+        return waitEngine.until("text " + locator.getLocatorName(), driver -> {
+            WebElement element = visible.evaluate(driver);
+            return element != null ? onCached(by, element::getText) : null;
+        });
     }
 
     /**
-     * Click on element
+     * Click on element once it is clickable, retrying while it is covered or re-rendered.
+     * A click may navigate, so the cache checks the URL before it next reuses an element.
      */
     protected void clickElement(PageLocators locator) {
-        findElement(locator).click();
+        By by = locator.getLocatorValue();
+        Condition<WebElement> clickable = cached(by, element -> element.isDisplayed() && element.isEnabled());
+        waitEngine.until("click " + locator.getLocatorName(), driver -> {
+            WebElement element = clickable.evaluate(driver);
+            if (element == null) {
+                return false;
+            }
+            onCached(by, () -> {
+                element.click();
+                return true;
+            });
+            return true;
+        });
+        elementCache.expectNavigation();
     }
 
     /**
-     * Type text into element
+     * Type text into element once it is visible. Text with Enter or Return may submit a form, so the
+     * cache then checks the URL before it next reuses an element.
      */
     protected void typeText(PageLocators locator, String text) {
-        WebElement element = findElement(locator);
-        element.clear();
-        element.sendKeys(text);
+        By by = locator.getLocatorValue();
+        Condition<WebElement> visible = cached(by, WebElement::isDisplayed);
+        waitEngine.until("type " + locator.getLocatorName(), driver -> {
+            WebElement element = visible.evaluate(driver);
+            if (element == null) {
+                return false;
+            }
+            onCached(by, () -> {
+                element.clear();
+                element.sendKeys(text);
+                return true;
+            });
+            return true;
+        });
+        if (submits(text)) {
+            elementCache.expectNavigation();
+        }
+    }
+
+    /**
+     * Read text, visibility and the given attributes of every element matching the locator
+     * in a single script call, instead of one WebDriver round-trip per element and property.
+     * Does not wait: returns an empty list if nothing matches right now.
+     * @param locator locator to read
+     * @param attributeNames attributes to copy into each {@link ElementData}
+     * @return one snapshot per match, in document order
+     */
+    protected List<ElementData> readElements(PageLocators locator, String... attributeNames) {
+        return readElements(locator.getLocatorValue(), attributeNames);
+    }
+
+    /**
+     * Read text, visibility and the given attributes of every element matching the locator
+     * in a single script call. Locators that the browser cannot resolve by itself
+     * (relative or chained locators) are found first, costing one extra round-trip in total.
+     * @param by locator to read
+     * @param attributeNames attributes to copy into each {@link ElementData}
+     * @return one snapshot per match, in document order
+     */
+    protected List<ElementData> readElements(By by, String... attributeNames) {
+        Object[] arguments;
+        if (by instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) by).getRemoteParameters();
+            arguments = new Object[]{parameters.using(), parameters.value(), List.of(attributeNames)};
+        } else {
+            arguments = new Object[]{"elements", driver.findElements(by), List.of(attributeNames)};
+        }
+        Object result = ((JavascriptExecutor) driver).executeScript(READ_ELEMENTS_SCRIPT, arguments);
+        if (!(result instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<ElementData> elements = new ArrayList<>();
+        for (Object item : (List<?>) result) {
+            Map<?, ?> values = (Map<?, ?>) item;
+            Map<String, String> attributes = new LinkedHashMap<>();
+            Object rawAttributes = values.get("attributes");
+            if (rawAttributes instanceof Map) {
+                ((Map<?, ?>) rawAttributes).forEach((name, value) -> attributes.put(String.valueOf(name), String.valueOf(value)));
+            }
+            elements.add(new ElementData(elements.size(), String.valueOf(values.get("tag")),
+                    String.valueOf(values.get("text")), Boolean.TRUE.equals(values.get("displayed")), attributes));
+        }
+        return elements;
+    }
+
+    /**
+     * Rendered text of every displayed element matching the locator, read in a single script call
+     */
+    protected List<String> readTexts(By by) {
+        List<String> texts = new ArrayList<>();
+        for (ElementData element : readElements(by)) {
+            if (element.displayed() && !element.text().isEmpty()) {
+                texts.add(element.text());
+            }
+        }
+        return texts;
+    }
+
+    /**
+     * Hit and miss counters of this page's element cache
+     */
+    public ElementCache getElementCache() {
+        return elementCache;
+    }
+
+    /**
+     * Condition yielding the first element matching the locator that passes the check,
+     * reusing the cached element when it still passes. A hit only saves the find command: the check
+     * is the interaction's own condition and costs what it cost without the cache, and a null check
+     * costs nothing. A stale cached element is evicted and the locator re-resolved within the same
+     * evaluation. Before an element is reused after an action that may have navigated, the current
+     * URL is read once to drop entries of the previous page.
+     */
+    private Condition<WebElement> cached(By by, Predicate<WebElement> check) {
+        return driver -> {
+            WebElement element = elementCache.get(by);
+            if (element != null && elementCache.isNavigationExpected()) {
+                elementCache.scopeTo(driver.getCurrentUrl());
+                element = elementCache.get(by);
+            }
+            if (element != null) {
+                try {
+                    if (check == null || check.test(element)) {
+                        elementCache.hit();
+                        return element;
+                    }
+                } catch (StaleElementReferenceException e) {
+                    elementCache.evictStale(by);
+                }
+            }
+            elementCache.miss();
+            for (WebElement candidate : driver.findElements(by)) {
+                if (check == null || check.test(candidate)) {
+                    elementCache.put(by, candidate);
+                    return candidate;
+                }
+            }
+            return null;
+        };
+    }
+
+    /**
+     * Element present for the locator, wrapped so that a command failing because the element went
+     * stale evicts it, waits for the locator again and repeats the command once on the new element
+     */
+    private WebElement reResolving(String description, By by) {
+        Condition<WebElement> present = cached(by, null);
+        WebElement[] current = {waitEngine.until(description, present)};
+        return (WebElement) Proxy.newProxyInstance(BasePage.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class}, (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == WrapsElement.class) {
+                        return current[0];
+                    }
+                    try {
+                        return invoke(method, current[0], args);
+                    } catch (StaleElementReferenceException e) {
+                        elementCache.evictStale(by);
+                        current[0] = waitEngine.until(description, present);
+                        return invoke(method, current[0], args);
+                    }
+                });
+    }
+
+    private static Object invoke(Method method, WebElement element, Object[] args) throws Throwable {
+        try {
+            return method.invoke(element, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Whether typing the text presses Enter or Return, which may submit a form
+     */
+    private static boolean submits(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n' || c == '\r' || c == Keys.ENTER.charAt(0) || c == Keys.RETURN.charAt(0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Run an action on a cached element, evicting it if it went stale so the next poll re-resolves it
+     */
+    private <T> T onCached(By by, Supplier<T> action) {
+        try {
+            return action.get();
+        } catch (StaleElementReferenceException e) {
+            elementCache.evictStale(by);
+            throw e;
+        }
     }
 }
@@ -14,6 +14,10 @@ public class GoogleHomePage extends BasePage {
         super(driver, wait);
     }
 
+    public GoogleHomePage() {
+        super();
+    }
+
     /**
      * Get the title of Google homepage
      */
@@ -1,21 +1,36 @@
 package com.qa.automation.pages;
 
 import com.qa.automation.locators.PageLocators;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import java.util.List;
 
 public class GoogleResultsPage extends BasePage {
+
+    // Google search result titles are usually in <h3> tags
+    private static final By RESULT_TITLE = By.cssSelector("h3");
+
     public GoogleResultsPage(WebDriver driver, WebDriverWait wait) {
         super(driver, wait);
     }
 
+    public GoogleResultsPage() {
+        super();
+    }
+
     /**
      * Get all result titles on the search results page
      */
     public List<WebElement> getResultTitles() {
-        // Google search result titles are usually in <h3> tags
-        return driver.findElements(org.openqa.selenium.By.cssSelector("h3"));
+        return driver.findElements(RESULT_TITLE);
+    }
+
+    /**
+     * Get the text of all visible result titles, read in a single round-trip
+     */
+    public List<String> getResultTitleTexts() {
+        return readTexts(RESULT_TITLE);
     }
 }
@@ -0,0 +1,169 @@
+package com.qa.automation.pages;
+
+import com.qa.automation.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.ElementNotInteractableException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Polling wait used by every page interaction, designed to run with the implicit wait at zero.
+ * Conditions are evaluated immediately and then every polling interval until they are met or
+ * the timeout expires; transient lookup errors (missing, stale or not yet interactable elements)
+ * count as "not yet". Because nothing waits implicitly, a one-shot {@link #check(Condition)}
+ * answers negative questions such as "is this element shown?" without burning a timeout.
+ * Every wait is timed and aggregated per description, see {@link #timingSummary()}.
+ */
+public final class WaitEngine {
+
+    private static final Logger logger = LoggerUtil.getLogger(WaitEngine.class);
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+
+    private final WebDriver driver;
+    private final Duration timeout;
+    private final Duration pollingInterval;
+
+    public WaitEngine(WebDriver driver, Duration timeout, Duration pollingInterval) {
+        this.driver = driver;
+        this.timeout = timeout;
+        this.pollingInterval = pollingInterval;
+    }
+
+    /**
+     * Poll a condition until it is met, using the default timeout
+     * @param description what is being waited for (used for timing and error messages)
+     * @param condition condition to poll
+     * @return value produced by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(String description, Condition<T> condition) {
+        return until(description, condition, timeout);
+    }
+
+    /**
+     * Poll a condition until it is met or the given timeout expires
+     * @param description what is being waited for (used for timing and error messages)
+     * @param condition condition to poll
+     * @param timeout maximum time to wait
+     * @return value produced by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <T> T until(String description, Condition<T> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        RuntimeException lastError = null;
+        int polls = 0;
+        while (true) {
+            polls++;
+            try {
+                T value = condition.evaluate(driver);
+                if (Condition.isMet(value)) {
+                    record(description, start, polls, false);
+                    return value;
+                }
+            } catch (NoSuchElementException | StaleElementReferenceException | ElementNotInteractableException e) {
+                lastError = e;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                record(description, start, polls, true);
+                throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for: "
+                        + description + " (" + polls + " polls)", lastError);
+            }
+            sleep(Math.min(remaining, pollingInterval.toNanos()));
+        }
+    }
+
+    /**
+     * Evaluate a condition exactly once without waiting
+     * @param condition condition to evaluate
+     * @return true if the condition is met right now
+     */
+    public boolean check(Condition<?> condition) {
+        try {
+            return Condition.isMet(condition.evaluate(driver));
+        } catch (NoSuchElementException | StaleElementReferenceException | ElementNotInteractableException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Default timeout of this engine
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Per-description wait statistics collected so far, one line per description
+     * @return summary with call count, total, average and maximum wait time and timeouts
+     */
+    public static String timingSummary() {
+        StringBuilder summary = new StringBuilder();
+        new TreeMap<>(TIMINGS).forEach((description, timing) -> summary.append(description).append(": ")
+                .append(timing).append(System.lineSeparator()));
+        return summary.toString();
+    }
+
+    /**
+     * Forget collected statistics
+     */
+    public static void resetTimings() {
+        TIMINGS.clear();
+    }
+
+    private static void record(String description, long start, int polls, boolean timedOut) {
+        long elapsed = System.nanoTime() - start;
+        TIMINGS.computeIfAbsent(description, key -> new Timing()).add(elapsed, timedOut);
+        if (logger.isDebugEnabled()) {
+            logger.debug("WAIT: " + description + " took " + TimeUnit.NANOSECONDS.toMillis(elapsed) + " ms over "
+                    + polls + " polls" + (timedOut ? " (timed out)" : ""));
+        }
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+
+    /**
+     * Aggregated timing of all waits sharing a description
+     */
+    private static final class Timing {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private void add(long nanos, boolean timedOut) {
+            calls.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            if (timedOut) {
+                timeouts.increment();
+            }
+        }
+
+        @Override
+        public String toString() {
+            long count = calls.sum();
+            long totalMillis = TimeUnit.NANOSECONDS.toMillis(totalNanos.sum());
+            return count + " calls, total " + totalMillis + " ms, avg " + (count == 0 ? 0 : totalMillis / count)
+                    + " ms, max " + TimeUnit.NANOSECONDS.toMillis(maxNanos.get()) + " ms, " + timeouts.sum() + " timeouts";
+        }
+    }
+}
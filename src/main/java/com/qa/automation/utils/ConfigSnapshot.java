@@ -0,0 +1,327 @@
+package com.qa.automation.utils;
+
+import com.qa.automation.factory.BrowserType;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, fully parsed configuration. A snapshot is built once from the merged property layers
+ * and validated as a whole; readers get typed values straight from its fields, with no parsing or
+ * hashtable lookups. {@link ConfigReader} swaps in a new snapshot when the configuration is reloaded.
+ * Keys without a dedicated component (such as {@code driver.<family>.path}) stay available through
+ * {@link #get(String)}.
+ */
+public record ConfigSnapshot(
+        String environment,
+        String url,
+        String browser,
+        int implicitWait,
+        int explicitWait,
+        int pollingIntervalMillis,
+        boolean poolEnabled,
+        int poolMaxSize,
+        int poolMaxReuse,
+        int poolIdleTimeoutSeconds,
+        int poolAcquireTimeoutSeconds,
+        boolean driverOffline,
+        boolean remoteExecution,
+        String gridUrl,
+        int gridStatusPollMillis,
+        int gridQueueTimeoutSeconds,
+        int gridConnectTimeoutSeconds,
+        int gridReadTimeoutSeconds,
+        int gridReadyTimeoutSeconds,
+        int gridReadyMinSlots,
+        String gridPlatform,
+        boolean virtualThreadExecution,
+        int maxConcurrency,
+        int cucumberThreads,
+        int screenshotWorkers,
+        int screenshotQueueCapacity,
+        String screenshotFormat,
+        boolean screenshotFileMode,
+        long screenshotMaxBytes,
+        int screenshotThumbnailWidth,
+        ScreenshotPolicy screenshotPolicy,
+        int screenshotEveryNSteps,
+        int screenshotBufferSize,
+        List<String> locatorFiles,
+        boolean excelCacheEnabled,
+        String excelCacheDir,
+        int excelWriterRowWindow,
+        int excelWriterFlushEvery,
+        String resultExportPath,
+        String reportEventLog,
+        int reportFlushIntervalSeconds,
+        boolean reportKeepFinishedTests,
+        boolean reloadEnabled,
+        boolean plannerEnabled,
+        String plannerHistoryFile,
+        int plannerThreads,
+        boolean plannerSplitClasses,
+        int retryMaxAttempts,
+        int retryBudget,
+        String retryHistoryFile,
+        String resultsStorePath,
+        Map<String, String> values) {
+
+    /**
+     * Built-in defaults, the lowest configuration layer
+     */
+    static final Map<String, String> DEFAULTS = defaults();
+
+    public ConfigSnapshot {
+        locatorFiles = List.copyOf(locatorFiles);
+        values = Collections.unmodifiableMap(new LinkedHashMap<>(values));
+    }
+
+    /**
+     * Raw merged value of any key, or null if no layer sets it
+     */
+    public String get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Parse and validate merged configuration values
+     * @param merged all layers merged, later layers winning
+     * @return snapshot
+     * @throws IllegalStateException listing every invalid value
+     */
+    static ConfigSnapshot parse(Map<String, String> merged) {
+        Parser p = new Parser(merged);
+        ConfigSnapshot snapshot = new ConfigSnapshot(
+                p.text("environment"),
+                p.url("url"),
+                p.browser("browser"),
+                p.integer("implicitWait", 0),
+                p.integer("explicitWait", 1),
+                p.integer("wait.pollingIntervalMillis", 1),
+                p.bool("pool.enabled"),
+                p.integer("pool.maxSize", 1),
+                p.integer("pool.maxReuse", 1),
+                p.integer("pool.idleTimeoutSeconds", 1),
+                p.integer("pool.acquireTimeoutSeconds", 1),
+                p.bool("driver.offline"),
+                "remote".equals(p.oneOf("execution.mode", Set.of("local", "remote"))),
+                p.url("grid.url"),
+                p.integer("grid.statusPollMillis", 1),
+                p.integer("grid.queueTimeoutSeconds", 1),
+                p.integer("grid.connectTimeoutSeconds", 1),
+                p.integer("grid.readTimeoutSeconds", 1),
+                p.integer("grid.readyTimeoutSeconds", 0),
+                p.integer("grid.readyMinSlots", 0),
+                p.raw("grid.platform"),
+                "virtual".equals(p.oneOf("execution.threads", Set.of("platform", "virtual"))),
+                p.integer("execution.maxConcurrency", 0),
+                p.integer("cucumber.threads", 1),
+                p.integer("screenshot.workers", 1),
+                p.integer("screenshot.queueCapacity", 1),
+                p.oneOf("screenshot.format", Set.of("png", "jpg", "jpeg")),
+                "file".equals(p.oneOf("report.screenshotMode", Set.of("file", "embed"))),
+                p.longValue("screenshot.maxBytes", 0),
+                p.integer("screenshot.thumbnailWidth", 0),
+                p.screenshotPolicy("screenshot.policy"),
+                p.integer("screenshot.everyNSteps", 1),
+                p.integer("screenshot.bufferSize", 0),
+                p.list("locators.files"),
+                p.bool("excel.cache.enabled"),
+                p.text("excel.cache.dir"),
+                p.integer("excel.writer.rowWindow", 1),
+                p.integer("excel.writer.flushEvery", 0),
+                p.raw("report.excelResults"),
+                p.text("report.eventLog"),
+                p.integer("report.flushIntervalSeconds", 0),
+                p.bool("report.keepFinishedTests"),
+                p.bool("config.reload.enabled"),
+                p.bool("planner.enabled"),
+                p.text("planner.historyFile"),
+                p.integer("planner.threads", 0),
+                p.bool("planner.splitClasses"),
+                p.integer("retry.maxAttempts", 0),
+                p.integer("retry.budget", 0),
+                p.text("retry.historyFile"),
+                p.raw("results.store"),
+                merged);
+        if (!p.problems.isEmpty()) {
+            throw new IllegalStateException("Invalid configuration (" + p.problems.size() + "):"
+                    + System.lineSeparator() + String.join(System.lineSeparator(), p.problems));
+        }
+        return snapshot;
+    }
+
+    private static Map<String, String> defaults() {
+        Map<String, String> defaults = new LinkedHashMap<>();
+        defaults.put("environment", "dev");
+        defaults.put("url", "https://www.google.com");
+        defaults.put("browser", "chrome");
+        defaults.put("implicitWait", "10");
+        defaults.put("explicitWait", "20");
+        defaults.put("wait.pollingIntervalMillis", "100");
+        defaults.put("pool.enabled", "true");
+        defaults.put("pool.maxSize", "4");
+        defaults.put("pool.maxReuse", "20");
+        defaults.put("pool.idleTimeoutSeconds", "300");
+        defaults.put("pool.acquireTimeoutSeconds", "120");
+        defaults.put("driver.offline", "false");
+        // Pinned driver binaries; empty resolves them at runtime
+        for (String family : List.of("chrome", "firefox", "edge", "safari")) {
+            defaults.put("driver." + family + ".path", "");
+        }
+        defaults.put("execution.mode", "local");
+        defaults.put("grid.url", "http://localhost:4444/");
+        defaults.put("grid.statusPollMillis", "1000");
+        defaults.put("grid.queueTimeoutSeconds", "300");
+        defaults.put("grid.connectTimeoutSeconds", "10");
+        defaults.put("grid.readTimeoutSeconds", "180");
+        defaults.put("grid.readyTimeoutSeconds", "120");
+        defaults.put("grid.readyMinSlots", "1");
+        defaults.put("grid.platform", "");
+        defaults.put("execution.threads", "platform");
+        defaults.put("execution.maxConcurrency", "0");
+        defaults.put("cucumber.threads", "1");
+        defaults.put("screenshot.workers", "2");
+        defaults.put("screenshot.queueCapacity", "32");
+        defaults.put("screenshot.format", "png");
+        defaults.put("report.screenshotMode", "file");
+        defaults.put("screenshot.maxBytes", "2097152");
+        defaults.put("screenshot.thumbnailWidth", "0");
+        defaults.put("screenshot.policy", "on-failure");
+        defaults.put("screenshot.everyNSteps", "5");
+        defaults.put("screenshot.bufferSize", "0");
+        defaults.put("locators.files", "");
+        defaults.put("excel.cache.enabled", "true");
+        defaults.put("excel.cache.dir", "target/excel-cache");
+        defaults.put("excel.writer.rowWindow", "100");
+        defaults.put("excel.writer.flushEvery", "0");
+        defaults.put("report.excelResults", "test-output/TestResults.xlsx");
+        defaults.put("report.eventLog", "test-output/HtmlReport/events.jsonl");
+        defaults.put("report.flushIntervalSeconds", "15");
+        defaults.put("report.keepFinishedTests", "false");
+        defaults.put("config.reload.enabled", "false");
+        defaults.put("planner.enabled", "true");
+        defaults.put("planner.historyFile", "test-output/history/test-durations.properties");
+        defaults.put("planner.threads", "0");
+        defaults.put("planner.splitClasses", "false");
+        defaults.put("retry.maxAttempts", "1");
+        defaults.put("retry.budget", "5");
+        defaults.put("retry.historyFile", "test-output/history/flakiness.properties");
+        defaults.put("results.store", "test-output/history/results.bin");
+        return Collections.unmodifiableMap(defaults);
+    }
+
+    /**
+     * Converts raw values, collecting every problem instead of stopping at the first
+     */
+    private static final class Parser {
+        private final Map<String, String> values;
+        private final List<String> problems = new ArrayList<>();
+
+        private Parser(Map<String, String> values) {
+            this.values = values;
+        }
+
+        private String raw(String key) {
+            String value = values.get(key);
+            return value == null ? "" : value.trim();
+        }
+
+        private String text(String key) {
+            String value = raw(key);
+            if (value.isEmpty()) {
+                problems.add(key + " must not be empty");
+            }
+            return value;
+        }
+
+        private int integer(String key, int min) {
+            long value = longValue(key, min);
+            if (value > Integer.MAX_VALUE) {
+                problems.add(key + " is too large: " + value);
+                return Integer.MAX_VALUE;
+            }
+            return (int) value;
+        }
+
+        private long longValue(String key, long min) {
+            String value = raw(key);
+            try {
+                long parsed = Long.parseLong(value);
+                if (parsed < min) {
+                    problems.add(key + " must be at least " + min + " but was " + parsed);
+                }
+                return parsed;
+            } catch (NumberFormatException e) {
+                problems.add(key + " must be a whole number but was '" + value + "'");
+                return min;
+            }
+        }
+
+        private boolean bool(String key) {
+            String value = raw(key).toLowerCase(Locale.ROOT);
+            if (!value.equals("true") && !value.equals("false")) {
+                problems.add(key + " must be true or false but was '" + value + "'");
+            }
+            return Boolean.parseBoolean(value);
+        }
+
+        private String oneOf(String key, Set<String> allowed) {
+            String value = raw(key).toLowerCase(Locale.ROOT);
+            if (!allowed.contains(value)) {
+                problems.add(key + " must be one of " + allowed + " but was '" + value + "'");
+            }
+            return value;
+        }
+
+        private String url(String key) {
+            String value = text(key);
+            try {
+                URI uri = new URI(value);
+                if (uri.getScheme() == null || uri.getHost() == null) {
+                    problems.add(key + " must be an absolute URL but was '" + value + "'");
+                }
+            } catch (URISyntaxException e) {
+                problems.add(key + " is not a valid URL: " + e.getMessage());
+            }
+            return value;
+        }
+
+        private String browser(String key) {
+            String value = text(key);
+            try {
+                BrowserType.fromString(value);
+            } catch (IllegalArgumentException e) {
+                problems.add(key + ": " + e.getMessage());
+            }
+            return value;
+        }
+
+        private ScreenshotPolicy screenshotPolicy(String key) {
+            String value = text(key);
+            try {
+                return ScreenshotPolicy.fromString(value);
+            } catch (IllegalArgumentException e) {
+                problems.add(key + ": " + e.getMessage());
+                return ScreenshotPolicy.ON_FAILURE;
+            }
+        }
+
+        private List<String> list(String key) {
+            List<String> items = new ArrayList<>();
+            for (String item : raw(key).split(",")) {
+                if (!item.isBlank()) {
+                    items.add(item.trim());
+                }
+            }
+            return items;
+        }
+    }
+}
@@ -3,8 +3,6 @@ package com.qa.automation.utils;
 import org.apache.logging.log4j.Logger;
 
 import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
 
 /**
  * Utility class for managing Cucumber Reports.
@@ -13,7 +11,6 @@ import java.util.Date;
 public class CucumberReportUtil {
 
     private static final String CUCUMBER_REPORT_DIRECTORY = "test-output/CucumberReport";
-    private static final String DATE_TIME_FORMAT = "dd-MM-yyyy_HH:mm:ss";
     private static final Logger logger = LoggerUtil.getLogger(CucumberReportUtil.class);
 
     /**
@@ -56,12 +53,11 @@ public class CucumberReportUtil {
     }
 
     /**
-     * Get formatted date-time string
-     * @return Formatted date-time string (DD-MM-YYYY_hh:mm:ss)
+     * Get formatted date-time string, safe to use in file names
+     * @return Formatted date-time string (DD-MM-YYYY_hh-mm-ss)
      */
     public static String getFormattedDateTime() {
-        SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_TIME_FORMAT);
-        return dateFormat.format(new Date());
+        return RunClock.now().format(RunClock.FILE_DATE_TIME);
     }
 
     /**
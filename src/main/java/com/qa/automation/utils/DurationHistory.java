@@ -0,0 +1,106 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Test method durations from previous runs, used by {@link ExecutionPlanner} to balance threads.
+ * Durations of the current run are collected with {@link #record(ITestResult)} (all invocations of a
+ * method add up) and merged into the history file, configured by {@code planner.historyFile}, when the
+ * suite finishes. The stored value is a moving average that weighs the latest run and the history
+ * equally, so one slow run does not skew the plan for long.
+ */
+public final class DurationHistory {
+
+    private static final Logger logger = LoggerUtil.getLogger(DurationHistory.class);
+    private static final Map<String, LongAdder> currentRun = new ConcurrentHashMap<>();
+
+    private DurationHistory() {
+    }
+
+    /**
+     * Add the time of a finished test to its method's total for this run; skipped tests are ignored
+     */
+    public static void record(ITestResult result) {
+        if (result.getStatus() == ITestResult.SKIP || result.getEndMillis() <= result.getStartMillis()) {
+            return;
+        }
+        currentRun.computeIfAbsent(result.getMethod().getQualifiedName(), key -> new LongAdder())
+                .add(result.getEndMillis() - result.getStartMillis());
+    }
+
+    /**
+     * Recorded durations in milliseconds, keyed by qualified method name
+     * @return durations, empty if there is no history yet or it cannot be read
+     */
+    public static Map<String, Long> load() {
+        Path file = Paths.get(ConfigReader.getPlannerHistoryFile());
+        if (!Files.isRegularFile(file)) {
+            return Collections.emptyMap();
+        }
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            logger.warn("Failed to read test duration history " + file + ": " + e.getMessage());
+            return Collections.emptyMap();
+        }
+        Map<String, Long> durations = new TreeMap<>();
+        for (String name : properties.stringPropertyNames()) {
+            try {
+                durations.put(name, Long.parseLong(properties.getProperty(name).trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid duration of " + name + " in " + file);
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Merge this run's durations into the history file and start a new run
+     */
+    public static synchronized void save() {
+        if (currentRun.isEmpty()) {
+            return;
+        }
+        Map<String, Long> merged = new TreeMap<>(load());
+        for (Map.Entry<String, LongAdder> entry : currentRun.entrySet()) {
+            long latest = entry.getValue().sum();
+            merged.merge(entry.getKey(), latest, (previous, run) -> (previous + run + 1) / 2);
+        }
+        currentRun.clear();
+        Path file = Paths.get(ConfigReader.getPlannerHistoryFile()).toAbsolutePath();
+        try {
+            Files.createDirectories(file.getParent());
+            Path temp = Files.createTempFile(file.getParent(), "durations", ".tmp");
+            try {
+                Properties properties = new Properties();
+                merged.forEach((name, millis) -> properties.setProperty(name, Long.toString(millis)));
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    properties.store(writer, "Test method durations in milliseconds, used to plan parallel runs");
+                }
+                Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            logger.info("Saved durations of " + merged.size() + " test methods to " + file);
+        } catch (IOException e) {
+            logger.warn("Failed to save test duration history " + file + ": " + e.getMessage());
+        }
+    }
+}
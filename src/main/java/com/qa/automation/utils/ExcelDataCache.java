@@ -0,0 +1,497 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Binary columnar cache of parsed Excel sheets, so that a sheet is unzipped and XML-parsed once
+ * rather than on every run. The first read of a sheet streams it with {@link ExcelStreamReader}
+ * and writes a compact file under {@code excel.cache.dir}; later reads memory-map that file and
+ * decode values straight from the mapping, one cell at a time.
+ *
+ * Cache files are named after the sheet's file path and the SHA-256 of the .xlsx content, so an
+ * edited workbook gets a new cache file and the outdated one is deleted. Within a run, loaded
+ * sheets are shared while the workbook's size and modification time stay the same.
+ *
+ * File layout (big-endian):
+ * <pre>
+ * magic "XCOL", version, rowCount, columnCount
+ * per column: name (length + UTF-8), column type
+ * rowNumbers: int[rowCount]
+ * per column: [tags: byte[rowCount] when the column mixes types] values: long[rowCount]
+ * dictionary: count, offsets int[count + 1], UTF-8 bytes of every distinct string
+ * </pre>
+ * Strings are dictionary-encoded (the value slot holds the dictionary id), numbers hold their
+ * long value or double bits, booleans 0/1 and dates epoch milliseconds (UTC wall clock).
+ */
+public final class ExcelDataCache {
+
+    private static final Logger logger = LoggerUtil.getLogger(ExcelDataCache.class);
+
+    private static final int MAGIC = 0x58434F4C;
+    private static final int VERSION = 1;
+    private static final String EXTENSION = ".xcol";
+
+    private static final byte NULL = 0;
+    private static final byte STRING = 1;
+    private static final byte LONG = 2;
+    private static final byte DOUBLE = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte DATE_TIME = 5;
+    private static final byte MIXED = 6;
+
+    private static final Map<String, LoadedSheet> LOADED = new ConcurrentHashMap<>();
+
+    private ExcelDataCache() {
+    }
+
+    /**
+     * Get a sheet from the cache, parsing the workbook and writing the cache file first if needed
+     * @param filePath path of the .xlsx file
+     * @param sheetName sheet name, or null to select by index
+     * @param sheetIndex 0-based sheet position, used when sheetName is null
+     * @return memory-mapped sheet
+     * @throws RuntimeException if the workbook or the cache cannot be read
+     */
+    public static CachedSheet load(String filePath, String sheetName, int sheetIndex) {
+        Path workbook = Paths.get(filePath).toAbsolutePath().normalize();
+        String sheetKey = sheetName != null ? sheetName.toLowerCase(Locale.ROOT) : "#" + sheetIndex;
+        String key = workbook + "|" + sheetKey;
+        try {
+            long size = Files.size(workbook);
+            long modified = Files.getLastModifiedTime(workbook).toMillis();
+            LoadedSheet loaded = LOADED.get(key);
+            if (loaded != null && loaded.size == size && loaded.modified == modified) {
+                return loaded.sheet;
+            }
+            CachedSheet sheet = loadOrBuild(workbook, sheetName, sheetIndex, key);
+            LOADED.put(key, new LoadedSheet(size, modified, sheet));
+            return sheet;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to cache Excel file: " + filePath, e);
+        }
+    }
+
+    private static CachedSheet loadOrBuild(Path workbook, String sheetName, int sheetIndex, String key) throws IOException {
+        Path directory = Paths.get(ConfigReader.getExcelCacheDir());
+        String prefix = hex(sha256(key.getBytes(StandardCharsets.UTF_8))).substring(0, 16) + "-";
+        Path cacheFile = directory.resolve(prefix + hex(contentHash(workbook)).substring(0, 32) + EXTENSION);
+        if (Files.isRegularFile(cacheFile)) {
+            try {
+                CachedSheet sheet = map(cacheFile);
+                logger.debug("Excel cache hit for " + workbook + ": " + cacheFile);
+                return sheet;
+            } catch (IOException | RuntimeException e) {
+                logger.warn("Ignoring unreadable Excel cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+        long start = System.nanoTime();
+        Files.createDirectories(directory);
+        ExcelStreamReader reader = ExcelStreamReader.of(workbook.toString());
+        if (sheetName != null) {
+            reader.sheet(sheetName);
+        } else {
+            reader.sheet(sheetIndex);
+        }
+        write(reader.stream(), cacheFile);
+        deleteOutdated(directory, prefix, cacheFile);
+        CachedSheet sheet = map(cacheFile);
+        logger.info("Built Excel cache for " + workbook + " (" + sheet.getRowCount() + " rows) in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return sheet;
+    }
+
+    /**
+     * Drop sheets loaded in this run; cache files on disk are kept
+     */
+    public static void clearLoaded() {
+        LOADED.clear();
+    }
+
+    private static void write(ExcelStreamReader.RowIterator rows, Path cacheFile) throws IOException {
+        List<String> headers = rows.getHeaders();
+        int columnCount = headers.size();
+        ColumnBuffer[] columns = new ColumnBuffer[columnCount];
+        Arrays.setAll(columns, i -> new ColumnBuffer());
+        int[] rowNumbers = new int[64];
+        int rowCount = 0;
+        Map<String, Integer> dictionaryIds = new HashMap<>();
+        List<String> dictionary = new ArrayList<>();
+        try (rows) {
+            while (rows.hasNext()) {
+                ExcelRow row = rows.next();
+                if (rowCount == rowNumbers.length) {
+                    rowNumbers = Arrays.copyOf(rowNumbers, rowCount * 2);
+                }
+                rowNumbers[rowCount++] = row.getRowNumber();
+                for (int c = 0; c < columnCount; c++) {
+                    Object value = row.valueAt(c);
+                    if (value instanceof String) {
+                        Integer id = dictionaryIds.get(value);
+                        if (id == null) {
+                            id = dictionary.size();
+                            dictionaryIds.put((String) value, id);
+                            dictionary.add((String) value);
+                        }
+                        columns[c].add(STRING, id);
+                    } else {
+                        columns[c].add(typeOf(value), encode(value));
+                    }
+                }
+            }
+        }
+
+        Path temp = Files.createTempFile(cacheFile.getParent(), "excel", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(rowCount);
+                out.writeInt(columnCount);
+                for (int c = 0; c < columnCount; c++) {
+                    byte[] name = headers.get(c).getBytes(StandardCharsets.UTF_8);
+                    out.writeInt(name.length);
+                    out.write(name);
+                    out.writeByte(columns[c].columnType());
+                }
+                for (int r = 0; r < rowCount; r++) {
+                    out.writeInt(rowNumbers[r]);
+                }
+                for (ColumnBuffer column : columns) {
+                    if (column.columnType() == MIXED) {
+                        out.write(column.tags, 0, rowCount);
+                    }
+                    for (int r = 0; r < rowCount; r++) {
+                        out.writeLong(column.values[r]);
+                    }
+                }
+                List<byte[]> encoded = new ArrayList<>(dictionary.size());
+                dictionary.forEach(text -> encoded.add(text.getBytes(StandardCharsets.UTF_8)));
+                out.writeInt(encoded.size());
+                int offset = 0;
+                out.writeInt(offset);
+                for (byte[] bytes : encoded) {
+                    offset += bytes.length;
+                    out.writeInt(offset);
+                }
+                for (byte[] bytes : encoded) {
+                    out.write(bytes);
+                }
+            }
+            // Parallel data providers may build the same cache; the last complete file wins
+            Files.move(temp, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static CachedSheet map(Path cacheFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(cacheFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Cache file too large to map: " + cacheFile);
+            }
+            // The mapping stays valid after the channel is closed
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new CachedSheet(buffer);
+        }
+    }
+
+    private static void deleteOutdated(Path directory, String prefix, Path current) {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, prefix + "*" + EXTENSION)) {
+            for (Path file : files) {
+                if (!file.equals(current)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to delete outdated Excel caches in " + directory + ": " + e.getMessage());
+        }
+    }
+
+    private static byte typeOf(Object value) {
+        if (value == null) {
+            return NULL;
+        }
+        if (value instanceof Long) {
+            return LONG;
+        }
+        if (value instanceof Double) {
+            return DOUBLE;
+        }
+        if (value instanceof Boolean) {
+            return BOOLEAN;
+        }
+        if (value instanceof LocalDateTime) {
+            return DATE_TIME;
+        }
+        throw new IllegalArgumentException("Unsupported cell value type: " + value.getClass().getName());
+    }
+
+    private static long encode(Object value) {
+        switch (typeOf(value)) {
+            case LONG: return (Long) value;
+            case DOUBLE: return Double.doubleToRawLongBits((Double) value);
+            case BOOLEAN: return (Boolean) value ? 1 : 0;
+            case DATE_TIME: return ((LocalDateTime) value).toInstant(ZoneOffset.UTC).toEpochMilli();
+            default: return 0;
+        }
+    }
+
+    private static byte[] contentHash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] chunk = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            int read;
+            while ((read = in.read(chunk)) != -1) {
+                digest.update(chunk, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        return newDigest().digest(bytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * One column being collected before it is written
+     */
+    private static final class ColumnBuffer {
+        private byte[] tags = new byte[64];
+        private long[] values = new long[64];
+        private int size;
+        private byte type = -1;
+
+        private void add(byte tag, long value) {
+            if (size == values.length) {
+                tags = Arrays.copyOf(tags, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            tags[size] = tag;
+            values[size++] = value;
+            type = type == -1 || type == tag ? tag : MIXED;
+        }
+
+        private byte columnType() {
+            return type == -1 ? NULL : type;
+        }
+    }
+
+    private static final class LoadedSheet {
+        private final long size;
+        private final long modified;
+        private final CachedSheet sheet;
+
+        private LoadedSheet(long size, long modified, CachedSheet sheet) {
+            this.size = size;
+            this.modified = modified;
+            this.sheet = sheet;
+        }
+    }
+
+    /**
+     * A memory-mapped cached sheet. Values are decoded from the mapping on access using only
+     * absolute reads, so one instance can be read by any number of threads.
+     */
+    public static final class CachedSheet {
+
+        private final ByteBuffer buffer;
+        private final int rowCount;
+        private final List<String> headers;
+        private final Map<String, Integer> columnIndex;
+        private final byte[] columnTypes;
+        private final int rowNumbersOffset;
+        private final int[] tagOffsets;
+        private final int[] valueOffsets;
+        private final int dictionaryOffsetsStart;
+        private final int dictionaryDataStart;
+
+        private CachedSheet(ByteBuffer buffer) {
+            this.buffer = buffer;
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IllegalStateException("Not an Excel cache file of version " + VERSION);
+            }
+            rowCount = buffer.getInt(8);
+            int columnCount = buffer.getInt(12);
+            int position = 16;
+            List<String> names = new ArrayList<>(columnCount);
+            Map<String, Integer> index = new LinkedHashMap<>();
+            columnTypes = new byte[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                int length = buffer.getInt(position);
+                String name = readString(position + 4, length);
+                position += 4 + length;
+                columnTypes[c] = buffer.get(position++);
+                names.add(name);
+                index.putIfAbsent(name, c);
+            }
+            headers = Collections.unmodifiableList(names);
+            columnIndex = Collections.unmodifiableMap(index);
+            rowNumbersOffset = position;
+            position += rowCount * 4;
+            tagOffsets = new int[columnCount];
+            valueOffsets = new int[columnCount];
+            for (int c = 0; c < columnCount; c++) {
+                tagOffsets[c] = position;
+                if (columnTypes[c] == MIXED) {
+                    position += rowCount;
+                }
+                valueOffsets[c] = position;
+                position += rowCount * 8;
+            }
+            int dictionarySize = buffer.getInt(position);
+            dictionaryOffsetsStart = position + 4;
+            dictionaryDataStart = dictionaryOffsetsStart + (dictionarySize + 1) * 4;
+        }
+
+        /**
+         * Number of data rows
+         */
+        public int getRowCount() {
+            return rowCount;
+        }
+
+        /**
+         * Header names in sheet order
+         */
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        /**
+         * Typed value of one cell, decoded from the mapping
+         */
+        public Object getValue(int row, int column) {
+            byte type = columnTypes[column];
+            if (type == MIXED) {
+                type = buffer.get(tagOffsets[column] + row);
+            }
+            long value = buffer.getLong(valueOffsets[column] + row * 8);
+            switch (type) {
+                case STRING: return dictionaryEntry((int) value);
+                case LONG: return value;
+                case DOUBLE: return Double.longBitsToDouble(value);
+                case BOOLEAN: return value != 0;
+                case DATE_TIME: return LocalDateTime.ofInstant(Instant.ofEpochMilli(value), ZoneOffset.UTC);
+                default: return null;
+            }
+        }
+
+        /**
+         * Materialize one row
+         */
+        public ExcelRow getRow(int row) {
+            Object[] values = new Object[headers.size()];
+            for (int c = 0; c < values.length; c++) {
+                values[c] = getValue(row, c);
+            }
+            return new ExcelRow(buffer.getInt(rowNumbersOffset + row * 4), headers, columnIndex, values);
+        }
+
+        /**
+         * Fail fast if any of the columns is missing
+         * @throws IllegalArgumentException naming the first missing column
+         */
+        public void requireColumns(List<String> columns) {
+            for (String column : columns) {
+                if (!columnIndex.containsKey(column)) {
+                    throw new IllegalArgumentException("Column not found: " + column + " (available: " + headers + ")");
+                }
+            }
+        }
+
+        /**
+         * Lazily iterate rows matching the filter, materializing one row at a time
+         */
+        public Iterator<ExcelRow> rows(Predicate<ExcelRow> filter) {
+            return new Iterator<>() {
+                private int cursor;
+                private ExcelRow next = advance();
+
+                private ExcelRow advance() {
+                    while (cursor < rowCount) {
+                        ExcelRow row = getRow(cursor++);
+                        if (filter.test(row)) {
+                            return row;
+                        }
+                    }
+                    return null;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return next != null;
+                }
+
+                @Override
+                public ExcelRow next() {
+                    if (next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    ExcelRow current = next;
+                    next = advance();
+                    return current;
+                }
+            };
+        }
+
+        private String dictionaryEntry(int id) {
+            int start = buffer.getInt(dictionaryOffsetsStart + id * 4);
+            int end = buffer.getInt(dictionaryOffsetsStart + (id + 1) * 4);
+            return readString(dictionaryDataStart + start, end - start);
+        }
+
+        private String readString(int position, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(position, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.qa.automation.utils;
+
+import org.testng.annotations.DataProvider;
+
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+/**
+ * TestNG data providers that stream rows described by {@link ExcelData}.
+ * Rows are read lazily as TestNG asks for them, so a sheet with any number of rows
+ * runs in constant memory. Use {@link #EXCEL_PARALLEL} to run the rows concurrently.
+ */
+public final class ExcelDataProvider {
+
+    public static final String EXCEL = "excel";
+    public static final String EXCEL_PARALLEL = "excelParallel";
+
+    private ExcelDataProvider() {
+    }
+
+    @DataProvider(name = EXCEL)
+    public static Iterator<Object[]> excel(Method method) {
+        return rowsFor(method);
+    }
+
+    @DataProvider(name = EXCEL_PARALLEL, parallel = true)
+    public static Iterator<Object[]> excelParallel(Method method) {
+        return rowsFor(method);
+    }
+
+    /**
+     * Build the row stream declared on a test method
+     * @throws IllegalStateException if the method has no {@link ExcelData} annotation
+     */
+    public static Iterator<Object[]> rowsFor(Method method) {
+        ExcelData excelData = method.getAnnotation(ExcelData.class);
+        if (excelData == null) {
+            throw new IllegalStateException("Test method " + method.getName() + " uses an Excel data provider but has no @ExcelData");
+        }
+        ExcelStreamReader reader = ExcelStreamReader.of(excelData.file()).columns(excelData.columns());
+        if (!excelData.sheet().isEmpty()) {
+            reader.sheet(excelData.sheet());
+        }
+        for (String condition : excelData.where()) {
+            int separator = condition.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalStateException("Invalid @ExcelData filter, expected column=value: " + condition);
+            }
+            String column = condition.substring(0, separator).trim();
+            String value = condition.substring(separator + 1).trim();
+            reader.where(row -> row.getString(column).equals(value));
+        }
+        return excelData.asMap() ? reader.rowsAsMaps() : reader.rows();
+    }
+}
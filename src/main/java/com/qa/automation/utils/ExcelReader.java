@@ -1,65 +1,22 @@
 package com.qa.automation.utils;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-
-import java.io.FileInputStream;
-import java.io.IOException;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 public class ExcelReader {
 
+    /**
+     * Read every data row of the first sheet into memory, keyed by header.
+     * Rows are streamed with {@link ExcelStreamReader}; prefer that class (or {@link ExcelDataProvider})
+     * for large sheets so rows are not all held at once.
+     * @throws RuntimeException if the file cannot be read
+     */
     public static List<Map<String, String>> readExcelData(String filePath) {
         List<Map<String, String>> data = new ArrayList<>();
-
-        try (FileInputStream fis = new FileInputStream(filePath);
-             Workbook workbook = new XSSFWorkbook(fis)) {
-
-            Sheet sheet = workbook.getSheetAt(0); // Assuming data is in the first sheet
-
-            // Get header row
-            Row headerRow = sheet.getRow(0);
-            List<String> headers = new ArrayList<>();
-            for (Cell cell : headerRow) {
-                headers.add(cell.getStringCellValue());
-            }
-
-            // Read data rows
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row != null) {
-                    Map<String, String> rowData = new HashMap<>();
-                    for (int j = 0; j < headers.size(); j++) {
-                        Cell cell = row.getCell(j);
-                        String cellValue = "";
-                        if (cell != null) {
-                            switch (cell.getCellType()) {
-                                case STRING:
-                                    cellValue = cell.getStringCellValue();
-                                    break;
-                                case NUMERIC:
-                                    cellValue = String.valueOf((int) cell.getNumericCellValue());
-                                    break;
-                                case BOOLEAN:
-                                    cellValue = String.valueOf(cell.getBooleanCellValue());
-                                    break;
-                                default:
-                                    cellValue = "";
-                            }
-                        }
-                        rowData.put(headers.get(j), cellValue);
-                    }
-                    data.add(rowData);
-                }
-            }
-
-        } catch (IOException e) {
-            e.printStackTrace();
+        for (ExcelRow row : ExcelStreamReader.of(filePath)) {
+            data.add(row.toStringMap());
         }
-
         return data;
     }
 
@@ -72,4 +29,4 @@ public class ExcelReader {
             System.out.println(row);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders parallel test methods from their recorded durations so threads finish close together.
+ * TestNG hands the next method to whichever thread is free, in the order this interceptor returns,
+ * so sorting the work longest first turns the thread pool into a longest-processing-time-first
+ * scheduler: the suite's wall-clock time stays close to the total duration divided by the threads.
+ * <p>
+ * With {@code parallel="classes"} a whole class runs on one thread, so a class full of slow tests
+ * keeps one thread busy long after the others are done. Classes are planned as units by default,
+ * because a class written for {@code parallel="classes"} may share instance fields or
+ * {@code @BeforeClass} state between its methods. Setting {@code planner.splitClasses} switches such
+ * suites to {@code parallel="methods"} before they start and logs a warning for each one it changes.
+ * {@code planner.threads} overrides the suite's thread count.
+ * <p>
+ * Methods without history are assumed to take the median recorded duration.
+ * Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class ExecutionPlanner implements IMethodInterceptor, IAlterSuiteListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(ExecutionPlanner.class);
+
+    /**
+     * Assumed duration of every method when there is no history at all
+     */
+    static final long DEFAULT_DURATION_MILLIS = 1000;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (!ConfigReader.isPlannerEnabled()) {
+            return;
+        }
+        int threads = ConfigReader.getPlannerThreads();
+        for (XmlSuite suite : suites) {
+            if (threads > 0) {
+                suite.setThreadCount(threads);
+            }
+            if (ConfigReader.isPlannerSplitClasses() && suite.getParallel() == XmlSuite.ParallelMode.CLASSES) {
+                suite.setParallel(XmlSuite.ParallelMode.METHODS);
+                logger.warn("Suite " + suite.getName() + ": planner.splitClasses changed parallel=\"classes\" to"
+                        + " parallel=\"methods\"; methods of one class may now run at the same time");
+            }
+            for (XmlTest test : suite.getTests()) {
+                if (threads > 0) {
+                    test.setThreadCount(threads);
+                }
+                if (ConfigReader.isPlannerSplitClasses() && test.getParallel() == XmlSuite.ParallelMode.CLASSES) {
+                    test.setParallel(XmlSuite.ParallelMode.METHODS);
+                    logger.warn("Test " + test.getName() + " of suite " + suite.getName() + ": planner.splitClasses"
+                            + " changed parallel=\"classes\" to parallel=\"methods\"; methods of one class may"
+                            + " now run at the same time");
+                }
+            }
+        }
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        XmlTest test = context.getCurrentXmlTest();
+        XmlSuite.ParallelMode mode = test == null ? null : test.getParallel();
+        if (!ConfigReader.isPlannerEnabled() || methods.size() < 2 || mode == null
+                || mode == XmlSuite.ParallelMode.NONE || mode == XmlSuite.ParallelMode.TESTS) {
+            return methods;
+        }
+        boolean byClass = mode == XmlSuite.ParallelMode.CLASSES || mode == XmlSuite.ParallelMode.INSTANCES;
+        Plan plan = plan(methods, DurationHistory.load(), Math.max(1, test.getThreadCount()), byClass);
+        logger.info("Planned " + methods.size() + " methods of " + context.getName() + " on " + plan.loads.length
+                + " threads: estimated " + plan.makespan() + " ms, ideal " + plan.ideal() + " ms, thread loads "
+                + Arrays.toString(plan.loads) + " ms");
+        return plan.order;
+    }
+
+    /**
+     * Order methods longest first and assign them to the least loaded thread, as the pool will
+     * @param methods methods to run
+     * @param history recorded durations by qualified method name
+     * @param threads worker threads
+     * @param byClass keep the methods of a class together and plan whole classes
+     * @return execution order and the expected load of each thread
+     */
+    static Plan plan(List<IMethodInstance> methods, Map<String, Long> history, int threads, boolean byClass) {
+        long fallback = median(history);
+        Map<Object, List<IMethodInstance>> units = new LinkedHashMap<>();
+        Map<Object, Long> estimates = new LinkedHashMap<>();
+        for (IMethodInstance method : methods) {
+            Object unit = byClass ? method.getMethod().getRealClass() : method;
+            units.computeIfAbsent(unit, key -> new ArrayList<>()).add(method);
+            estimates.merge(unit, history.getOrDefault(method.getMethod().getQualifiedName(), fallback), Long::sum);
+        }
+        List<Object> ordered = new ArrayList<>(units.keySet());
+        // Stable sort: equal estimates keep their declared order
+        ordered.sort(Comparator.comparing(estimates::get, Comparator.reverseOrder()));
+
+        long[] loads = new long[threads];
+        List<IMethodInstance> order = new ArrayList<>(methods.size());
+        for (Object unit : ordered) {
+            int least = 0;
+            for (int i = 1; i < threads; i++) {
+                if (loads[i] < loads[least]) {
+                    least = i;
+                }
+            }
+            loads[least] += estimates.get(unit);
+            order.addAll(units.get(unit));
+        }
+        return new Plan(order, loads);
+    }
+
+    private static long median(Map<String, Long> history) {
+        if (history.isEmpty()) {
+            return DEFAULT_DURATION_MILLIS;
+        }
+        List<Long> values = new ArrayList<>(history.values());
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+
+    /**
+     * Planned execution order and expected busy time per thread
+     */
+    static final class Plan {
+        final List<IMethodInstance> order;
+        final long[] loads;
+
+        private Plan(List<IMethodInstance> order, long[] loads) {
+            this.order = order;
+            this.loads = loads;
+        }
+
+        /**
+         * Expected wall-clock time: the busiest thread's load
+         */
+        long makespan() {
+            return Arrays.stream(loads).max().orElse(0);
+        }
+
+        /**
+         * Lower bound: total work spread evenly over the threads
+         */
+        long ideal() {
+            return (Arrays.stream(loads).sum() + loads.length - 1) / loads.length;
+        }
+    }
+}
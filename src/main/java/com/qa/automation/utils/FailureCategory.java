@@ -0,0 +1,98 @@
+package com.qa.automation.utils;
+
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.net.SocketTimeoutException;
+import java.util.Locale;
+
+/**
+ * Why a test failed, as far as can be told from its exception. Transient categories are caused by
+ * timing or infrastructure and may pass on a second attempt; the others are genuine failures that
+ * a retry would only repeat.
+ */
+public enum FailureCategory {
+    TIMEOUT(true),
+    STALE_ELEMENT(true),
+    SESSION_LOST(true),
+    ASSERTION(false),
+    OTHER(false);
+
+    // Deep enough for the wrappers Cucumber, TestNG and WebDriverWait put around a failure
+    private static final int MAX_CAUSE_DEPTH = 16;
+
+    private final boolean transientFailure;
+
+    FailureCategory(boolean transientFailure) {
+        this.transientFailure = transientFailure;
+    }
+
+    /**
+     * Whether a failure of this category may go away when the test is run again
+     */
+    public boolean isTransient() {
+        return transientFailure;
+    }
+
+    /**
+     * Classify a failure. Wrappers are looked through: an AssertionError or framework exception with
+     * a cause is classified by that cause. When failures are aggregated as suppressed exceptions, one
+     * genuine failure makes the whole failure genuine.
+     * @param failure throwable of the failed test, may be null
+     * @return category, OTHER when nothing more specific matches
+     */
+    public static FailureCategory classify(Throwable failure) {
+        if (failure == null) {
+            return OTHER;
+        }
+        FailureCategory category = classifyChain(failure);
+        for (Throwable suppressed : failure.getSuppressed()) {
+            FailureCategory other = classifyChain(suppressed);
+            if (!other.isTransient()) {
+                return other;
+            }
+        }
+        return category;
+    }
+
+    private static FailureCategory classifyChain(Throwable failure) {
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (current instanceof StaleElementReferenceException) {
+                return STALE_ELEMENT;
+            }
+            if (current instanceof NoSuchSessionException || current instanceof SessionNotCreatedException
+                    || current instanceof UnreachableBrowserException || isLostBrowser(current)) {
+                return SESSION_LOST;
+            }
+            if (current instanceof org.openqa.selenium.TimeoutException
+                    || current instanceof java.util.concurrent.TimeoutException
+                    || current instanceof SocketTimeoutException) {
+                return TIMEOUT;
+            }
+            if (current instanceof AssertionError && current.getCause() == null) {
+                return ASSERTION;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return failure instanceof AssertionError ? ASSERTION : OTHER;
+    }
+
+    /**
+     * Browsers that crash or disconnect surface as plain WebDriverExceptions with a telling message
+     */
+    private static boolean isLostBrowser(Throwable failure) {
+        if (!(failure instanceof WebDriverException) || failure.getMessage() == null) {
+            return false;
+        }
+        String message = failure.getMessage().toLowerCase(Locale.ROOT);
+        return message.contains("not reachable") || message.contains("disconnected")
+                || message.contains("session deleted") || message.contains("invalid session id");
+    }
+}
@@ -0,0 +1,65 @@
+package com.qa.automation.utils;
+
+import io.cucumber.testng.AbstractTestNGCucumberTests;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.annotations.ITestAnnotation;
+import org.testng.xml.XmlSuite;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Runs Cucumber scenarios in parallel when {@code cucumber.threads} is above 1.
+ * The scenarios data provider of every Cucumber runner is made parallel, and the suites get that
+ * many data provider threads. TestNG shares the data provider thread count across a suite, so
+ * other parallel data providers (such as {@link ExcelDataProvider#EXCEL_PARALLEL}) use it too.
+ * With the default of 1 nothing is changed and scenarios run one at a time.
+ * <p>
+ * The runner's {@value #VIRTUAL_THREAD_METHOD} test is disabled unless
+ * {@code execution.threads=virtual}, so it is left out of the run instead of being reported as
+ * skipped.
+ * Registered through {@code META-INF/services/org.testng.ITestNGListener}.
+ */
+public class ScenarioParallelism implements IAnnotationTransformer, IAlterSuiteListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(ScenarioParallelism.class);
+
+    /**
+     * Name of the Cucumber runner test that runs all scenarios on virtual threads
+     */
+    public static final String VIRTUAL_THREAD_METHOD = "runScenariosOnVirtualThreads";
+
+    @Override
+    public void transform(ITestAnnotation annotation, Class testClass, Constructor testConstructor, Method testMethod) {
+        if (testMethod != null && !ConfigReader.isVirtualThreadExecution()
+                && AbstractTestNGCucumberTests.class.isAssignableFrom(testMethod.getDeclaringClass())
+                && testMethod.getName().equals(VIRTUAL_THREAD_METHOD)) {
+            annotation.setEnabled(false);
+        }
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (ConfigReader.getCucumberThreads() > 1
+                && AbstractTestNGCucumberTests.class.isAssignableFrom(method.getDeclaringClass())
+                && method.getName().equals("scenarios")) {
+            annotation.setParallel(true);
+        }
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threads = ConfigReader.getCucumberThreads();
+        if (threads <= 1) {
+            return;
+        }
+        for (XmlSuite suite : suites) {
+            suite.setDataProviderThreadCount(threads);
+        }
+        logger.info("Running Cucumber scenarios on " + threads + " parallel threads");
+    }
+}
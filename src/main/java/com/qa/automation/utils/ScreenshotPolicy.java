@@ -0,0 +1,62 @@
+package com.qa.automation.utils;
+
+import java.util.Locale;
+
+/**
+ * When step screenshots are taken, configured by {@code screenshot.policy}
+ */
+public enum ScreenshotPolicy {
+    /**
+     * Every step is captured and attached
+     */
+    ALWAYS("always"),
+    /**
+     * No screenshots at all, not even of a failure
+     */
+    NEVER("never"),
+    /**
+     * Only the failing step, plus the buffered steps before it
+     */
+    ON_FAILURE("on-failure"),
+    /**
+     * Every {@code screenshot.everyNSteps}-th step, plus the failing step
+     */
+    EVERY_N_STEPS("every-n"),
+    /**
+     * Steps after which the page URL changed, plus the failing step
+     */
+    ON_URL_CHANGE("url-change"),
+    /**
+     * Steps after which the page's DOM changed, plus the failing step
+     */
+    ON_DOM_CHANGE("dom-change");
+
+    private final String key;
+
+    ScreenshotPolicy(String key) {
+        this.key = key;
+    }
+
+    /**
+     * Configuration value of this policy, e.g. on-failure
+     */
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * Parse a configuration value
+     * @param value policy key, case-insensitive
+     * @return matching policy
+     * @throws IllegalArgumentException if no policy has this key
+     */
+    public static ScreenshotPolicy fromString(String value) {
+        String key = value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        for (ScreenshotPolicy policy : values()) {
+            if (policy.key.equals(key)) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported screenshot policy: " + value);
+    }
+}
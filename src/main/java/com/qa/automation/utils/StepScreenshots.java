@@ -0,0 +1,229 @@
+package com.qa.automation.utils;
+
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Decides after each step of one test or scenario whether a screenshot is worth taking, following
+ * the configured {@link ScreenshotPolicy}. With the default buffer size of 0, {@code on-failure}
+ * costs nothing per step and {@code every-n} only pays for every Nth step; change-based policies
+ * cost a {@code getCurrentUrl} call or one small script per step.
+ * <p>
+ * With a {@code screenshot.bufferSize} above 0, {@code on-failure} and {@code every-n} also grab
+ * every step that is not attached into a ring buffer of that many raw PNGs. The buffer is only
+ * handed out when the test fails (see {@link #failed(WebDriver, String)}) and is dropped otherwise.
+ * Nothing is encoded or stored on green runs, but each grab is still a full screenshot round trip
+ * to the browser, so passing tests pay about as much per step as with {@code always}.
+ * <p>
+ * One instance belongs to one test or scenario and is not thread-safe.
+ */
+public final class StepScreenshots {
+
+    private static final Logger logger = LoggerUtil.getLogger(StepScreenshots.class);
+
+    /**
+     * Cheap page fingerprint: URL, markup length and a 32-bit FNV-1a hash of the markup
+     */
+    static final String DOM_HASH_SCRIPT =
+            "var s = document.documentElement ? document.documentElement.outerHTML : '';"
+            + "var h = 0x811c9dc5;"
+            + "for (var i = 0; i < s.length; i++) { h ^= s.charCodeAt(i); h = Math.imul(h, 0x01000193); }"
+            + "return location.href + '#' + s.length + ':' + (h >>> 0);";
+
+    private final ScreenshotPolicy policy;
+    private final int everyNSteps;
+    private final int bufferSize;
+    private final Deque<Shot> buffer;
+    private int step;
+    private String lastPageState;
+    private boolean failureReported;
+
+    /**
+     * @param policy when to capture
+     * @param everyNSteps interval of {@link ScreenshotPolicy#EVERY_N_STEPS}
+     * @param bufferSize raw screenshots kept for a failure (0 = none)
+     */
+    public StepScreenshots(ScreenshotPolicy policy, int everyNSteps, int bufferSize) {
+        if (everyNSteps < 1 || bufferSize < 0) {
+            throw new IllegalArgumentException("everyNSteps must be at least 1 and bufferSize at least 0");
+        }
+        this.policy = policy;
+        this.everyNSteps = everyNSteps;
+        this.bufferSize = bufferSize;
+        this.buffer = new ArrayDeque<>(bufferSize);
+    }
+
+    /**
+     * New instance using {@code screenshot.policy}, {@code screenshot.everyNSteps} and {@code screenshot.bufferSize}
+     */
+    public static StepScreenshots fromConfig() {
+        return new StepScreenshots(ConfigReader.getScreenshotPolicy(), ConfigReader.getScreenshotEveryNSteps(),
+                ConfigReader.getScreenshotBufferSize());
+    }
+
+    public ScreenshotPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Number of steps seen so far
+     */
+    public int getStep() {
+        return step;
+    }
+
+    /**
+     * Call after every passed step
+     * @param driver driver of the test, may be null
+     * @param title name of the step
+     * @return screenshot to attach now, or null if this step should not be attached
+     */
+    public Shot afterStep(WebDriver driver, String title) {
+        step++;
+        if (driver == null || failureReported) {
+            return null;
+        }
+        switch (policy) {
+            case ALWAYS:
+                return capture(driver, title);
+            case EVERY_N_STEPS:
+                if (step % everyNSteps == 0) {
+                    return capture(driver, title);
+                }
+                bufferStep(driver, title);
+                return null;
+            case ON_FAILURE:
+                bufferStep(driver, title);
+                return null;
+            case ON_URL_CHANGE:
+                return pageChanged(currentUrl(driver)) ? capture(driver, title) : null;
+            case ON_DOM_CHANGE:
+                return pageChanged(domHash(driver)) ? capture(driver, title) : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Call once when the test fails. Only the first call returns screenshots.
+     * @param driver driver of the test, or null if it is already gone (only the buffer is returned)
+     * @param title name of the failure screenshot
+     * @return buffered step screenshots, oldest first, followed by the current page; empty with {@code never}
+     */
+    public List<Shot> failed(WebDriver driver, String title) {
+        if (failureReported || policy == ScreenshotPolicy.NEVER) {
+            failureReported = true;
+            buffer.clear();
+            return Collections.emptyList();
+        }
+        failureReported = true;
+        List<Shot> shots = new ArrayList<>(buffer);
+        buffer.clear();
+        if (driver != null) {
+            Shot current = capture(driver, title);
+            if (current != null) {
+                shots.add(current);
+            }
+        }
+        if (!shots.isEmpty()) {
+            logger.debug("Attaching " + shots.size() + " screenshot(s) of failed step " + step);
+        }
+        return shots;
+    }
+
+    /**
+     * Drop the buffer and start counting steps again, e.g. when a test is retried
+     */
+    public void reset() {
+        buffer.clear();
+        step = 0;
+        lastPageState = null;
+        failureReported = false;
+    }
+
+    private Shot capture(WebDriver driver, String title) {
+        byte[] png = ScreenshotUtil.captureScreenshotBytes(driver);
+        return png == null ? null : new Shot(step, title, png);
+    }
+
+    private void bufferStep(WebDriver driver, String title) {
+        if (bufferSize == 0) {
+            return;
+        }
+        Shot shot = capture(driver, title);
+        if (shot != null) {
+            if (buffer.size() == bufferSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(shot);
+        }
+    }
+
+    /**
+     * Remember the page state; a state that cannot be read counts as a change
+     */
+    private boolean pageChanged(String state) {
+        boolean changed = state == null || !state.equals(lastPageState);
+        lastPageState = state;
+        return changed;
+    }
+
+    private static String currentUrl(WebDriver driver) {
+        try {
+            return driver.getCurrentUrl();
+        } catch (RuntimeException e) {
+            logger.debug("Could not read the page URL: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String domHash(WebDriver driver) {
+        if (!(driver instanceof JavascriptExecutor)) {
+            return null;
+        }
+        try {
+            Object hash = ((JavascriptExecutor) driver).executeScript(DOM_HASH_SCRIPT);
+            return hash == null ? null : hash.toString();
+        } catch (RuntimeException e) {
+            logger.debug("Could not fingerprint the page: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Raw PNG of one step
+     */
+    public static final class Shot {
+        private final int step;
+        private final String title;
+        private final byte[] png;
+
+        private Shot(int step, String title, byte[] png) {
+            this.step = step;
+            this.title = title;
+            this.png = png;
+        }
+
+        /**
+         * Number of the step the screenshot was taken after, starting at 1
+         */
+        public int getStep() {
+            return step;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public byte[] getPng() {
+            return png;
+        }
+    }
+}
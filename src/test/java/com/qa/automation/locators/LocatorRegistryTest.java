@@ -0,0 +1,120 @@
+package com.qa.automation.locators;
+
+import org.openqa.selenium.By;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Parsing and validation of external locator files, loaded from the test classpath
+ */
+public class LocatorRegistryTest {
+
+    private static final List<String> PAGES = List.of("locators/pages.properties", "locators/pages.json");
+
+    @Test
+    public void everyStrategyIsParsed() {
+        Assert.assertEquals(LocatorRegistry.parse("id:username"), By.id("username"));
+        Assert.assertEquals(LocatorRegistry.parse("name:q"), By.name("q"));
+        Assert.assertEquals(LocatorRegistry.parse("css:#login > button"), By.cssSelector("#login > button"));
+        Assert.assertEquals(LocatorRegistry.parse("cssSelector:a.next"), By.cssSelector("a.next"));
+        Assert.assertEquals(LocatorRegistry.parse("xpath://a[@href='/x']"), By.xpath("//a[@href='/x']"));
+        Assert.assertEquals(LocatorRegistry.parse("className:total"), By.className("total"));
+        Assert.assertEquals(LocatorRegistry.parse("class:total"), By.className("total"));
+        Assert.assertEquals(LocatorRegistry.parse("tagName:tr"), By.tagName("tr"));
+        Assert.assertEquals(LocatorRegistry.parse("tag:tr"), By.tagName("tr"));
+        Assert.assertEquals(LocatorRegistry.parse("linkText:Sign in"), By.linkText("Sign in"));
+        Assert.assertEquals(LocatorRegistry.parse("partialLinkText:Sign"), By.partialLinkText("Sign"));
+        Assert.assertEquals(LocatorRegistry.parse(" XPATH : //td[2] "), By.xpath("//td[2]"),
+                "strategy is case-insensitive and both parts are trimmed");
+        Assert.assertEquals(LocatorRegistry.parse("css:li:nth-child(2)"), By.cssSelector("li:nth-child(2)"),
+                "only the first colon separates the strategy");
+    }
+
+    @Test
+    public void malformedSpecIsRejected() {
+        IllegalArgumentException unknown = Assert.expectThrows(IllegalArgumentException.class,
+                () -> LocatorRegistry.parse("label:Username"));
+        Assert.assertEquals(unknown.getMessage(), "unknown locator strategy 'label'");
+        IllegalArgumentException missing = Assert.expectThrows(IllegalArgumentException.class,
+                () -> LocatorRegistry.parse("username"));
+        Assert.assertEquals(missing.getMessage(), "expected strategy:value but was 'username'");
+        Assert.expectThrows(IllegalArgumentException.class, () -> LocatorRegistry.parse(":username"));
+    }
+
+    @Test
+    public void validFilesAreIndexedPerPage() {
+        LocatorRegistry registry = LocatorRegistry.load(PAGES);
+
+        Assert.assertEquals(registry.get("login.username"), By.id("username"));
+        Assert.assertEquals(registry.get("LOGIN", "Password"), By.name("password"));
+        Assert.assertEquals(registry.get("checkout.submit"), By.xpath("//button[@id='pay']"));
+        Assert.assertEquals(registry.get("search.query"), By.cssSelector("input[name=\"q\"]"));
+        Assert.assertEquals(registry.get("result"), By.xpath("(//div[@class='g'])[1]"), "unique bare name");
+        Assert.assertEquals(registry.get("common.banner"), By.cssSelector(".cookie-banner > button"),
+                "properties key without a page");
+        Assert.assertEquals(registry.get("spinner"), By.className("loading"), "JSON value without a page");
+        Assert.assertEquals(registry.get("google_search_box"), PageLocators.GOOGLE_SEARCH_BOX.getLocatorValue(),
+                "enum locators stay available");
+        Assert.assertEquals(registry.getLocators("login").keySet(), Set.of("username", "password", "submit",
+                "forgot", "help"));
+        Assert.assertEquals(registry.size(), PageLocators.values().length + 12);
+        Assert.assertTrue(registry.contains("Checkout.Rows"));
+        Assert.assertFalse(registry.contains("checkout.missing"));
+    }
+
+    @Test
+    public void ambiguousBareNameMustBeQualified() {
+        LocatorRegistry registry = LocatorRegistry.load(PAGES);
+
+        IllegalArgumentException ambiguous = Assert.expectThrows(IllegalArgumentException.class,
+                () -> registry.get("submit"));
+        Assert.assertEquals(ambiguous.getMessage(),
+                "Locator name is ambiguous, qualify it with a page: submit [checkout.submit, login.submit]");
+        Assert.assertEquals(registry.get("login.submit"), By.cssSelector("form#login button[type='submit']"));
+        IllegalArgumentException unknown = Assert.expectThrows(IllegalArgumentException.class,
+                () -> registry.get("logout"));
+        Assert.assertEquals(unknown.getMessage(), "Locator not found: logout");
+    }
+
+    @Test
+    public void everyProblemIsReportedAtOnce() {
+        IllegalStateException invalid = Assert.expectThrows(IllegalStateException.class,
+                () -> LocatorRegistry.load(List.of("locators/broken.properties")));
+        String message = invalid.getMessage();
+
+        Assert.assertTrue(message.startsWith("Invalid locators (10):"), message);
+        assertReported(message, "broken.strategy: unknown locator strategy 'label'");
+        assertReported(message, "broken.nostrategy: expected strategy:value but was 'username'");
+        assertReported(message, "unclosed '[' in CSS selector in broken.bracket");
+        assertReported(message, "unclosed '(' in CSS selector in broken.paren");
+        assertReported(message, "unbalanced ']' in CSS selector in broken.closing");
+        assertReported(message, "unterminated string in CSS selector in broken.quote");
+        assertReported(message, "dangling combinator in CSS selector in broken.combinator");
+        assertReported(message, "dangling combinator in CSS selector in broken.comma");
+        assertReported(message, "malformed XPath in broken.xpath");
+        assertReported(message, "Duplicate locator google_home.google_search_box in locators/broken.properties"
+                + " (already defined in enum GOOGLE_SEARCH_BOX)");
+    }
+
+    @Test
+    public void sameNameInTwoFilesIsADuplicate() {
+        IllegalStateException duplicate = Assert.expectThrows(IllegalStateException.class,
+                () -> LocatorRegistry.load(List.of("locators/pages.properties", "locators/pages.properties")));
+
+        assertReported(duplicate.getMessage(), "Duplicate locator login.username in locators/pages.properties");
+    }
+
+    @Test
+    public void unreadableFileFailsTheLoad() {
+        IllegalStateException missing = Assert.expectThrows(IllegalStateException.class,
+                () -> LocatorRegistry.load(List.of("locators/missing.properties")));
+        Assert.assertEquals(missing.getMessage(), "Cannot read locator file: locators/missing.properties");
+    }
+
+    private static void assertReported(String message, String problem) {
+        Assert.assertTrue(message.contains(problem), "expected '" + problem + "' in: " + message);
+    }
+}
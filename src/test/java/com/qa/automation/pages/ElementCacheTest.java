@@ -0,0 +1,198 @@
+package com.qa.automation.pages;
+
+import com.qa.automation.locators.PageLocators;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Element cache of a page object, driven by a fake browser that records every command it receives.
+ * A hit must save the find command without sending another one in its place.
+ */
+public class ElementCacheTest {
+
+    private static final PageLocators BOX = PageLocators.GOOGLE_SEARCH_BOX;
+    private static final PageLocators BUTTON = PageLocators.GOOGLE_SEARCH_BUTTON;
+
+    private final List<String> commands = new ArrayList<>();
+    private final Map<By, WebElement> dom = new HashMap<>();
+    private final List<WebElement> detached = new ArrayList<>();
+    private String url;
+    private BasePage page;
+
+    @BeforeMethod
+    public void openPage() {
+        commands.clear();
+        dom.clear();
+        detached.clear();
+        url = "https://www.google.com/";
+        dom.put(BOX.getLocatorValue(), element("search box"));
+        dom.put(BUTTON.getLocatorValue(), element("search button"));
+        page = new BasePage(fakeDriver(), null);
+    }
+
+    @Test
+    public void repeatedInteractionReusesTheElementWithoutExtraCommands() {
+        page.typeText(BOX, "selenium");
+        commands.clear();
+        page.typeText(BOX, "testng");
+
+        Assert.assertEquals(commands, List.of("isDisplayed", "clear", "sendKeys"),
+                "a hit sends the interaction's own commands and nothing else");
+        assertCounters(1, 1, 0);
+    }
+
+    @Test
+    public void clickReadsTheUrlOnlyWhenAnEntryIsReused() {
+        page.typeText(BOX, "selenium");
+        page.clickElement(BUTTON);
+        Assert.assertFalse(commands.contains("getCurrentUrl"), "the button was not cached yet: " + commands);
+
+        commands.clear();
+        page.typeText(BOX, "testng");
+
+        Assert.assertEquals(commands, List.of("getCurrentUrl", "isDisplayed", "clear", "sendKeys"));
+        assertCounters(1, 2, 0);
+
+        commands.clear();
+        page.typeText(BOX, "cucumber");
+        Assert.assertEquals(commands, List.of("isDisplayed", "clear", "sendKeys"), "the URL is read once per click");
+    }
+
+    @Test
+    public void navigationAwayDropsTheEntriesOfThePreviousPage() {
+        Assert.assertEquals(page.getCurrentUrl(), url);
+        page.typeText(BOX, "selenium");
+        page.clickElement(BUTTON);
+        navigate("https://www.google.com/search?q=selenium");
+
+        commands.clear();
+        page.typeText(BOX, "testng");
+
+        Assert.assertEquals(commands, List.of("getCurrentUrl", "findElements", "isDisplayed", "clear", "sendKeys"));
+        assertCounters(0, 3, 0);
+        Assert.assertFalse(commands.contains("stale"), "no command went to an element of the old page");
+    }
+
+    @Test
+    public void typingWithoutEnterDoesNotReadTheUrl() {
+        page.typeText(BOX, "selenium");
+        page.typeText(BOX, "testng");
+        page.typeText(BOX, "cucumber\n");
+        Assert.assertFalse(commands.contains("getCurrentUrl"), commands.toString());
+
+        page.typeText(BOX, "maven");
+        Assert.assertEquals(Collections.frequency(commands, "getCurrentUrl"), 1, "Enter may submit: " + commands);
+    }
+
+    @Test
+    public void staleHitIsEvictedAndResolvedAgain() {
+        page.typeText(BOX, "selenium");
+        rerender(BOX, "new search box");
+
+        commands.clear();
+        page.typeText(BOX, "testng");
+
+        Assert.assertEquals(commands, List.of("stale", "findElements", "isDisplayed", "clear", "sendKeys"));
+        assertCounters(0, 2, 1);
+    }
+
+    @Test
+    public void foundElementFindsItselfAgainWhenItGoesStale() {
+        WebElement box = page.findElement(BOX);
+        Assert.assertEquals(box.getText(), "search box");
+        Assert.assertEquals(page.findElement(BOX).getText(), "search box");
+        assertCounters(1, 1, 0);
+
+        rerender(BOX, "new search box");
+        commands.clear();
+
+        Assert.assertEquals(box.getText(), "new search box");
+        Assert.assertEquals(commands, List.of("stale", "findElements", "getText"));
+        assertCounters(1, 2, 1);
+    }
+
+    private void assertCounters(long hits, long misses, long staleEvictions) {
+        ElementCache cache = page.getElementCache();
+        Assert.assertEquals(cache.getHits(), hits, "hits: " + cache);
+        Assert.assertEquals(cache.getMisses(), misses, "misses: " + cache);
+        Assert.assertEquals(cache.getStaleEvictions(), staleEvictions, "stale evictions: " + cache);
+    }
+
+    /**
+     * Load another page: every element of the current one is detached and replaced
+     */
+    private void navigate(String newUrl) {
+        url = newUrl;
+        for (Map.Entry<By, WebElement> entry : dom.entrySet()) {
+            detached.add(entry.getValue());
+            entry.setValue(element(entry.getValue().toString()));
+        }
+    }
+
+    /**
+     * Replace one element, as a script re-rendering part of the page does
+     */
+    private void rerender(PageLocators locator, String name) {
+        detached.add(dom.put(locator.getLocatorValue(), element(name)));
+    }
+
+    private WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebDriver.class},
+                (proxy, method, args) -> {
+                    commands.add(method.getName());
+                    switch (method.getName()) {
+                        case "findElements":
+                            WebElement found = dom.get((By) args[0]);
+                            return found == null ? List.of() : List.of(found);
+                        case "getCurrentUrl":
+                            return url;
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+
+    private WebElement element(String name) {
+        WebElement[] self = new WebElement[1];
+        self[0] = (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "toString":
+                            return name;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            break;
+                    }
+                    if (detached.contains(self[0])) {
+                        commands.add("stale");
+                        throw new StaleElementReferenceException(name + " is no longer attached");
+                    }
+                    commands.add(method.getName());
+                    switch (method.getName()) {
+                        case "isDisplayed":
+                        case "isEnabled":
+                            return true;
+                        case "getText":
+                            return name;
+                        default:
+                            return null;
+                    }
+                });
+        return self[0];
+    }
+}
@@ -0,0 +1,151 @@
+package com.qa.automation.stepdefinitions;
+
+import com.qa.automation.base.BaseTest;
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.StepScreenshots;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.Reporter;
+
+/**
+ * Per-scenario world shared by all step definition and hook classes.
+ * Cucumber's PicoContainer creates one instance for each scenario and injects it into every glue
+ * class that asks for it in its constructor, so steps and hooks of a scenario see the same driver
+ * and the same {@link Scenario}, and parallel scenarios never see each other's.
+ * Attachments go through {@link #attach(byte[], String, String)} so they always land on the
+ * scenario that owns this context.
+ * <p>
+ * On the TestNG runner each scenario is one test invocation, and its hooks run inside it, so the
+ * driver would be gone before TestListener reports a failure. A failed scenario therefore keeps
+ * its driver on its thread until {@link #releaseFailed()}, which the runner calls once the
+ * failure has been reported.
+ */
+public class ScenarioContext extends BaseTest {
+
+    // Failed scenario of each thread whose driver is kept for the failure report
+    private static final ThreadLocal<ScenarioContext> FAILED = new ThreadLocal<>();
+
+    private Scenario scenario;
+    private WebDriver driver;
+    private WebDriverWait wait;
+    private final StepScreenshots stepScreenshots = StepScreenshots.fromConfig();
+    private int stepNumber;
+    private long stepStartMillis;
+
+    /**
+     * Start the scenario: lease a driver and bind it to this scenario's thread
+     */
+    public void start(Scenario scenario) {
+        this.scenario = scenario;
+        // The thread's driver binding is about to change; a kept driver must go first
+        releaseFailed();
+        initializeDriver();
+        driver = super.getDriver();
+        wait = super.getWait();
+        logger.info("Scenario started: " + scenario.getName());
+    }
+
+    /**
+     * Finish the scenario: return the driver and forget it. A failed scenario that runs as a TestNG
+     * invocation on this thread keeps its driver until {@link #releaseFailed()} instead.
+     * @param failed whether the scenario failed
+     */
+    public void finish(boolean failed) {
+        if (failed && getDriver() != null && Reporter.getCurrentTestResult() != null
+                && !ConfigReader.isVirtualThreadExecution()) {
+            releaseFailed();
+            FAILED.set(this);
+            logger.info("Keeping the driver of failed scenario " + (scenario != null ? scenario.getName() : "")
+                    + " until the failure is reported");
+            return;
+        }
+        release();
+    }
+
+    /**
+     * Failed scenario whose driver is kept on the current thread
+     * @return context, or null when none is kept
+     */
+    public static ScenarioContext failedOnThisThread() {
+        return FAILED.get();
+    }
+
+    /**
+     * Return the driver of the failed scenario kept on the current thread, if any
+     */
+    public static void releaseFailed() {
+        ScenarioContext failed = FAILED.get();
+        if (failed != null) {
+            FAILED.remove();
+            failed.release();
+        }
+    }
+
+    private void release() {
+        try {
+            quitDriver();
+        } finally {
+            driver = null;
+            wait = null;
+        }
+    }
+
+    /**
+     * Driver of this scenario, or null outside of it
+     */
+    @Override
+    public WebDriver getDriver() {
+        return driver;
+    }
+
+    /**
+     * Explicit wait of this scenario's driver
+     */
+    @Override
+    public WebDriverWait getWait() {
+        return wait;
+    }
+
+    public Scenario getScenario() {
+        return scenario;
+    }
+
+    /**
+     * Screenshot policy state and failure buffer of this scenario
+     */
+    public StepScreenshots getStepScreenshots() {
+        return stepScreenshots;
+    }
+
+    /**
+     * Mark the start of the next step, for the step timings in the results store
+     */
+    public void startStep() {
+        stepNumber++;
+        stepStartMillis = System.currentTimeMillis();
+    }
+
+    /**
+     * Number of the current step, counting from 1
+     */
+    public int getStepNumber() {
+        return stepNumber;
+    }
+
+    /**
+     * Start time of the current step in epoch milliseconds
+     */
+    public long getStepStartMillis() {
+        return stepStartMillis;
+    }
+
+    /**
+     * Attach data to this scenario's report entry
+     */
+    public void attach(byte[] data, String mediaType, String name) {
+        if (scenario != null) {
+            scenario.attach(data, mediaType, name);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.qa.automation.stepdefinitions;
+
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+
+/**
+ * Starts and ends the driver of every scenario. The driver is started before any other hook
+ * and returned after all other hooks, so screenshot hooks still have it. A failed scenario keeps
+ * it until TestListener has reported the failure, see {@link ScenarioContext#finish(boolean)}.
+ */
+public class ScenarioHooks {
+
+    private final ScenarioContext context;
+
+    public ScenarioHooks(ScenarioContext context) {
+        this.context = context;
+    }
+
+    @Before(order = 0)
+    public void startScenario(Scenario scenario) {
+        context.start(scenario);
+    }
+
+    // After hooks run from high to low order, so order 0 runs last
+    @After(order = 0)
+    public void finishScenario(Scenario scenario) {
+        context.finish(scenario.isFailed());
+    }
+}
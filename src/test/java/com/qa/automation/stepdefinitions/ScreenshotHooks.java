@@ -1,17 +1,58 @@
 package com.qa.automation.stepdefinitions;
 
-import com.qa.automation.base.BaseTest;
-import com.qa.automation.utils.ScreenshotUtil;
+import com.qa.automation.base.ExtentTestRegistry;
+import com.qa.automation.utils.ResultsStore;
+import com.qa.automation.utils.StepScreenshots;
 import io.cucumber.java.AfterStep;
+import io.cucumber.java.BeforeStep;
 import io.cucumber.java.Scenario;
+import org.openqa.selenium.WebDriver;
+import org.testng.Reporter;
+
+public class ScreenshotHooks {
+
+    private final ScenarioContext context;
+
+    public ScreenshotHooks(ScenarioContext context) {
+        this.context = context;
+    }
+
+    @BeforeStep
+    public void startStep() {
+        context.startStep();
+    }
 
-public class ScreenshotHooks extends BaseTest {
     @AfterStep
     public void attachScreenshot(Scenario scenario) {
-        if (driver != null) {
-            // Attach screenshot to Cucumber report after every step
-            byte[] screenshot = ((org.openqa.selenium.TakesScreenshot) driver).getScreenshotAs(org.openqa.selenium.OutputType.BYTES);
-            scenario.attach(screenshot, "image/png", "Step Screenshot");
+        recordStep(scenario);
+        // The scenario's driver comes from the scenario's own context, not from whichever thread runs the hook
+        WebDriver driver = context.getDriver();
+        StepScreenshots steps = context.getStepScreenshots();
+        if (scenario.isFailed()) {
+            // Failing step: attach the buffered steps before it and the failure itself
+            for (StepScreenshots.Shot shot : steps.failed(driver, "Failed Step")) {
+                context.attach(shot.getPng(), "image/png", "Step " + shot.getStep() + " " + shot.getTitle());
+            }
+            return;
+        }
+        // Whether this step is captured at all depends on screenshot.policy
+        // Cucumber takes the raw PNG bytes, so no encoding happens on the test thread
+        StepScreenshots.Shot shot = steps.afterStep(driver, "Screenshot");
+        if (shot != null) {
+            context.attach(shot.getPng(), "image/png", "Step " + shot.getStep() + " " + shot.getTitle());
         }
     }
+
+    /**
+     * Store the step's timing before any screenshot is taken, so capture time is not counted.
+     * Hooks do not see the step text, so steps are numbered within their scenario.
+     */
+    private void recordStep(Scenario scenario) {
+        long durationMillis = Math.max(0, System.currentTimeMillis() - context.getStepStartMillis());
+        // On the TestNG runner the scenario runs as a test invocation, whose retries count as attempts
+        int attempt = ExtentTestRegistry.attemptOf(Reporter.getCurrentTestResult());
+        ResultsStore.recordStep(scenario.getName(), "Step " + context.getStepNumber(),
+                scenario.isFailed() ? ResultsStore.Outcome.FAIL : ResultsStore.Outcome.PASS,
+                attempt, context.getStepStartMillis(), durationMillis);
+    }
 }
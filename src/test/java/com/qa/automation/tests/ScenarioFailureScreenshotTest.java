@@ -0,0 +1,123 @@
+package com.qa.automation.tests;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.qa.automation.base.DriverAware;
+import com.qa.automation.stepdefinitions.ScenarioContext;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.ITestResult;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Failure screenshots of Cucumber scenarios. The scenario's hooks finish inside the TestNG
+ * invocation, so TestListener only gets a screenshot if the failed scenario's driver is still
+ * reachable through the runner when the failure is reported.
+ */
+public class ScenarioFailureScreenshotTest {
+
+    private final AtomicInteger screenshots = new AtomicInteger();
+    private final AtomicInteger quits = new AtomicInteger();
+    private final WebDriver driver = fakeDriver();
+
+    @AfterMethod(alwaysRun = true)
+    public void releaseScenario() {
+        ScenarioContext.releaseFailed();
+    }
+
+    @Test
+    public void failedScenarioIsScreenshottedBeforeItsDriverIsReleased() {
+        TestRunner runner = new TestRunner();
+        ScenarioContext context = scenarioOn(driver);
+
+        context.finish(true);
+        Assert.assertSame(DriverAware.driverOf(runner), driver, "failed scenario's driver is reachable through the runner");
+
+        ITestResult result = resultOf(runner);
+        ExtentTest test = new ExtentReports().createTest("Failing scenario");
+        TestListener.attachFailureScreenshots(test, result);
+        Assert.assertEquals(screenshots.get(), 1, "failure screenshot taken from the scenario's driver");
+        Assert.assertEquals(quits.get(), 0, "driver kept until the failure is reported");
+
+        runner.releaseReported();
+        Assert.assertEquals(quits.get(), 1);
+        Assert.assertNull(ScenarioContext.failedOnThisThread());
+        Assert.assertNull(runner.getDriver());
+    }
+
+    @Test
+    public void passedScenarioReleasesItsDriverAtOnce() {
+        TestRunner runner = new TestRunner();
+        ScenarioContext context = scenarioOn(driver);
+
+        context.finish(false);
+
+        Assert.assertEquals(quits.get(), 1);
+        Assert.assertNull(ScenarioContext.failedOnThisThread());
+        Assert.assertNull(runner.getDriver());
+        Assert.assertEquals(screenshots.get(), 0);
+    }
+
+    private static ScenarioContext scenarioOn(WebDriver driver) {
+        return new ScenarioContext() {
+            private WebDriver scenarioDriver = driver;
+
+            @Override
+            public WebDriver getDriver() {
+                return scenarioDriver;
+            }
+
+            @Override
+            public void quitDriver() {
+                scenarioDriver.quit();
+                scenarioDriver = null;
+            }
+        };
+    }
+
+    private WebDriver fakeDriver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[] {WebDriver.class, TakesScreenshot.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getScreenshotAs":
+                            screenshots.incrementAndGet();
+                            // ScreenshotUtil always asks for OutputType.BYTES
+                            return new byte[] {(byte) 0x89, 'P', 'N', 'G'};
+                        case "quit":
+                            quits.incrementAndGet();
+                            return null;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "FakeDriver";
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static ITestResult resultOf(Object instance) {
+        return (ITestResult) Proxy.newProxyInstance(ITestResult.class.getClassLoader(), new Class<?>[] {ITestResult.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "getInstance":
+                            return instance;
+                        case "getThrowable":
+                            return new AssertionError("Scenario failed");
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+    }
+}
@@ -3,19 +3,32 @@ package com.qa.automation.tests;
 import com.aventstack.extentreports.ExtentReports;
 import com.aventstack.extentreports.ExtentTest;
 import com.aventstack.extentreports.Status;
+import com.qa.automation.base.DriverAware;
+import com.qa.automation.base.DriverContext;
+import com.qa.automation.base.ExtentTestRegistry;
+import com.qa.automation.factory.GridReadinessProbe;
+import com.qa.automation.locators.LocatorRegistry;
+import com.qa.automation.pages.WaitEngine;
 import com.qa.automation.utils.CucumberReportUtil;
+import com.qa.automation.utils.DurationHistory;
+import com.qa.automation.utils.FailureCategory;
+import com.qa.automation.utils.FlakinessHistory;
 import com.qa.automation.utils.LoggerUtil;
+import com.qa.automation.utils.ReportEventLog;
 import com.qa.automation.utils.ReportUtil;
+import com.qa.automation.utils.ResultExportSink;
+import com.qa.automation.utils.ResultsStore;
+import com.qa.automation.utils.RetryEngine;
 import com.qa.automation.utils.ScreenshotUtil;
-import org.openqa.selenium.WebDriver;
+import com.qa.automation.utils.StepScreenshots;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestContext;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
-import java.util.HashMap;
-import java.util.Map;
-
 /**
  * Test Listener to capture test execution events and report failures with steps.
  * Captures:
@@ -23,14 +36,13 @@ import java.util.Map;
  * - Test failures with error details
  * - Test passes
  * - Test skips
+ * Every finished test is also exported to the Excel results file and the results store, and its
+ * duration and flakiness are kept for later runs.
  */
-public class TestListener implements ITestListener {
+public class TestListener implements ITestListener, ISuiteListener {
 
     private static final Logger logger = LoggerUtil.getLogger(TestListener.class);
     private static final ExtentReports extent = ReportUtil.getReportInstance();
-    
-    // Map to store ExtentTest instances for each test
-    private static final Map<String, ExtentTest> testMap = new HashMap<>();
 
     /**
      * Called when test suite execution starts
@@ -40,6 +52,8 @@ public class TestListener implements ITestListener {
         logger.info("===============================================");
         logger.info("Test Suite Started: " + context.getName());
         logger.info("Test Count: " + context.getAllTestMethods().length);
+        // Build the locator registry up front so invalid locators fail before any browser starts
+        LocatorRegistry.getInstance();
         logger.info("===============================================");
     }
 
@@ -54,11 +68,33 @@ public class TestListener implements ITestListener {
         logger.info("Total Tests Failed: " + context.getFailedTests().size());
         logger.info("Total Tests Skipped: " + context.getSkippedTests().size());
         logger.info("===============================================");
+        logger.info("Page wait timings:" + System.lineSeparator() + WaitEngine.timingSummary());
         
         // Flush the report
         ReportUtil.flushReport();
     }
 
+    /**
+     * Called when the whole suite starts: on a Selenium Grid, waits until enough capacity exists
+     */
+    @Override
+    public void onStart(ISuite suite) {
+        ReportEventLog.suiteStarted(suite.getName());
+        GridReadinessProbe.awaitConfiguredGrid();
+    }
+
+    /**
+     * Called when the whole suite finishes: writes the Excel results file and the duration history
+     */
+    @Override
+    public void onFinish(ISuite suite) {
+        ResultExportSink.close();
+        ResultsStore.close();
+        DurationHistory.save();
+        FlakinessHistory.save();
+        ReportEventLog.suiteFinished(suite.getName());
+    }
+
     /**
      * Called when individual test starts
      */
@@ -71,7 +107,9 @@ public class TestListener implements ITestListener {
         
         // Create ExtentTest
         ExtentTest test = extent.createTest(testName, "Test: " + testClass + "::" + testName);
-        testMap.put(testName, test);
+        // Keyed by invocation, so data provider rows and retries each keep their own entry
+        String id = ExtentTestRegistry.register(result, test);
+        ReportEventLog.testStarted(id, test, testName, testClass);
         
         // Log test start in report
         test.log(Status.INFO, "Test Started: " + testName);
@@ -85,10 +123,16 @@ public class TestListener implements ITestListener {
         String testName = result.getMethod().getMethodName();
         logger.info("✓ Test Passed: " + testName);
         
-        ExtentTest test = testMap.get(testName);
+        ExtentTest test = getTest(result);
         if (test != null) {
             test.log(Status.PASS, "Test Passed: " + testName);
         }
+        ResultExportSink.record(result);
+        DurationHistory.record(result);
+        RetryEngine.recordOutcome(result);
+        reportFinished(result, "PASS");
+        ExtentTestRegistry.complete(result);
+        releaseReported(result);
     }
 
     /**
@@ -104,7 +148,7 @@ public class TestListener implements ITestListener {
         logger.error("Failure Class: " + testClass);
         logger.error("Failure Exception: " + (throwable != null ? throwable.getMessage() : "No exception message"));
         
-        ExtentTest test = testMap.get(testName);
+        ExtentTest test = getTest(result);
         if (test != null) {
             // Capture the failure step
             test.log(Status.FAIL, "Test Failed at Step");
@@ -112,6 +156,7 @@ public class TestListener implements ITestListener {
             // Add failure details
             if (throwable != null) {
                 test.log(Status.FAIL, "Failure Reason: " + throwable.getMessage());
+                test.log(Status.FAIL, "Failure Category: " + FailureCategory.classify(throwable));
                 
                 // Add stack trace for debugging
                 StackTraceElement[] stackTrace = throwable.getStackTrace();
@@ -120,22 +165,7 @@ public class TestListener implements ITestListener {
                             " >> " + stackTrace[0].getMethodName() + 
                             " (Line: " + stackTrace[0].getLineNumber() + ")");
                 }
-                // Capture and attach screenshot if possible
-                Object testInstance = result.getInstance();
-                WebDriver driver = null;
-                try {
-                    java.lang.reflect.Field driverField = testInstance.getClass().getSuperclass().getDeclaredField("driver");
-                    driverField.setAccessible(true);
-                    driver = (WebDriver) driverField.get(testInstance);
-                } catch (Exception ex) {
-                    logger.warn("Could not access WebDriver for screenshot: " + ex.getMessage());
-                }
-                if (driver != null) {
-                    String base64 = ScreenshotUtil.captureScreenshotBase64(driver);
-                    if (base64 != null) {
-                        test.addScreenCaptureFromBase64String(base64, "Failure Screenshot");
-                    }
-                }
+                attachFailureScreenshots(test, result);
             }
             
             // Log test parameters if available
@@ -148,6 +178,12 @@ public class TestListener implements ITestListener {
                 test.log(Status.INFO, paramStr.toString());
             }
         }
+        ResultExportSink.record(result);
+        DurationHistory.record(result);
+        RetryEngine.recordOutcome(result);
+        reportFinished(result, "FAIL");
+        ExtentTestRegistry.complete(result);
+        releaseReported(result);
     }
 
     /**
@@ -158,13 +194,18 @@ public class TestListener implements ITestListener {
         String testName = result.getMethod().getMethodName();
         logger.warn("⊘ Test Skipped: " + testName);
         
-        ExtentTest test = testMap.get(testName);
+        ExtentTest test = getTest(result);
         if (test != null) {
             test.log(Status.SKIP, "Test Skipped: " + testName);
             if (result.getThrowable() != null) {
                 test.log(Status.SKIP, "Reason: " + result.getThrowable().getMessage());
             }
         }
+        ResultExportSink.record(result);
+        DurationHistory.record(result);
+        reportFinished(result, result.wasRetried() ? "RETRY" : "SKIP");
+        ExtentTestRegistry.complete(result);
+        releaseReported(result);
     }
 
     /**
@@ -176,11 +217,66 @@ public class TestListener implements ITestListener {
     }
 
     /**
-     * Get ExtentTest instance by test name
-     * @param testName The name of the test
-     * @return ExtentTest instance
+     * Get the ExtentTest instance of a running test invocation
+     * @param invocationId id assigned by {@link ExtentTestRegistry}, e.g. com.qa.automation.tests.ExampleTest.exampleGoogleSearchTest#1
+     * @return ExtentTest instance, or null once the test has completed
+     */
+    public static ExtentTest getTest(String invocationId) {
+        return ExtentTestRegistry.get(invocationId);
+    }
+
+    /**
+     * Attach the buffered step screenshots, then the failure itself if the test still has a driver.
+     * Tests extending BaseTest at any depth are DriverAware, and so is the Cucumber runner, which
+     * hands out the driver of its failed scenario; others fall back to the thread's driver.
+     */
+    static void attachFailureScreenshots(ExtentTest test, ITestResult result) {
+        WebDriver driver = DriverAware.driverOf(result.getInstance());
+        for (StepScreenshots.Shot shot : DriverContext.getStepScreenshots().failed(driver, "Failure Screenshot")) {
+            ReportUtil.attachScreenshot(test, ScreenshotUtil.prepareScreenshotAsync(shot.getPng()), shot.getTitle());
+        }
+    }
+
+    /**
+     * Let a driver-aware test return a driver it kept for this report
+     */
+    private static void releaseReported(ITestResult result) {
+        if (result.getInstance() instanceof DriverAware) {
+            ((DriverAware) result.getInstance()).releaseReported();
+        }
+    }
+
+    /**
+     * Append a finished test to the report event log and the results store, drop it from the Extent
+     * model, and flush the reports if it is time to
+     */
+    private static void reportFinished(ITestResult result, String status) {
+        Object id = result.getAttribute(ExtentTestRegistry.ID_ATTRIBUTE);
+        String invocationId = id != null ? id.toString() : result.getMethod().getQualifiedName();
+        Throwable throwable = result.getThrowable();
+        String error = throwable != null ? String.valueOf(throwable.getMessage()) : null;
+        long durationMillis = Math.max(0, result.getEndMillis() - result.getStartMillis());
+        ExtentTest test = ExtentTestRegistry.get(result);
+        ReportEventLog.testFinished(invocationId, test, status, durationMillis, error);
+        ReportUtil.releaseFinished(test);
+        // Failed and retried attempts keep the category the retry decision was based on
+        Object category = result.getAttribute(RetryEngine.CATEGORY_ATTRIBUTE);
+        if (category == null && throwable != null && !"PASS".equals(status)) {
+            category = FailureCategory.classify(throwable).name();
+        }
+        ResultsStore.recordTest(RetryEngine.testKey(result), invocationId, ResultsStore.Outcome.valueOf(status),
+                ExtentTestRegistry.attemptOf(result), result.getStartMillis(), durationMillis,
+                category != null ? category.toString() : null, error);
+        ReportUtil.flushIncremental();
+    }
+
+    /**
+     * Resolve the report entry registered for a result's invocation, falling back to the one bound
+     * to the current thread. Listener callbacks may run on another thread than the test, and a
+     * thread's binding can belong to a later test, so the invocation's own entry comes first.
      */
-    public static ExtentTest getTest(String testName) {
-        return testMap.get(testName);
+    private static ExtentTest getTest(ITestResult result) {
+        ExtentTest test = ExtentTestRegistry.get(result);
+        return test != null ? test : ExtentTestRegistry.current();
     }
 }
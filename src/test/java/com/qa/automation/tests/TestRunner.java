@@ -1,14 +1,32 @@
 package com.qa.automation.tests;
 
+import com.qa.automation.base.DriverAware;
+import com.qa.automation.stepdefinitions.ScenarioContext;
+import com.qa.automation.utils.ConfigReader;
+import com.qa.automation.utils.ScenarioOrchestrator;
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.PickleWrapper;
+import org.openqa.selenium.WebDriver;
+import org.testng.annotations.DataProvider;
 import org.testng.annotations.Test;
 import org.testng.annotations.Listeners;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Test Runner for Cucumber-based test execution.
  * Includes custom reporting and failure tracking via TestListener.
- * Report naming format: Selenium_ai_demo_DD-MM-YYYY_hh:mm:ss.html
+ * Report naming format: Selenium_ai_demo_DD-MM-YYYY_hh-mm-ss.html
+ * Scenarios run in parallel on cucumber.threads threads; each gets its own ScenarioContext.
+ * With execution.threads=virtual, all scenarios run from {@link #runScenariosOnVirtualThreads()}
+ * instead of one TestNG invocation per scenario.
+ * The runner is driver-aware: TestListener gets the driver of a failed scenario from it, and the
+ * scenario's driver is returned once the failure has been reported.
  */
 @CucumberOptions(
     features = "src/test/resources/features",
@@ -24,5 +42,57 @@ import org.testng.annotations.Listeners;
 )
 @Listeners({TestListener.class})
 @Test(retryAnalyzer = RetryAnalyzer.class)
-public class TestRunner extends AbstractTestNGCucumberTests {
+public class TestRunner extends AbstractTestNGCucumberTests implements DriverAware {
+
+    // Scenarios still to run on virtual threads; a retry only re-runs the ones that failed
+    private List<Object[]> pendingScenarios;
+
+    /**
+     * Driver of the scenario that failed on the current thread, kept until its failure is reported
+     */
+    @Override
+    public WebDriver getDriver() {
+        ScenarioContext failed = ScenarioContext.failedOnThisThread();
+        return failed != null ? failed.getDriver() : null;
+    }
+
+    @Override
+    public void releaseReported() {
+        ScenarioContext.releaseFailed();
+    }
+
+    /**
+     * Scenarios for the per-scenario TestNG invocations; none when they run on virtual threads.
+     * ScenarioParallelism makes this provider parallel when cucumber.threads is above 1.
+     */
+    @Override
+    @DataProvider
+    public Object[][] scenarios() {
+        if (ConfigReader.isVirtualThreadExecution()) {
+            return new Object[0][];
+        }
+        return super.scenarios();
+    }
+
+    /**
+     * Run every scenario on its own virtual thread, bounded by the driver pool or Grid capacity.
+     * ScenarioParallelism disables this test unless execution.threads=virtual.
+     */
+    @Test(description = "Runs Cucumber scenarios on virtual threads")
+    public void runScenariosOnVirtualThreads() {
+        if (pendingScenarios == null) {
+            pendingScenarios = Arrays.asList(super.scenarios());
+        }
+        Map<Object[], Throwable> failures = ScenarioOrchestrator.runAll("cucumber", pendingScenarios,
+                scenario -> runScenario((PickleWrapper) scenario[0], (FeatureWrapper) scenario[1]));
+        pendingScenarios = new ArrayList<>(failures.keySet());
+        if (!failures.isEmpty()) {
+            List<String> names = new ArrayList<>();
+            failures.keySet().forEach(scenario -> names.add(((PickleWrapper) scenario[0]).getPickle().getName()));
+            AssertionError error = new AssertionError(failures.size() + " scenario(s) failed: " + names,
+                    failures.values().iterator().next());
+            failures.values().stream().skip(1).forEach(error::addSuppressed);
+            throw error;
+        }
+    }
 }
@@ -0,0 +1,134 @@
+package com.qa.automation.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Building, mapping and invalidating the binary sheet cache, against workbooks written to a
+ * temporary directory
+ */
+public class ExcelDataCacheTest {
+
+    private static final LocalDateTime JOINED = LocalDateTime.of(2026, 1, 15, 9, 30);
+
+    private Path directory;
+    private Path cacheDirectory;
+    private Path workbook;
+
+    @BeforeMethod
+    public void useTemporaryCache() throws IOException {
+        directory = TemporaryDirectories.create("excel-cache");
+        cacheDirectory = directory.resolve("cache");
+        workbook = directory.resolve("users.xlsx");
+        System.setProperty("excel.cache.dir", cacheDirectory.toString());
+        ConfigReader.reload();
+        ExcelDataCache.clearLoaded();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void removeTemporaryCache() throws IOException {
+        ExcelDataCache.clearLoaded();
+        System.clearProperty("excel.cache.dir");
+        ConfigReader.reload();
+        TemporaryDirectories.delete(directory);
+    }
+
+    @Test
+    public void cachedSheetHoldsTheSameRowsAsTheWorkbook() throws IOException {
+        Workbooks.write(workbook, "Users",
+                new Object[] {"name", "age", "score", "active", "joined"},
+                new Object[] {"alice", 30, 1.5, true, JOINED},
+                null,
+                new Object[] {"bob", 41, 2.25, false, JOINED.plusDays(1)});
+
+        ExcelDataCache.CachedSheet sheet = ExcelDataCache.load(workbook.toString(), "Users", 0);
+
+        Assert.assertEquals(sheet.getRowCount(), 2);
+        Assert.assertEquals(sheet.getHeaders(), Arrays.asList("name", "age", "score", "active", "joined"));
+        Assert.assertEquals(sheet.getValue(0, 0), "alice");
+        Assert.assertEquals(sheet.getValue(0, 1), 30L);
+        Assert.assertEquals(sheet.getValue(0, 2), 1.5);
+        Assert.assertEquals(sheet.getValue(0, 3), Boolean.TRUE);
+        Assert.assertEquals(sheet.getValue(0, 4), JOINED);
+        Assert.assertEquals(sheet.getRow(1).getRowNumber(), 4, "row numbers survive the gap");
+        try (ExcelStreamReader.RowIterator parsed = ExcelStreamReader.of(workbook.toString()).sheet("Users").stream()) {
+            for (int row = 0; row < sheet.getRowCount(); row++) {
+                ExcelRow expected = parsed.next();
+                Assert.assertEquals(sheet.getRow(row).toMap(), expected.toMap());
+                Assert.assertEquals(sheet.getRow(row).getRowNumber(), expected.getRowNumber());
+            }
+            Assert.assertFalse(parsed.hasNext());
+        }
+
+        Assert.assertSame(ExcelDataCache.load(workbook.toString(), "Users", 0), sheet, "shared within the run");
+        Path cacheFile = single(cacheFiles());
+        FileTime built = Files.getLastModifiedTime(cacheFile);
+        ExcelDataCache.clearLoaded();
+        ExcelDataCache.CachedSheet mapped = ExcelDataCache.load(workbook.toString(), "Users", 0);
+        Assert.assertEquals(mapped.getRow(0).toMap(), sheet.getRow(0).toMap());
+        Assert.assertEquals(cacheFiles(), List.of(cacheFile), "the next run maps the existing file");
+        Assert.assertEquals(Files.getLastModifiedTime(cacheFile), built);
+    }
+
+    @Test
+    public void columnsMixingTypesKeepEveryValueType() throws IOException {
+        Workbooks.write(workbook, "Mixed",
+                new Object[] {"value", "note"},
+                new Object[] {42, "whole"},
+                new Object[] {"forty-two", null},
+                new Object[] {true, "flag"},
+                new Object[] {null, "empty"},
+                new Object[] {4.5, "decimal"},
+                new Object[] {JOINED, "date"});
+
+        ExcelDataCache.CachedSheet sheet = ExcelDataCache.load(workbook.toString(), null, 0);
+
+        Assert.assertEquals(sheet.getRowCount(), 6);
+        List<Object> values = Stream.iterate(0, row -> row + 1).limit(6)
+                .map(row -> sheet.getValue(row, 0)).collect(Collectors.toList());
+        Assert.assertEquals(values, Arrays.asList(42L, "forty-two", true, null, 4.5, JOINED));
+        Assert.assertNull(sheet.getValue(1, 1), "text column with a gap");
+        Assert.assertEquals(sheet.getValue(2, 1), "flag");
+    }
+
+    @Test
+    public void editedWorkbookReplacesItsCacheFile() throws IOException {
+        Workbooks.write(workbook, "Users", new Object[] {"name"}, new Object[] {"alice"});
+        Assert.assertEquals(ExcelDataCache.load(workbook.toString(), "Users", 0).getValue(0, 0), "alice");
+        Path first = single(cacheFiles());
+        FileTime written = Files.getLastModifiedTime(workbook);
+
+        Workbooks.write(workbook, "Users", new Object[] {"name"}, new Object[] {"bob"}, new Object[] {"carol"});
+        // File systems with coarse timestamps could otherwise report the edit at the same time
+        Files.setLastModifiedTime(workbook, FileTime.fromMillis(written.toMillis() + 5_000));
+
+        ExcelDataCache.CachedSheet edited = ExcelDataCache.load(workbook.toString(), "Users", 0);
+        Assert.assertEquals(edited.getRowCount(), 2);
+        Assert.assertEquals(edited.getValue(0, 0), "bob");
+        Path second = single(cacheFiles());
+        Assert.assertNotEquals(second, first, "the cache file is named after the content");
+    }
+
+    private List<Path> cacheFiles() throws IOException {
+        try (Stream<Path> files = Files.list(cacheDirectory)) {
+            return files.filter(file -> file.toString().endsWith(".xcol")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static Path single(List<Path> files) {
+        Assert.assertEquals(files.size(), 1, "cache files: " + files);
+        return files.get(0);
+    }
+}
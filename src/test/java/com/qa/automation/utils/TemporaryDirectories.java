@@ -0,0 +1,37 @@
+package com.qa.automation.utils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Per-test scratch directories for the tests that write files: created in {@code @BeforeMethod}
+ * and deleted with everything in them in {@code @AfterMethod}
+ */
+final class TemporaryDirectories {
+
+    private TemporaryDirectories() {
+    }
+
+    /**
+     * Create an empty directory under the system temporary directory
+     * @param prefix start of the directory name, naming the test that owns it
+     */
+    static Path create(String prefix) throws IOException {
+        return Files.createTempDirectory(prefix);
+    }
+
+    /**
+     * Delete a directory and everything in it; does nothing if it was never created
+     */
+    static void delete(Path directory) throws IOException {
+        if (directory == null || !Files.exists(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}